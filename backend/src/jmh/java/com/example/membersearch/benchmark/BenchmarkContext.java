@@ -0,0 +1,78 @@
+package com.example.membersearch.benchmark;
+
+import com.example.membersearch.MemberSearchApplication;
+import com.example.membersearch.engine.ColumnarSearchEngine;
+import com.example.membersearch.index.MemberCategoryIndex;
+import com.example.membersearch.index.MemberNameIndex;
+import com.example.membersearch.index.MemberStatistics;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Boots the application without a web server and grows the seeded member table
+ * to the size a benchmark asks for.
+ */
+final class BenchmarkContext {
+
+    static final String[] BUSINESS_UNITS = {"IT", "HR", "Admin", "Sales", "Finance", "Legal"};
+    static final String[] COUNTRIES = {"India", "USA", "UK", "Canada", "Germany", "Japan"};
+
+    private static final int INSERT_BATCH_SIZE = 10_000;
+
+    private BenchmarkContext() {
+    }
+
+    static ConfigurableApplicationContext start(int members) {
+        return start(members, "jpa");
+    }
+
+    /**
+     * @param engine value of {@code membersearch.search.engine}
+     */
+    static ConfigurableApplicationContext start(int members, String engine) {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(MemberSearchApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.main.banner-mode=off",
+                        "spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                        "membersearch.cache.search.enabled=false",
+                        "membersearch.search.engine=" + engine,
+                        "logging.level.root=WARN",
+                        "logging.level.com.example.membersearch=WARN")
+                .run();
+
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        Long existing = jdbcTemplate.queryForObject("select count(*) from member", Long.class);
+        insertMembers(jdbcTemplate, existing == null ? 0 : existing.intValue(), members);
+
+        // The in-memory structures were built from the seed data only
+        context.getBean(MemberNameIndex.class).rebuild();
+        context.getBean(MemberCategoryIndex.class).rebuild();
+        context.getBeanProvider(ColumnarSearchEngine.class).ifAvailable(ColumnarSearchEngine::rebuild);
+        context.getBean(MemberStatistics.class).rebuild();
+        return context;
+    }
+
+    private static void insertMembers(JdbcTemplate jdbcTemplate, int from, int to) {
+        String sql = "insert into member (first_name, middle_name, last_name, business_unit, country, "
+                + "source_member_id, entitled, first_name_norm, middle_name_norm, last_name_norm) "
+                + "values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        List<Object[]> batch = new ArrayList<>(INSERT_BATCH_SIZE);
+        for (int i = from; i < to; i++) {
+            batch.add(new Object[] {"User" + i, "M", "Last" + i, BUSINESS_UNITS[i % BUSINESS_UNITS.length],
+                    COUNTRIES[i % COUNTRIES.length], "S" + i, i % 5 != 0, "user" + i, "m", "last" + i});
+            if (batch.size() == INSERT_BATCH_SIZE) {
+                jdbcTemplate.batchUpdate(sql, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, batch);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.membersearch.benchmark;
+
+import com.example.membersearch.dto.SearchRequest;
+import com.example.membersearch.index.MemberCategoryIndex;
+import com.example.membersearch.model.Member;
+import com.example.membersearch.repository.MemberRepository;
+import com.example.membersearch.service.MemberService;
+import org.openjdk.jmh.annotations.*;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Member search across dataset sizes and filter selectivities: building the
+ * specification, executing it directly through JPA, resolving the categorical filters
+ * through the bitmap index, and the full service path.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class MemberSearchBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int datasetSize;
+
+    /**
+     * businessUnit ~1/6 of members, businessUnitAndCountry ~1/36, firstName a substring
+     * match of about 1%, sourceMemberId a single member.
+     */
+    @Param({"businessUnit", "businessUnitAndCountry", "firstName", "sourceMemberId"})
+    private String filter;
+
+    /** Backend of the full service path; the other benchmarks always hit the database. */
+    @Param({"jpa", "columnar"})
+    private String engine;
+
+    private ConfigurableApplicationContext context;
+    private MemberRepository memberRepository;
+    private MemberService memberService;
+    private MemberCategoryIndex memberCategoryIndex;
+    private SearchRequest request;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(datasetSize, engine);
+        memberRepository = context.getBean(MemberRepository.class);
+        memberService = context.getBean(MemberService.class);
+        memberCategoryIndex = context.getBean(MemberCategoryIndex.class);
+
+        request = new SearchRequest();
+        switch (filter) {
+            case "businessUnit" -> request.setBusinessUnits(List.of("IT"));
+            case "businessUnitAndCountry" -> {
+                request.setBusinessUnits(List.of("Sales"));
+                request.setCountry("Canada");
+            }
+            case "firstName" -> request.setFirstName("User12");
+            default -> request.setSourceMemberId("S" + datasetSize / 2);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Specification<Member> buildSpecification() {
+        return memberRepository.buildSpecification(request);
+    }
+
+    @Benchmark
+    public Page<Member> executeSpecification() {
+        return memberRepository.findAll(memberRepository.buildSpecification(request), PageRequest.of(0, 10));
+    }
+
+    @Benchmark
+    public Optional<RoaringBitmap> categoryCandidates() {
+        return memberCategoryIndex.findCandidates(request);
+    }
+
+    @Benchmark
+    public Page<Member> searchMembers() {
+        return memberService.searchMembers(request);
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.membersearch.benchmark;
+
+import com.example.membersearch.model.Member;
+import com.example.membersearch.service.MemberService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of {@link MemberService#updateMember}, including the in-memory index,
+ * statistics and cache maintenance it triggers.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class MemberUpdateBenchmark {
+
+    @Param({"1000", "100000"})
+    private int datasetSize;
+
+    private ConfigurableApplicationContext context;
+    private MemberService memberService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(datasetSize);
+        memberService = context.getBean(MemberService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Member updateMember() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long id = random.nextLong(1, datasetSize + 1);
+        Member details = new Member(null, "Updated" + id, "M", "Last" + id,
+                BenchmarkContext.BUSINESS_UNITS[random.nextInt(BenchmarkContext.BUSINESS_UNITS.length)],
+                BenchmarkContext.COUNTRIES[random.nextInt(BenchmarkContext.COUNTRIES.length)], "S" + id, true);
+        return memberService.updateMember(id, details);
+    }
+}
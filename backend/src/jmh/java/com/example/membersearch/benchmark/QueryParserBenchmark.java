@@ -0,0 +1,78 @@
+package com.example.membersearch.benchmark;
+
+import com.example.membersearch.dto.SearchRequest;
+import com.example.membersearch.service.AISearchService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Natural-language query parsing in {@link AISearchService#parseQuery} for short, long and
+ * dictionary-heavy queries, against the shipped dictionaries and against dictionaries with
+ * hundreds of entries.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class QueryParserBenchmark {
+
+    private static final String SHORT_QUERY = "Show me John in IT";
+    private static final String LONG_QUERY = "Please show me every member called Alice Johnson who is currently "
+            + "working in the Sales or Finance departments and living in Canada or Germany, whatever their title";
+    private static final String DICTIONARY_HEAVY_QUERY =
+            "IT HR Admin Sales Finance Legal people in India USA US UK Canada Germany Japan";
+
+    @Param({"short", "long", "dictionaryHeavy"})
+    private String query;
+
+    @Param({"shipped", "large"})
+    private String dictionary;
+
+    private AISearchService aiSearchService;
+    private String text;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        aiSearchService = new AISearchService();
+        ReflectionTestUtils.setField(aiSearchService, "resourceLoader", new DefaultResourceLoader());
+        ReflectionTestUtils.setField(aiSearchService, "dictionaryLocation",
+                "large".equals(dictionary) ? largeDictionaries() : "classpath:dictionaries/");
+        aiSearchService.reloadDictionaries();
+
+        text = switch (query) {
+            case "short" -> SHORT_QUERY;
+            case "long" -> LONG_QUERY;
+            default -> DICTIONARY_HEAVY_QUERY;
+        };
+    }
+
+    @Benchmark
+    public SearchRequest parseQuery() {
+        return aiSearchService.parseQuery(text);
+    }
+
+    private static String largeDictionaries() throws IOException {
+        Path directory = Files.createTempDirectory("query-dictionaries");
+        directory.toFile().deleteOnExit();
+        List<String> businessUnits = new ArrayList<>(List.of(BenchmarkContext.BUSINESS_UNITS));
+        List<String> countries = new ArrayList<>(List.of(BenchmarkContext.COUNTRIES));
+        for (int i = 0; i < 500; i++) {
+            businessUnits.add("Unit" + i);
+            countries.add("Region " + i);
+        }
+        Files.write(directory.resolve("business-units.txt"), businessUnits);
+        Files.write(directory.resolve("countries.txt"), countries);
+        Files.write(directory.resolve("stop-words.txt"), List.of("Find", "Show", "Me", "Please", "Every"));
+        return directory.toUri().toString();
+    }
+}
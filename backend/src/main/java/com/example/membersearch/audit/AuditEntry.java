@@ -0,0 +1,12 @@
+package com.example.membersearch.audit;
+
+import java.time.Instant;
+
+/**
+ * One changed field of a member update, as stored in the audit trail.
+ *
+ * @param version the member's version after the update
+ */
+public record AuditEntry(long memberId, Long version, Instant changedAt, String field, String oldValue,
+        String newValue) {
+}
@@ -0,0 +1,103 @@
+package com.example.membersearch.audit;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Consumer;
+
+/**
+ * Bounded lock-free queue for many producers and a single consumer, after Vyukov's
+ * bounded MPMC queue. Each slot carries a sequence number telling producers and the
+ * consumer whose turn it is, so an offer is one CAS on the tail and never waits: when
+ * the buffer is full it fails and the caller decides what to do.
+ */
+final class AuditRingBuffer<T> {
+
+    private final Object[] slots;
+    // Slot i is free for the offer at position p when sequences[i] == p, and holds the
+    // value of position p for the consumer when sequences[i] == p + 1
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    // Written only by the consumer
+    private volatile long head;
+
+    AuditRingBuffer(int capacity) {
+        if (capacity < 2 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Capacity must be between 2 and 2^30: " + capacity);
+        }
+        int size = Integer.highestOneBit(capacity - 1) << 1;
+        this.slots = new Object[size];
+        this.sequences = new AtomicLongArray(size);
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Append a value unless the buffer is full. Safe to call from any thread.
+     *
+     * @return whether the value was added
+     */
+    boolean offer(T value) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) position & mask;
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    // The volatile sequence write publishes the plain slot write to the consumer
+                    slots[index] = value;
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                // The slot still holds the value from one lap ago
+                return false;
+            } else {
+                // Another producer took this position; retry at the current tail
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Hand up to {@code max} values, oldest first, to {@code consumer}. Must only be called
+     * from one thread at a time.
+     *
+     * @return the number of values drained
+     */
+    @SuppressWarnings("unchecked")
+    int drain(Consumer<T> consumer, int max) {
+        long position = head;
+        int drained = 0;
+        while (drained < max) {
+            int index = (int) position & mask;
+            if (sequences.get(index) != position + 1) {
+                // Empty, or the producer of this position has not finished writing it
+                break;
+            }
+            T value = (T) slots[index];
+            slots[index] = null;
+            sequences.set(index, position + mask + 1);
+            position++;
+            drained++;
+            head = position;
+            consumer.accept(value);
+        }
+        return drained;
+    }
+
+    /**
+     * Values waiting to be drained; approximate while producers are active.
+     */
+    int size() {
+        long size = tail.get() - head;
+        return (int) Math.max(0, Math.min(size, capacity()));
+    }
+
+    int capacity() {
+        return slots.length;
+    }
+}
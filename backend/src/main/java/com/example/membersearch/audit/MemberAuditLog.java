@@ -0,0 +1,258 @@
+package com.example.membersearch.audit;
+
+import com.example.membersearch.event.MemberChangedEvent;
+import com.example.membersearch.model.Member;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+/**
+ * Field-level audit trail of member updates. The change listener only stamps the event
+ * and offers it to a lock-free ring buffer; a background writer drains the buffer,
+ * works out which fields changed and appends them to the {@code member_audit} table in
+ * JDBC batches, so auditing costs an update one CAS rather than formatting and I/O.
+ * When the writer falls behind and the buffer fills up, the overflow policy decides
+ * whether updates drop their record or wait briefly for room. Inserts are not audited.
+ */
+@Component
+public class MemberAuditLog {
+
+    private static final Logger logger = LoggerFactory.getLogger(MemberAuditLog.class);
+
+    public static final String PUBLISHED = "membersearch.audit.published";
+    public static final String DROPPED = "membersearch.audit.dropped";
+    public static final String WRITTEN = "membersearch.audit.written";
+    public static final String FAILED = "membersearch.audit.failed";
+
+    static final String INSERT_SQL = "insert into member_audit (member_id, version, changed_at, field, old_value, "
+            + "new_value) values (?, ?, ?, ?, ?, ?)";
+
+    private static final String SELECT_SQL = "select member_id, version, changed_at, field, old_value, new_value "
+            + "from member_audit where member_id = ? order by changed_at desc, id desc limit ?";
+
+    private static final long BLOCK_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    /** What an update does when the buffer is full. */
+    public enum OverflowPolicy {
+        /** Drop the record and count it; updates never wait. */
+        DROP,
+        /** Wait up to the configured time for the writer to make room, then drop. */
+        BLOCK
+    }
+
+    private record Change(Member previous, Member current, Instant changedAt) {
+    }
+
+    private record AuditedField(String name, Function<Member, Object> getter) {
+    }
+
+    private static final List<AuditedField> FIELDS = List.of(
+            new AuditedField("firstName", Member::getFirstName),
+            new AuditedField("middleName", Member::getMiddleName),
+            new AuditedField("lastName", Member::getLastName),
+            new AuditedField("businessUnit", Member::getBusinessUnit),
+            new AuditedField("country", Member::getCountry),
+            new AuditedField("sourceMemberId", Member::getSourceMemberId),
+            new AuditedField("entitled", Member::isEntitled));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final AuditRingBuffer<Change> buffer;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final OverflowPolicy overflowPolicy;
+    private final long maxBlockNanos;
+    private final Counter published;
+    private final Counter dropped;
+    private final Counter written;
+    private final Counter failed;
+    private volatile boolean running;
+    private Thread writer;
+
+    public MemberAuditLog(JdbcTemplate jdbcTemplate, MeterRegistry registry,
+            @Value("${membersearch.audit.enabled:true}") boolean enabled,
+            @Value("${membersearch.audit.capacity:65536}") int capacity,
+            @Value("${membersearch.audit.batch-size:500}") int batchSize,
+            @Value("${membersearch.audit.flush-interval:200ms}") Duration flushInterval,
+            @Value("${membersearch.audit.overflow:DROP}") OverflowPolicy overflowPolicy,
+            @Value("${membersearch.audit.max-block:50ms}") Duration maxBlock) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.buffer = new AuditRingBuffer<>(capacity);
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = flushInterval.toNanos();
+        this.overflowPolicy = overflowPolicy;
+        this.maxBlockNanos = maxBlock.toNanos();
+        this.published = Counter.builder(PUBLISHED)
+                .description("Member updates queued for the audit trail")
+                .register(registry);
+        this.dropped = Counter.builder(DROPPED)
+                .description("Member updates left out of the audit trail because its buffer was full")
+                .register(registry);
+        this.written = Counter.builder(WRITTEN)
+                .description("Member updates written to the audit trail")
+                .register(registry);
+        this.failed = Counter.builder(FAILED)
+                .description("Member updates lost because writing their audit batch failed")
+                .register(registry);
+        registry.gauge("membersearch.audit.queued", buffer, AuditRingBuffer::size);
+    }
+
+    /**
+     * Start the background writer. Updates made before it starts wait in the buffer.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (!enabled) {
+            logger.info("Member audit log disabled");
+            return;
+        }
+        if (running) {
+            return;
+        }
+        running = true;
+        writer = new Thread(this::drainLoop, "member-audit-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Stop the writer once everything already queued has been written.
+     */
+    @PreDestroy
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @EventListener
+    public void onMemberChanged(MemberChangedEvent event) {
+        if (!enabled || event.isInsert()) {
+            return;
+        }
+        Change change = new Change(event.previous(), event.current(), Instant.now());
+        if (buffer.offer(change) || (overflowPolicy == OverflowPolicy.BLOCK && offerWithin(change))) {
+            published.increment();
+        } else {
+            dropped.increment();
+        }
+    }
+
+    /**
+     * The newest audited field changes of a member, newest first.
+     */
+    public List<AuditEntry> findByMember(long memberId, int limit) {
+        return jdbcTemplate.query(SELECT_SQL, (rs, rowNum) -> new AuditEntry(rs.getLong("member_id"),
+                rs.getObject("version", Long.class), rs.getTimestamp("changed_at").toInstant(),
+                rs.getString("field"), rs.getString("old_value"), rs.getString("new_value")), memberId, limit);
+    }
+
+    public int getQueued() {
+        return buffer.size();
+    }
+
+    public int getCapacity() {
+        return buffer.capacity();
+    }
+
+    public long getDropped() {
+        return (long) dropped.count();
+    }
+
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    private boolean offerWithin(Change change) {
+        long deadline = System.nanoTime() + maxBlockNanos;
+        while (System.nanoTime() < deadline) {
+            LockSupport.parkNanos(BLOCK_PARK_NANOS);
+            if (buffer.offer(change)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void drainLoop() {
+        List<Change> batch = new ArrayList<>(batchSize);
+        while (true) {
+            boolean stopping = !running;
+            buffer.drain(batch::add, batchSize);
+            if (!batch.isEmpty()) {
+                write(batch);
+                batch.clear();
+                continue;
+            }
+            if (stopping) {
+                return;
+            }
+            LockSupport.parkNanos(this, flushIntervalNanos);
+        }
+    }
+
+    private void write(List<Change> changes) {
+        List<AuditEntry> entries = new ArrayList<>(changes.size() * 2);
+        for (Change change : changes) {
+            diff(change, entries);
+        }
+        try {
+            if (!entries.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_SQL, entries, entries.size(), (ps, entry) -> {
+                    ps.setLong(1, entry.memberId());
+                    ps.setObject(2, entry.version());
+                    ps.setTimestamp(3, Timestamp.from(entry.changedAt()));
+                    ps.setString(4, entry.field());
+                    ps.setString(5, entry.oldValue());
+                    ps.setString(6, entry.newValue());
+                });
+            }
+            written.increment(changes.size());
+        } catch (DataAccessException e) {
+            failed.increment(changes.size());
+            logger.warn("Writing {} member audit records failed: {}", changes.size(),
+                    e.getMostSpecificCause().getMessage());
+        }
+    }
+
+    /**
+     * Add a row per field that differs between the two snapshots of a change.
+     */
+    private static void diff(Change change, List<AuditEntry> entries) {
+        for (AuditedField field : FIELDS) {
+            Object before = field.getter().apply(change.previous());
+            Object after = field.getter().apply(change.current());
+            if (!Objects.equals(before, after)) {
+                entries.add(new AuditEntry(change.current().getId(), change.current().getVersion(),
+                        change.changedAt(), field.name(), before == null ? null : before.toString(),
+                        after == null ? null : after.toString()));
+            }
+        }
+    }
+}
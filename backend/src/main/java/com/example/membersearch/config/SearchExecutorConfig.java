@@ -0,0 +1,53 @@
+package com.example.membersearch.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Executor for the searches of a batch request. Either way at most
+ * {@code membersearch.batch.parallelism} searches run at once across all batches and
+ * excess searches wait in the queue; how many of them hit the database at once is
+ * further bounded by the connection pool limiter.
+ */
+@Configuration
+public class SearchExecutorConfig {
+
+    // Idle virtual search threads end after this rather than being kept for reuse
+    private static final long VIRTUAL_KEEP_ALIVE_SECONDS = 1;
+
+    /**
+     * Platform threads: a fixed pool of {@code parallelism} threads.
+     */
+    @Bean(destroyMethod = "shutdown")
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public ExecutorService batchSearchExecutor(@Value("${membersearch.batch.parallelism:8}") int parallelism) {
+        return Executors.newFixedThreadPool(parallelism, new CustomizableThreadFactory("batch-search-"));
+    }
+
+    /**
+     * Virtual threads ({@code spring.threads.virtual.enabled=true} on JDK 21+): at most
+     * {@code parallelism} of them, started as searches arrive and ended once idle, so
+     * virtual threads are not kept around for reuse. Queued searches hold no thread,
+     * unlike throttling a thread per search with a semaphore.
+     */
+    @Bean(name = "batchSearchExecutor", destroyMethod = "shutdown")
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public ExecutorService virtualBatchSearchExecutor(@Value("${membersearch.batch.parallelism:8}") int parallelism) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(parallelism, parallelism, VIRTUAL_KEEP_ALIVE_SECONDS,
+                TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                new VirtualThreadTaskExecutor("batch-search-").getVirtualThreadFactory());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+}
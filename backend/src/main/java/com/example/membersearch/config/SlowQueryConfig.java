@@ -0,0 +1,38 @@
+package com.example.membersearch.config;
+
+import com.example.membersearch.diagnostics.SlowQueryRecorder;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the application's data source in a proxy that reports every statement to the
+ * {@link SlowQueryRecorder}, with result sets that count the rows read. Disabled with {@code membersearch.slow-query.enabled=false},
+ * in which case statements go straight to the pool.
+ */
+@Configuration
+@ConditionalOnProperty(name = "membersearch.slow-query.enabled", havingValue = "true", matchIfMissing = true)
+public class SlowQueryConfig {
+
+    @Bean
+    public static BeanPostProcessor slowQueryDataSourceProxy(ObjectProvider<SlowQueryRecorder> recorder) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof ProxyDataSource) {
+                    return bean;
+                }
+                SlowQueryRecorder listener = recorder.getObject();
+                listener.setExplainDataSource(dataSource);
+                return ProxyDataSourceBuilder.create(beanName, dataSource).listener(listener)
+                        .proxyResultSet(listener.rowCountingResultSets()).build();
+            }
+        };
+    }
+}
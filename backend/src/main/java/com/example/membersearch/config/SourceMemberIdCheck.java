@@ -0,0 +1,71 @@
+package com.example.membersearch.config;
+
+import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.api.MigrationVersion;
+import org.flywaydb.core.api.callback.Callback;
+import org.flywaydb.core.api.callback.Context;
+import org.flywaydb.core.api.callback.Event;
+import org.springframework.stereotype.Component;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Stops the upgrade before V2 adds the unique index on {@code member.source_member_id}
+ * when a database created without it holds duplicate source member ids. Which member
+ * keeps a shared id is a business decision, so the migration neither picks one nor
+ * clears the others; the error lists the ids, and the upgrade goes through once each
+ * is held by at most one member (fix the data, then restart the application).
+ */
+@Component
+public class SourceMemberIdCheck implements Callback {
+
+    static final MigrationVersion UNIQUE_INDEX_VERSION = MigrationVersion.fromVersion("2");
+
+    static final String DUPLICATES_SQL = "select source_member_id, count(*) from member "
+            + "where source_member_id is not null group by source_member_id having count(*) > 1 "
+            + "order by source_member_id";
+
+    private static final int MAX_REPORTED = 20;
+
+    @Override
+    public boolean supports(Event event, Context context) {
+        return event == Event.BEFORE_EACH_MIGRATE && context.getMigrationInfo() != null
+                && UNIQUE_INDEX_VERSION.equals(context.getMigrationInfo().getVersion());
+    }
+
+    @Override
+    public boolean canHandleInTransaction(Event event, Context context) {
+        return true;
+    }
+
+    @Override
+    public void handle(Event event, Context context) {
+        List<String> duplicates = new ArrayList<>();
+        int total = 0;
+        try (Statement statement = context.getConnection().createStatement();
+                ResultSet rows = statement.executeQuery(DUPLICATES_SQL)) {
+            while (rows.next()) {
+                if (total++ < MAX_REPORTED) {
+                    duplicates.add(rows.getString(1) + " (" + rows.getLong(2) + " members)");
+                }
+            }
+        } catch (SQLException e) {
+            throw new FlywayException("Could not check member.source_member_id for duplicates", e);
+        }
+        if (total > 0) {
+            throw new FlywayException(total + " source member ids are held by more than one member, so the "
+                    + "unique index on member.source_member_id cannot be created: " + String.join(", ", duplicates)
+                    + (total > MAX_REPORTED ? ", ..." : "") + ". List them with \"" + DUPLICATES_SQL
+                    + "\", give each to at most one member, then restart to finish the upgrade.");
+        }
+    }
+
+    @Override
+    public String getCallbackName() {
+        return "source member id check";
+    }
+}
@@ -1,12 +1,23 @@
 package com.example.membersearch.config;
 
+import com.example.membersearch.metrics.SearchMetrics;
+import com.example.membersearch.metrics.TimedJacksonHttpMessageConverter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import java.util.List;
+
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
 
+    @Autowired
+    private ObjectProvider<SearchMetrics> searchMetrics;
+
     @Override
     public void addCorsMappings(CorsRegistry registry) {
         registry.addMapping("/**") // Apply to ALL endpoints
@@ -15,4 +26,21 @@ public class WebConfig implements WebMvcConfigurer {
                 .allowedHeaders("*")
                 .allowCredentials(true);
     }
+
+    /**
+     * Swap the JSON converter for one that times response serialization, when metrics are available.
+     */
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        SearchMetrics metrics = searchMetrics.getIfAvailable();
+        if (metrics == null) {
+            return;
+        }
+        for (int i = 0; i < converters.size(); i++) {
+            if (converters.get(i).getClass() == MappingJackson2HttpMessageConverter.class) {
+                MappingJackson2HttpMessageConverter jackson = (MappingJackson2HttpMessageConverter) converters.get(i);
+                converters.set(i, new TimedJacksonHttpMessageConverter(jackson.getObjectMapper(), metrics));
+            }
+        }
+    }
 }
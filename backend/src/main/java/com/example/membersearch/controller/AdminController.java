@@ -0,0 +1,110 @@
+package com.example.membersearch.controller;
+
+import com.example.membersearch.audit.MemberAuditLog;
+import com.example.membersearch.diagnostics.SlowQueryRecorder;
+import com.example.membersearch.dto.CacheStatistics;
+import com.example.membersearch.dto.FacetField;
+import com.example.membersearch.dto.SearchRequest;
+import com.example.membersearch.exception.InvalidSearchRequestException;
+import com.example.membersearch.service.AISearchService;
+import com.example.membersearch.service.MemberService;
+import com.example.membersearch.service.QueryDictionary;
+import com.example.membersearch.service.SearchResultCache;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin")
+@Tag(name = "Administration", description = "Operational endpoints for caches and diagnostics")
+public class AdminController {
+
+    @Autowired
+    private SearchResultCache searchResultCache;
+
+    @Autowired
+    private AISearchService aiSearchService;
+
+    @Autowired
+    private SlowQueryRecorder slowQueryRecorder;
+
+    @Autowired
+    private MemberService memberService;
+
+    @Autowired
+    private MemberAuditLog memberAuditLog;
+
+    @GetMapping("/cache/search")
+    @Operation(summary = "Search cache statistics", description = "Hit, miss, eviction and invalidation counts of the search result cache")
+    public CacheStatistics searchCacheStatistics() {
+        return searchResultCache.statistics();
+    }
+
+    @DeleteMapping("/cache/search")
+    @Operation(summary = "Clear search cache", description = "Drop every cached search result page")
+    public ResponseEntity<Void> clearSearchCache() {
+        searchResultCache.clear();
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/cache/queries")
+    @Operation(summary = "Parsed query cache statistics", description = "Hit, miss, eviction and invalidation counts of the cache of parsed natural-language queries")
+    public CacheStatistics parsedQueryCacheStatistics() {
+        return aiSearchService.parseCacheStatistics();
+    }
+
+    @PostMapping("/dictionaries/reload")
+    @Operation(summary = "Reload query dictionaries", description = "Re-read the business unit, country and stop word dictionaries used by AI search")
+    public Map<String, Object> reloadDictionaries() {
+        QueryDictionary dictionary = aiSearchService.reloadDictionaries();
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("businessUnits", dictionary.getBusinessUnits());
+        summary.put("countries", dictionary.getCountries());
+        summary.put("stopWords", dictionary.getStopWordCount());
+        return summary;
+    }
+
+    @PostMapping("/facets")
+    @Operation(summary = "Facet counts", description = "Count members matching the search criteria per business unit, country and entitlement, including members that are not entitled; each facet ignores its own filter")
+    public Map<FacetField, Map<String, Long>> facets(@Valid @RequestBody SearchRequest request) {
+        return memberService.countAllFacets(request);
+    }
+
+    @GetMapping("/slow-queries")
+    @Operation(summary = "Recent slow queries", description = "Statements that exceeded the slow query threshold, newest first, with bind values, row counts and execution plans")
+    public Map<String, Object> slowQueries() {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("thresholdMs", slowQueryRecorder.getThresholdMs());
+        summary.put("capacity", slowQueryRecorder.getCapacity());
+        summary.put("queries", slowQueryRecorder.getRecent());
+        return summary;
+    }
+
+    @DeleteMapping("/slow-queries")
+    @Operation(summary = "Clear slow queries", description = "Drop every recorded slow query")
+    public ResponseEntity<Void> clearSlowQueries() {
+        slowQueryRecorder.clear();
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/audit/{memberId}")
+    @Operation(summary = "Member audit trail", description = "Field changes of a member's updates, newest first, with the audit buffer's backlog and dropped record count; records reach the trail asynchronously")
+    public Map<String, Object> auditTrail(@PathVariable long memberId, @RequestParam(defaultValue = "50") int limit) {
+        if (limit < 1 || limit > 1000) {
+            throw new InvalidSearchRequestException("Audit limit must be between 1 and 1000");
+        }
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("capacity", memberAuditLog.getCapacity());
+        summary.put("queued", memberAuditLog.getQueued());
+        summary.put("dropped", memberAuditLog.getDropped());
+        summary.put("overflowPolicy", memberAuditLog.getOverflowPolicy());
+        summary.put("entries", memberAuditLog.findByMember(memberId, limit));
+        return summary;
+    }
+}
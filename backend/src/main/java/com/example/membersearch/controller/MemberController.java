@@ -1,18 +1,55 @@
 
 package com.example.membersearch.controller;
 
+import com.example.membersearch.dto.BatchSearchRequest;
+import com.example.membersearch.dto.BatchSearchResponse;
+import com.example.membersearch.dto.BulkUpdateRequest;
+import com.example.membersearch.dto.BulkUpdateResponse;
+import com.example.membersearch.dto.ChangeFeedPage;
+import com.example.membersearch.dto.CursorPage;
+import com.example.membersearch.dto.FacetField;
+import com.example.membersearch.dto.IngestProgress;
+import com.example.membersearch.dto.MemberField;
+import com.example.membersearch.dto.MemberView;
+import com.example.membersearch.dto.ResultOrder;
 import com.example.membersearch.dto.SearchRequest;
+import com.example.membersearch.dto.SlimPage;
+import com.example.membersearch.dto.TypeaheadField;
+import com.example.membersearch.dto.TypeaheadSuggestion;
+import com.example.membersearch.exception.InvalidSearchRequestException;
 import com.example.membersearch.model.Member;
+import com.example.membersearch.service.BatchSearchService;
+import com.example.membersearch.service.ChangeFeedService;
+import com.example.membersearch.service.MemberBulkUpdateService;
+import com.example.membersearch.service.MemberExportService;
+import com.example.membersearch.service.MemberIngestService;
 import com.example.membersearch.service.MemberService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/members")
@@ -27,32 +64,180 @@ public class MemberController {
     @Autowired
     private com.example.membersearch.service.AISearchService aiSearchService;
 
+    @Autowired
+    private MemberIngestService memberIngestService;
+
+    @Autowired
+    private MemberExportService memberExportService;
+
+    @Autowired
+    private BatchSearchService batchSearchService;
+
+    @Autowired
+    private MemberBulkUpdateService memberBulkUpdateService;
+
+    @Autowired
+    private ChangeFeedService changeFeedService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Validator validator;
+
     @PostMapping("/search")
-    @Operation(summary = "Search members", description = "Search members using structured criteria with pagination")
+    @Operation(summary = "Search members", description = "Search members using structured criteria with pagination; list BUSINESS_UNIT and/or COUNTRY in 'facets' for match counts per value")
     public Page<Member> searchMembers(@Valid @RequestBody SearchRequest request) {
         logger.debug("Received search request: {}", request);
         Page<Member> result = memberService.searchMembers(request);
         return result;
     }
 
+    @PostMapping("/search/lean")
+    @Operation(summary = "Lean search", description = "Search members using structured criteria, returning only the comma-separated 'fields' (all when omitted; id is always included) in a compact page envelope")
+    public SlimPage<MemberView> searchMembersLean(@Valid @RequestBody SearchRequest request,
+            @RequestParam(required = false) String fields) {
+        logger.debug("Received lean search request: {}, fields={}", request, fields);
+        return memberService.searchMemberViews(request, MemberField.parse(fields));
+    }
+
     @PostMapping("/search/ai")
-    @Operation(summary = "AI-powered search", description = "Search members using natural language query")
+    @Operation(summary = "AI-powered search", description = "Search members using natural language query; best name matches come first unless order=id. Pass facets=businessUnit,country for match counts per value")
     public Page<Member> aiSearch(@RequestBody String query,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "relevance") String order,
+            @RequestParam(required = false) String facets) {
         logger.info("AI search query received: {}", query);
         SearchRequest request = aiSearchService.parseQuery(query);
-        // Override with requested pagination
+        // Override with requested pagination and order
         request.setPage(page);
         request.setSize(size);
+        request.setOrder(ResultOrder.fromParameter(order));
+        request.setFacets(FacetField.parse(facets));
+        validatePaging(request, "page", "size");
         logger.debug("AI Parsed Query: {}", request);
         return memberService.searchMembers(request);
     }
 
+    @PostMapping("/search/batch")
+    @Operation(summary = "Batch search", description = "Run several structured or natural-language searches concurrently; results are returned in item order with per-item status, errors and timings")
+    public BatchSearchResponse batchSearch(@Valid @RequestBody BatchSearchRequest request) {
+        logger.debug("Received batch search request with {} items", request.getItems().size());
+        return batchSearchService.search(request);
+    }
+
+    @PostMapping("/search/cursor")
+    @Operation(summary = "Search members by cursor", description = "Search members using structured criteria with keyset pagination; pass nextCursor back as 'after' for the next slice")
+    public CursorPage<Member> searchMembersByCursor(@Valid @RequestBody SearchRequest request) {
+        logger.debug("Received cursor search request: {}", request);
+        return memberService.searchMembersAfter(request);
+    }
+
+    @PostMapping("/search/ai/cursor")
+    @Operation(summary = "AI-powered search by cursor", description = "Search members using natural language query with keyset pagination")
+    public CursorPage<Member> aiSearchByCursor(@RequestBody String query,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "10") int size) {
+        logger.info("AI cursor search query received: {}", query);
+        SearchRequest request = aiSearchService.parseQuery(query);
+        request.setAfter(after);
+        request.setSize(size);
+        validatePaging(request, "size");
+        logger.debug("AI Parsed Query: {}", request);
+        return memberService.searchMembersAfter(request);
+    }
+
+    @GetMapping("/typeahead")
+    @Operation(summary = "Typeahead", description = "Complete a prefix of a name (field=name, the default, firstName or lastName) or source member id (field=sourceMemberId); returns the values held by the most entitled members first")
+    public List<TypeaheadSuggestion> typeahead(@RequestParam String q,
+            @RequestParam(defaultValue = "name") String field,
+            @RequestParam(defaultValue = "10") int limit) {
+        return memberService.suggest(q, TypeaheadField.fromParameter(field), limit);
+    }
+
+    @PostMapping(value = "/export", produces = { "application/x-ndjson", "text/csv" })
+    @Operation(summary = "Export members", description = "Stream every member matching the search criteria as NDJSON or CSV, ordered by id; paging fields are ignored")
+    public ResponseEntity<StreamingResponseBody> exportMembers(@Valid @RequestBody SearchRequest request,
+            @RequestParam(defaultValue = "ndjson") String format) {
+        MemberExportService.Format exportFormat = MemberExportService.Format.fromParameter(format);
+        logger.info("Export requested: format={}, criteria={}", exportFormat, request);
+        StreamingResponseBody body = out -> {
+            long count = memberExportService.export(request, exportFormat, out);
+            logger.info("Export finished: {} members written", count);
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"members." + exportFormat.getExtension() + "\"")
+                .body(body);
+    }
+
     @PutMapping("/{id}")
-    @Operation(summary = "Update member", description = "Update an existing member by ID")
+    @Operation(summary = "Update member", description = "Update an existing member by ID; when 'version' is given the update only applies while the member is still at that version, otherwise 409")
     public Member updateMember(@PathVariable Long id, @Valid @RequestBody Member member) {
         logger.debug("Update request for member id: {}", id);
         return memberService.updateMember(id, member);
     }
+
+    @PatchMapping("/bulk")
+    @Operation(summary = "Bulk update members", description = "Apply patches to many members in JDBC batches; fields left out are unchanged, and a patch with a 'version' only applies while the member is still at it. Results are returned in item order with a per-item status, 409 for conflicts")
+    public BulkUpdateResponse bulkUpdate(@Valid @RequestBody BulkUpdateRequest request) {
+        logger.info("Bulk update request with {} patches", request.getItems().size());
+        return memberBulkUpdateService.update(request);
+    }
+
+    @GetMapping("/changes")
+    @Operation(summary = "Poll member changes", description = "Long poll for member inserts and updates with a sequence number above 'after' of 'epoch' (omit both to start from now); waits up to 'wait' seconds for the first change. Pass epoch and lastSequence back as 'epoch' and 'after'; resyncRequired means changes were missed or the feed restarted and the members should be reloaded")
+    public DeferredResult<ChangeFeedPage> pollChanges(@RequestParam(required = false) String epoch,
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestParam(defaultValue = "30") int wait) {
+        return changeFeedService.poll(epoch, after, limit, wait);
+    }
+
+    @GetMapping(value = "/changes/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream member changes", description = "Server-sent 'change' events for member inserts and updates, with 'epoch:sequence' as event id; resumes after 'after' of 'epoch' or the Last-Event-ID header, and sends a 'resync' event when changes were missed or the feed restarted")
+    public SseEmitter streamChanges(@RequestParam(required = false) String epoch,
+            @RequestParam(required = false) Long after,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        if (after == null && lastEventId != null) {
+            return changeFeedService.resume(lastEventId);
+        }
+        return changeFeedService.stream(epoch, after);
+    }
+
+    @PostMapping(value = "/bulk", consumes = { "application/x-ndjson", "text/csv" }, produces = "application/x-ndjson")
+    @Operation(summary = "Bulk ingest members", description = "Stream members as NDJSON or CSV (with a header row); progress is streamed back as NDJSON, one line per committed batch and per rejected row, then a summary")
+    public void bulkIngest(HttpServletRequest request, HttpServletResponse response,
+            @RequestParam(required = false) Integer batchSize) throws IOException {
+        MemberIngestService.Format format = MemberIngestService.Format.fromContentType(request.getContentType());
+        logger.info("Bulk ingestion started: format={}, batchSize={}", format, batchSize);
+        response.setContentType("application/x-ndjson");
+        OutputStream out = response.getOutputStream();
+        memberIngestService.ingest(request.getInputStream(), format, batchSize, progress -> {
+            try {
+                out.write(objectMapper.writeValueAsBytes(progress));
+                out.write('\n');
+                out.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    /**
+     * Apply the request's own constraints to paging parameters set from the query string.
+     */
+    private void validatePaging(SearchRequest request, String... properties) {
+        List<String> errors = new ArrayList<>();
+        for (String property : properties) {
+            for (ConstraintViolation<SearchRequest> violation : validator.validateProperty(request, property)) {
+                errors.add(violation.getMessage());
+            }
+        }
+        if (!errors.isEmpty()) {
+            throw new InvalidSearchRequestException(String.join("; ", errors));
+        }
+    }
 }
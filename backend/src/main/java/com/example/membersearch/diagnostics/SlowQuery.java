@@ -0,0 +1,31 @@
+package com.example.membersearch.diagnostics;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * One statement that ran longer than the slow query threshold.
+ *
+ * @param parameters  bind values of the first (or only) parameter set, in index order
+ * @param rows        rows changed, for inserts, updates and deletes; rows the application read
+ *                    from the result, for selects
+ * @param rowsScanned rows the database read according to the plan, for selects explained with
+ *                    {@code EXPLAIN ANALYZE}
+ * @param plan        the database's execution plan, when it could be captured
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record SlowQuery(Instant timestamp, long elapsedMs, boolean success, String sql, List<String> parameters,
+        int batchSize, Integer rows, Long rowsScanned, String plan, String thread, String connectionId) {
+
+    SlowQuery withRows(Integer rows) {
+        return new SlowQuery(timestamp, elapsedMs, success, sql, parameters, batchSize, rows, rowsScanned, plan,
+                thread, connectionId);
+    }
+
+    SlowQuery withPlan(String plan, Long rowsScanned) {
+        return new SlowQuery(timestamp, elapsedMs, success, sql, parameters, batchSize, rows, rowsScanned, plan,
+                thread, connectionId);
+    }
+}
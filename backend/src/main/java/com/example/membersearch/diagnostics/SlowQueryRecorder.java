@@ -0,0 +1,361 @@
+package com.example.membersearch.diagnostics;
+
+import com.example.membersearch.exception.ServiceBusyException;
+import com.example.membersearch.service.ConnectionPoolLimiter;
+import jakarta.annotation.PreDestroy;
+import net.ttddyy.dsproxy.ConnectionInfo;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import net.ttddyy.dsproxy.proxy.ProxyConfig;
+import net.ttddyy.dsproxy.proxy.ResultSetProxyLogicFactory;
+import net.ttddyy.dsproxy.proxy.SimpleResultSetProxyLogic;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntConsumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps the most recent statements that exceeded the slow query threshold, with their
+ * bind values, row counts and execution plan, in a bounded in-memory buffer.
+ * Registered as a listener on the proxied {@link DataSource}; fast statements cost a
+ * single comparison. Result sets are proxied through {@link #rowCountingResultSets()} so
+ * that a slow select is recorded with the rows it returned, once the application has
+ * read its result to the end or closed it. Plans are captured on a background thread against the raw data
+ * source, so neither the slow request nor the recorded statements include that work.
+ * Capturing a plan holds a {@link ConnectionPoolLimiter} permit like any other database
+ * work, and at most one plan is taken per configured interval; by default it is a plain
+ * {@code EXPLAIN}, which plans the statement without running it again.
+ */
+@Component
+public class SlowQueryRecorder implements QueryExecutionListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(SlowQueryRecorder.class);
+
+    private static final Pattern SCAN_COUNT = Pattern.compile("scanCount: (\\d+)");
+    private static final int MAX_PARAMETER_LENGTH = 200;
+    private static final int PLAN_QUEUE_SIZE = 100;
+    private static final int PLAN_TIMEOUT_SECONDS = 10;
+
+    private final long thresholdMs;
+    private final int capacity;
+    private final String explainPrefix;
+    private final long planIntervalNanos;
+    private final Executor planExecutor;
+    private final Deque<SlowQuery> recent;
+    // When the next plan may be captured, in System.nanoTime() terms
+    private final AtomicLong nextPlanAt;
+    // The result set the statement executing on this thread returned, until afterQuery takes it
+    private final ThreadLocal<RowCounter> openedResultSet = new ThreadLocal<>();
+    private volatile DataSource explainDataSource;
+
+    // Lazy, since the limiter is sized from the data source this recorder is attached to
+    @Autowired
+    @Lazy
+    private ConnectionPoolLimiter connectionPoolLimiter;
+
+    @Autowired
+    public SlowQueryRecorder(@Value("${membersearch.slow-query.threshold:200ms}") Duration threshold,
+            @Value("${membersearch.slow-query.capacity:100}") int capacity,
+            @Value("${membersearch.slow-query.explain-prefix:EXPLAIN}") String explainPrefix,
+            @Value("${membersearch.slow-query.plan-interval:1s}") Duration planInterval) {
+        this(threshold, capacity, explainPrefix, planInterval, new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(PLAN_QUEUE_SIZE), new CustomizableThreadFactory("slow-query-plan-")));
+    }
+
+    SlowQueryRecorder(Duration threshold, int capacity, String explainPrefix, Duration planInterval,
+            Executor planExecutor) {
+        this.thresholdMs = threshold.toMillis();
+        this.capacity = capacity;
+        this.explainPrefix = explainPrefix == null ? "" : explainPrefix.trim();
+        this.planIntervalNanos = planInterval.toNanos();
+        this.planExecutor = planExecutor;
+        this.recent = new ArrayDeque<>(capacity);
+        this.nextPlanAt = new AtomicLong(System.nanoTime());
+    }
+
+    /**
+     * The un-proxied data source plans are captured on; without one, or with a blank
+     * explain prefix, statements are recorded without a plan.
+     */
+    public void setExplainDataSource(DataSource explainDataSource) {
+        this.explainDataSource = explainDataSource;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        RowCounter rowCounter = openedResultSet.get();
+        if (rowCounter != null) {
+            openedResultSet.remove();
+        }
+        if (execInfo.getElapsedTime() < thresholdMs || queryInfoList.isEmpty()) {
+            return;
+        }
+        // A result set opened by getResultSet() after execute() belongs to no statement yet
+        if (!(execInfo.getResult() instanceof ResultSet) || queryInfoList.size() > 1) {
+            rowCounter = null;
+        }
+        boolean explainable = execInfo.isSuccess() && !execInfo.isBatch();
+        for (QueryInfo queryInfo : queryInfoList) {
+            List<List<ParameterSetOperation>> parameterSets = queryInfo.getParametersList();
+            List<ParameterSetOperation> parameters = parameterSets.isEmpty() ? List.of() : parameterSets.get(0);
+            SlowQuery query = new SlowQuery(Instant.now(), execInfo.getElapsedTime(), execInfo.isSuccess(),
+                    queryInfo.getQuery(), describe(parameters), execInfo.isBatch() ? execInfo.getBatchSize() : 1,
+                    rowsChanged(execInfo.getResult()), null, null, Thread.currentThread().getName(),
+                    execInfo.getConnectionId());
+            logger.warn("Slow query ({} ms): {}", query.elapsedMs(), query.sql());
+            if (rowCounter != null) {
+                rowCounter.whenRead(rows -> record(query.withRows(rows), parameters, explainable));
+            } else {
+                record(query, parameters, explainable);
+            }
+        }
+    }
+
+    /**
+     * Result set proxies counting the rows the application reads, for the data source
+     * proxy this recorder listens to.
+     */
+    public ResultSetProxyLogicFactory rowCountingResultSets() {
+        return (resultSet, connectionInfo, proxyConfig) -> {
+            RowCounter rowCounter = new RowCounter();
+            openedResultSet.set(rowCounter);
+            return new RowCountingResultSetLogic(resultSet, connectionInfo, proxyConfig, rowCounter);
+        };
+    }
+
+    /**
+     * Recorded statements, newest first.
+     */
+    public List<SlowQuery> getRecent() {
+        synchronized (recent) {
+            return new ArrayList<>(recent);
+        }
+    }
+
+    public void clear() {
+        synchronized (recent) {
+            recent.clear();
+        }
+    }
+
+    public long getThresholdMs() {
+        return thresholdMs;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (planExecutor instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+    }
+
+    private void record(SlowQuery query, List<ParameterSetOperation> parameters, boolean explainable) {
+        if (explainable && isExplainable(query.sql()) && planDue()) {
+            try {
+                planExecutor.execute(() -> add(withPlan(query, parameters)));
+            } catch (RejectedExecutionException e) {
+                // Plan capture is falling behind; keep the statement, skip its plan
+                add(query);
+            }
+        } else {
+            add(query);
+        }
+    }
+
+    private void add(SlowQuery query) {
+        synchronized (recent) {
+            if (recent.size() >= capacity) {
+                recent.removeLast();
+            }
+            recent.addFirst(query);
+        }
+    }
+
+    private boolean isExplainable(String sql) {
+        return explainDataSource != null && StringUtils.hasText(explainPrefix)
+                && sql.stripLeading().toLowerCase(Locale.ROOT).startsWith("select");
+    }
+
+    /**
+     * Claim the next plan capture, unless one was already taken within the interval.
+     */
+    private boolean planDue() {
+        long now = System.nanoTime();
+        long next = nextPlanAt.get();
+        return now - next >= 0 && nextPlanAt.compareAndSet(next, now + planIntervalNanos);
+    }
+
+    private SlowQuery withPlan(SlowQuery query, List<ParameterSetOperation> parameters) {
+        if (connectionPoolLimiter == null) {
+            return explain(query, parameters);
+        }
+        try {
+            return connectionPoolLimiter.call(() -> explain(query, parameters));
+        } catch (ServiceBusyException e) {
+            // The database is saturated; the plan is not worth a connection
+            logger.debug("Skipped the plan of a slow query: {}", e.getMessage());
+            return query;
+        }
+    }
+
+    private SlowQuery explain(SlowQuery query, List<ParameterSetOperation> parameters) {
+        try (Connection connection = explainDataSource.getConnection();
+                PreparedStatement statement = connection.prepareStatement(explainPrefix + " " + query.sql())) {
+            connection.setReadOnly(true);
+            statement.setQueryTimeout(PLAN_TIMEOUT_SECONDS);
+            for (ParameterSetOperation parameter : parameters) {
+                parameter.getMethod().invoke(statement, parameter.getArgs());
+            }
+            StringBuilder plan = new StringBuilder();
+            try (ResultSet rows = statement.executeQuery()) {
+                while (rows.next()) {
+                    plan.append(plan.isEmpty() ? "" : "\n").append(rows.getString(1));
+                }
+            }
+            return query.withPlan(plan.toString(), rowsScanned(plan));
+        } catch (SQLException | IllegalAccessException | InvocationTargetException e) {
+            logger.debug("Could not capture the plan of a slow query: {}", e.getMessage());
+            return query;
+        }
+    }
+
+    private static List<String> describe(List<ParameterSetOperation> parameters) {
+        List<String> values = new ArrayList<>(parameters.size());
+        parameters.stream()
+                .sorted(Comparator.comparing(p -> p.getArgs()[0] instanceof Integer index ? index : 0))
+                .forEach(p -> values.add(describe(p)));
+        return values;
+    }
+
+    private static String describe(ParameterSetOperation parameter) {
+        Object[] args = parameter.getArgs();
+        if (parameter.getMethod().getName().equals("setNull") || args.length < 2 || args[1] == null) {
+            return "null";
+        }
+        String value = String.valueOf(args[1]);
+        return value.length() > MAX_PARAMETER_LENGTH ? value.substring(0, MAX_PARAMETER_LENGTH) + "..." : value;
+    }
+
+    private static Integer rowsChanged(Object result) {
+        if (result instanceof Integer count) {
+            return count;
+        }
+        if (result instanceof int[] counts) {
+            int total = 0;
+            for (int count : counts) {
+                total += Math.max(count, 0);
+            }
+            return total;
+        }
+        return null;
+    }
+
+    // H2 annotates every table access in EXPLAIN ANALYZE output with the rows it read;
+    // a plain EXPLAIN has no counts
+    private static Long rowsScanned(CharSequence plan) {
+        Matcher matcher = SCAN_COUNT.matcher(plan);
+        Long total = null;
+        while (matcher.find()) {
+            total = (total == null ? 0 : total) + Long.parseLong(matcher.group(1));
+        }
+        return total;
+    }
+
+    /**
+     * Rows read from one result set. A slow select is handed over once the result is read
+     * to the end or closed, whichever comes first; a result set of a fast statement only
+     * counts.
+     */
+    private static final class RowCounter {
+
+        private int rows;
+        private boolean done;
+        private IntConsumer onRead;
+
+        void whenRead(IntConsumer onRead) {
+            this.onRead = onRead;
+        }
+
+        void next(boolean hasRow) {
+            if (hasRow) {
+                rows++;
+            } else {
+                finish();
+            }
+        }
+
+        void finish() {
+            if (!done) {
+                done = true;
+                if (onRead != null) {
+                    onRead.accept(rows);
+                }
+            }
+        }
+    }
+
+    private static final class RowCountingResultSetLogic extends SimpleResultSetProxyLogic {
+
+        private final RowCounter rowCounter;
+
+        RowCountingResultSetLogic(ResultSet resultSet, ConnectionInfo connectionInfo, ProxyConfig proxyConfig,
+                RowCounter rowCounter) {
+            super(resultSet, connectionInfo, proxyConfig);
+            this.rowCounter = rowCounter;
+        }
+
+        @Override
+        protected Object performProxyLogic(Object proxy, Method method, Object[] args,
+                MethodExecutionContext context) throws Throwable {
+            Object result = super.performProxyLogic(proxy, method, args, context);
+            String name = method.getName();
+            if (name.equals("next")) {
+                rowCounter.next(Boolean.TRUE.equals(result));
+            } else if (name.equals("close")) {
+                rowCounter.finish();
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.membersearch.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One search of a batch: either a structured {@code search} or a natural-language
+ * {@code query} for the AI parser, never both.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchSearchItem {
+    private SearchRequest search;
+    private String query;
+}
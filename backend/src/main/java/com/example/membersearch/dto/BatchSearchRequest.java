@@ -0,0 +1,16 @@
+package com.example.membersearch.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchSearchRequest {
+    @NotEmpty(message = "At least one search is required")
+    private List<BatchSearchItem> items;
+}
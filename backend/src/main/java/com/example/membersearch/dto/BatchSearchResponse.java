@@ -0,0 +1,15 @@
+package com.example.membersearch.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchSearchResponse {
+    private List<BatchSearchResult> results;
+    private long elapsedMs;
+}
@@ -0,0 +1,45 @@
+package com.example.membersearch.dto;
+
+import com.example.membersearch.model.Member;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Page;
+
+import java.util.List;
+
+/**
+ * Outcome of one search of a batch, at the same position as its item. Failed items
+ * carry the HTTP status the search would have returned on its own and no result.
+ */
+@Data
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchSearchResult {
+    private int index;
+    private int status;
+    private Page<Member> result;
+    private String error;
+    private List<String> details;
+    private long elapsedMicros;
+
+    public static BatchSearchResult success(int index, Page<Member> result, long elapsedMicros) {
+        BatchSearchResult item = new BatchSearchResult();
+        item.index = index;
+        item.status = 200;
+        item.result = result;
+        item.elapsedMicros = elapsedMicros;
+        return item;
+    }
+
+    public static BatchSearchResult failure(int index, int status, String error, List<String> details,
+            long elapsedMicros) {
+        BatchSearchResult item = new BatchSearchResult();
+        item.index = index;
+        item.status = status;
+        item.error = error;
+        item.details = details;
+        item.elapsedMicros = elapsedMicros;
+        return item;
+    }
+}
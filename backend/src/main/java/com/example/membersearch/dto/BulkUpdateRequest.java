@@ -0,0 +1,17 @@
+package com.example.membersearch.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkUpdateRequest {
+    @NotEmpty(message = "At least one patch is required")
+    private List<@Valid MemberPatch> items;
+}
@@ -0,0 +1,17 @@
+package com.example.membersearch.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkUpdateResponse {
+    private List<BulkUpdateResult> results;
+    private long updated;
+    private long failed;
+    private long elapsedMs;
+}
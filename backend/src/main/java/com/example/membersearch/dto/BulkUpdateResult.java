@@ -0,0 +1,43 @@
+package com.example.membersearch.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Outcome of one patch of a bulk update, at the same position as its item. Applied
+ * patches carry the member's new version; the others carry the HTTP status the update
+ * would have returned on its own, 409 when the member changed since the given version.
+ */
+@Data
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkUpdateResult {
+    private int index;
+    private Long id;
+    private int status;
+    private Long version;
+    private String error;
+    private List<String> details;
+
+    public static BulkUpdateResult updated(int index, Long id, long version) {
+        BulkUpdateResult item = new BulkUpdateResult();
+        item.index = index;
+        item.id = id;
+        item.status = 200;
+        item.version = version;
+        return item;
+    }
+
+    public static BulkUpdateResult failure(int index, Long id, int status, String error, List<String> details) {
+        BulkUpdateResult item = new BulkUpdateResult();
+        item.index = index;
+        item.id = id;
+        item.status = status;
+        item.error = error;
+        item.details = details;
+        return item;
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.membersearch.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Point-in-time counters of an in-process cache.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheStatistics {
+    private int size;
+    private int maxSize;
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long invalidations;
+
+    public double getHitRate() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0.0 : (double) hits / lookups;
+    }
+}
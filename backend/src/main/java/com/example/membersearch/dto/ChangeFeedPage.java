@@ -0,0 +1,16 @@
+package com.example.membersearch.dto;
+
+import java.util.List;
+
+/**
+ * Changes after a sequence number, oldest first.
+ *
+ * @param epoch          run of the feed the sequence numbers belong to; pass it back with
+ *                       {@code after}
+ * @param lastSequence   sequence to pass as {@code after} on the next poll
+ * @param resyncRequired the changes after the requested sequence are no longer held, or
+ *                       the feed restarted since; reload the members, then continue from
+ *                       {@code lastSequence} of this {@code epoch}
+ */
+public record ChangeFeedPage(String epoch, List<MemberChange> changes, long lastSequence, boolean resyncRequired) {
+}
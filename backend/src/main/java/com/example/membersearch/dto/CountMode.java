@@ -0,0 +1,15 @@
+package com.example.membersearch.dto;
+
+/**
+ * How the total element count of a paged search is computed.
+ */
+public enum CountMode {
+    /** Exact {@code COUNT(*)} over all matching rows. */
+    EXACT,
+    /** Count up to {@code countCap} rows, then report the cap as a lower bound ("1,000+"). */
+    CAPPED,
+    /** Estimate from the maintained country/business unit/entitlement statistics. */
+    ESTIMATED,
+    /** No count query; the total is only a lower bound derived from the current page. */
+    NONE
+}
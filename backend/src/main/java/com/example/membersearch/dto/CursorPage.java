@@ -0,0 +1,22 @@
+package com.example.membersearch.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Slice of search results for cursor (keyset) pagination.
+ * Pass {@code nextCursor} back as {@code after} to fetch the following slice;
+ * it is {@code null} once the last slice has been returned.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPage<T> {
+    private List<T> content;
+    private int size;
+    private boolean hasNext;
+    private String nextCursor;
+}
@@ -0,0 +1,42 @@
+package com.example.membersearch.dto;
+
+import com.example.membersearch.exception.InvalidSearchRequestException;
+
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Member attributes that searches can count matches by, one count per value.
+ */
+public enum FacetField {
+    BUSINESS_UNIT,
+    COUNTRY,
+    /** Entitled versus not entitled members; administrators only, since searches only return entitled members. */
+    ENTITLED;
+
+    /**
+     * Parse a comma-separated list such as {@code businessUnit,country}.
+     */
+    public static Set<FacetField> parse(String value) {
+        Set<FacetField> facets = EnumSet.noneOf(FacetField.class);
+        if (value == null || value.isBlank()) {
+            return facets;
+        }
+        for (String part : value.split(",")) {
+            String normalized = part.trim().replace("_", "").toUpperCase(Locale.ROOT);
+            FacetField match = null;
+            for (FacetField facet : values()) {
+                if (facet.name().replace("_", "").equals(normalized)) {
+                    match = facet;
+                }
+            }
+            if (match == null) {
+                throw new InvalidSearchRequestException("Unsupported facet '" + part.trim()
+                        + "', expected businessUnit, country or entitled");
+            }
+            facets.add(match);
+        }
+        return facets;
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.membersearch.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One line of the NDJSON progress stream returned by bulk ingestion: a committed
+ * batch, a rejected input row, or the final summary.
+ */
+@Data
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class IngestProgress {
+
+    public enum Type { BATCH, REJECTED, SUMMARY }
+
+    private Type type;
+    private Integer batch;
+    private Long line;
+    private List<String> errors;
+    private Long accepted;
+    private Long rejected;
+    private Long totalAccepted;
+    private Long totalRejected;
+    private Long elapsedMs;
+
+    public static IngestProgress batch(int batch, long accepted, long rejected, long totalAccepted,
+            long totalRejected) {
+        IngestProgress progress = new IngestProgress();
+        progress.type = Type.BATCH;
+        progress.batch = batch;
+        progress.accepted = accepted;
+        progress.rejected = rejected;
+        progress.totalAccepted = totalAccepted;
+        progress.totalRejected = totalRejected;
+        return progress;
+    }
+
+    public static IngestProgress rejected(long line, List<String> errors) {
+        IngestProgress progress = new IngestProgress();
+        progress.type = Type.REJECTED;
+        progress.line = line;
+        progress.errors = errors;
+        return progress;
+    }
+
+    public static IngestProgress summary(int batches, long totalAccepted, long totalRejected, long elapsedMs) {
+        IngestProgress progress = new IngestProgress();
+        progress.type = Type.SUMMARY;
+        progress.batch = batches;
+        progress.totalAccepted = totalAccepted;
+        progress.totalRejected = totalRejected;
+        progress.elapsedMs = elapsedMs;
+        return progress;
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.membersearch.dto;
+
+import com.example.membersearch.model.Member;
+
+import java.time.Instant;
+
+/**
+ * One entry of the member change feed: the member as it was after the change.
+ *
+ * @param sequence position in the feed; each change gets the next number, starting at 1
+ */
+public record MemberChange(long sequence, Type type, Instant timestamp, Member member) {
+
+    public enum Type { INSERTED, UPDATED }
+}
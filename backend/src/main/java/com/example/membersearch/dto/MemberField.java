@@ -0,0 +1,59 @@
+package com.example.membersearch.dto;
+
+import com.example.membersearch.exception.InvalidSearchRequestException;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Member attributes that can be selected for lean search responses.
+ */
+public enum MemberField {
+    ID("id"),
+    FIRST_NAME("firstName"),
+    MIDDLE_NAME("middleName"),
+    LAST_NAME("lastName"),
+    BUSINESS_UNIT("businessUnit"),
+    COUNTRY("country"),
+    SOURCE_MEMBER_ID("sourceMemberId"),
+    ENTITLED("entitled");
+
+    private final String attribute;
+
+    MemberField(String attribute) {
+        this.attribute = attribute;
+    }
+
+    /**
+     * Name of the entity attribute, which is also the JSON property name.
+     */
+    public String getAttribute() {
+        return attribute;
+    }
+
+    /**
+     * Parse a comma-separated list of attribute names, e.g. {@code firstName,lastName}.
+     * A blank selector selects every field; {@code id} is always included so rows stay
+     * addressable.
+     */
+    public static Set<MemberField> parse(String selector) {
+        if (selector == null || selector.isBlank()) {
+            return EnumSet.allOf(MemberField.class);
+        }
+        Set<MemberField> fields = EnumSet.of(ID);
+        for (String name : selector.split(",")) {
+            fields.add(ofAttribute(name.trim()));
+        }
+        return fields;
+    }
+
+    private static MemberField ofAttribute(String name) {
+        for (MemberField field : values()) {
+            if (field.attribute.equals(name)) {
+                return field;
+            }
+        }
+        throw new InvalidSearchRequestException("Unknown field '" + name + "', expected any of id, firstName, "
+                + "middleName, lastName, businessUnit, country, sourceMemberId, entitled");
+    }
+}
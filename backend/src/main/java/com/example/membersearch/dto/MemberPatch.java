@@ -0,0 +1,53 @@
+package com.example.membersearch.dto;
+
+import com.example.membersearch.model.Member;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Changes to one member in a bulk update. Fields left out are kept as stored. When
+ * {@code version} is given the patch only applies while the member is still at it.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MemberPatch {
+    @NotNull(message = "Member id is required")
+    private Long id;
+    private Long version;
+    private String firstName;
+    private String middleName;
+    private String lastName;
+    private String businessUnit;
+    private String country;
+    private String sourceMemberId;
+
+    /**
+     * Copy of {@code member} with the patched fields applied, at the member's version.
+     */
+    public Member applyTo(Member member) {
+        Member patched = member.copy();
+        if (firstName != null) {
+            patched.setFirstName(firstName);
+        }
+        if (middleName != null) {
+            patched.setMiddleName(middleName);
+        }
+        if (lastName != null) {
+            patched.setLastName(lastName);
+        }
+        if (businessUnit != null) {
+            patched.setBusinessUnit(businessUnit);
+        }
+        if (country != null) {
+            patched.setCountry(country);
+        }
+        if (sourceMemberId != null) {
+            patched.setSourceMemberId(sourceMemberId);
+        }
+        patched.normalizeNames();
+        return patched;
+    }
+}
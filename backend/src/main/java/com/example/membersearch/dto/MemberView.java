@@ -0,0 +1,19 @@
+package com.example.membersearch.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Read-only member row selected directly in SQL for lean search responses.
+ * Attributes that were not selected, and null values, are left out of the JSON.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record MemberView(
+        Long id,
+        String firstName,
+        String middleName,
+        String lastName,
+        String businessUnit,
+        String country,
+        String sourceMemberId,
+        Boolean entitled) {
+}
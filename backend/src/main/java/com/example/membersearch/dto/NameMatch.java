@@ -0,0 +1,17 @@
+package com.example.membersearch.dto;
+
+/**
+ * How the first, middle and last name filters of a search compare to stored names.
+ * All modes ignore case and surrounding whitespace.
+ */
+public enum NameMatch {
+    /** The name contains the term anywhere; cannot use the name indexes. */
+    CONTAINS,
+    /** The name starts with the term; served by the name indexes. */
+    PREFIX,
+    /**
+     * First and last names sound like the term or are within a small edit distance of it,
+     * best matches first; the middle name is still matched as a substring.
+     */
+    FUZZY
+}
@@ -0,0 +1,28 @@
+package com.example.membersearch.dto;
+
+import com.example.membersearch.exception.InvalidSearchRequestException;
+
+import java.util.Locale;
+
+/**
+ * How offset searches order their results.
+ */
+public enum ResultOrder {
+    /** By member id, so pages are stable. */
+    ID,
+    /**
+     * Best name matches first, ties by id: exact names before prefixes before substrings,
+     * with last names weighing more than first names and first more than middle names.
+     * Requests without name filters fall back to id order.
+     */
+    RELEVANCE;
+
+    public static ResultOrder fromParameter(String value) {
+        for (ResultOrder order : values()) {
+            if (order.name().equalsIgnoreCase(value == null ? "" : value.trim())) {
+                return order;
+            }
+        }
+        throw new InvalidSearchRequestException("Unsupported order '" + value + "', expected id or relevance");
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.membersearch.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Page of search results that records how its total was obtained.
+ * When {@code totalExact} is false, {@code totalElements} is a lower bound or an estimate.
+ * Carries match counts per facet value when the request asked for facets.
+ */
+public class SearchPage<T> extends PageImpl<T> {
+
+    private final CountMode countMode;
+    private final boolean totalExact;
+    private final Map<FacetField, Map<String, Long>> facets;
+
+    public SearchPage(List<T> content, Pageable pageable, long total, CountMode countMode, boolean totalExact) {
+        this(content, pageable, total, countMode, totalExact, null);
+    }
+
+    public SearchPage(List<T> content, Pageable pageable, long total, CountMode countMode, boolean totalExact,
+            Map<FacetField, Map<String, Long>> facets) {
+        super(content, pageable, total);
+        this.countMode = countMode;
+        this.totalExact = totalExact;
+        this.facets = facets;
+    }
+
+    /**
+     * Copy of this page carrying the given facet counts.
+     */
+    public SearchPage<T> withFacets(Map<FacetField, Map<String, Long>> facets) {
+        return new SearchPage<>(getContent(), getPageable(), getTotalElements(), countMode, totalExact, facets);
+    }
+
+    public CountMode getCountMode() {
+        return countMode;
+    }
+
+    public boolean isTotalExact() {
+        return totalExact;
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public Map<FacetField, Map<String, Long>> getFacets() {
+        return facets;
+    }
+}
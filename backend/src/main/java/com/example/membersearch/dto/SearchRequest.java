@@ -13,10 +13,51 @@ public class SearchRequest {
     private String country;
     private String sourceMemberId;
 
+    // How the name filters match
+    private NameMatch nameMatch = NameMatch.CONTAINS;
+
+    // Result order of offset searches; cursor, lean and export searches always use id order
+    private ResultOrder order = ResultOrder.ID;
+
     @Min(value = 0, message = "Page number must be non-negative")
     private int page = 0;
 
     @Min(value = 1, message = "Page size must be at least 1")
     @Max(value = 100, message = "Page size must not exceed 100")
     private int size = 10;
+
+    // How totalElements is computed for offset searches
+    private CountMode countMode = CountMode.EXACT;
+
+    @Min(value = 1, message = "Count cap must be at least 1")
+    @Max(value = 100000, message = "Count cap must not exceed 100000")
+    private int countCap = 1000;
+
+    // Offset searches only: also count matches per business unit and/or country
+    private java.util.Set<FacetField> facets;
+
+    // Cursor pagination: the nextCursor of the previous slice, ignored by offset searches
+    private String after;
+
+    /**
+     * Copy of this request; list and set filters are copied too.
+     */
+    public SearchRequest copy() {
+        SearchRequest copy = new SearchRequest();
+        copy.setFirstName(firstName);
+        copy.setMiddleName(middleName);
+        copy.setLastName(lastName);
+        copy.setBusinessUnits(businessUnits == null ? null : new java.util.ArrayList<>(businessUnits));
+        copy.setCountry(country);
+        copy.setSourceMemberId(sourceMemberId);
+        copy.setNameMatch(nameMatch);
+        copy.setOrder(order);
+        copy.setPage(page);
+        copy.setSize(size);
+        copy.setCountMode(countMode);
+        copy.setCountCap(countCap);
+        copy.setFacets(facets == null ? null : new java.util.HashSet<>(facets));
+        copy.setAfter(after);
+        return copy;
+    }
 }
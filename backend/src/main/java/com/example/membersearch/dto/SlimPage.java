@@ -0,0 +1,23 @@
+package com.example.membersearch.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Compact page envelope without Spring's {@code pageable} and {@code sort} metadata.
+ * When {@code totalExact} is false, {@code totalElements} is a lower bound or an estimate.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SlimPage<T> {
+    private List<T> content;
+    private int page;
+    private int size;
+    private long totalElements;
+    private boolean totalExact;
+    private boolean hasNext;
+}
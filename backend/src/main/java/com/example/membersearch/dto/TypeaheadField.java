@@ -0,0 +1,28 @@
+package com.example.membersearch.dto;
+
+import com.example.membersearch.exception.InvalidSearchRequestException;
+
+import java.util.Locale;
+
+/**
+ * Which member values a typeahead request completes.
+ */
+public enum TypeaheadField {
+    /** First and last names together. */
+    NAME,
+    FIRST_NAME,
+    LAST_NAME,
+    SOURCE_MEMBER_ID;
+
+    public static TypeaheadField fromParameter(String value) {
+        String normalized = value == null ? "" : value.trim().replace('-', '_').toUpperCase(Locale.ROOT);
+        for (TypeaheadField field : values()) {
+            if (field.name().equals(normalized)
+                    || field.name().replace("_", "").equals(normalized)) {
+                return field;
+            }
+        }
+        throw new InvalidSearchRequestException("Unsupported typeahead field '" + value
+                + "', expected name, firstName, lastName or sourceMemberId");
+    }
+}
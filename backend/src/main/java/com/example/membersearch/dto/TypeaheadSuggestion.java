@@ -0,0 +1,8 @@
+package com.example.membersearch.dto;
+
+/**
+ * One typeahead completion: a value as first written, the field it comes from and how
+ * many entitled members hold it.
+ */
+public record TypeaheadSuggestion(String value, TypeaheadField field, int count) {
+}
@@ -0,0 +1,393 @@
+package com.example.membersearch.engine;
+
+import com.example.membersearch.dto.CountMode;
+import com.example.membersearch.dto.NameMatch;
+import com.example.membersearch.dto.SearchPage;
+import com.example.membersearch.dto.SearchRequest;
+import com.example.membersearch.event.MemberChangedEvent;
+import com.example.membersearch.model.Member;
+import com.example.membersearch.repository.MemberRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+
+/**
+ * Search engine holding every member in memory, column by column: a sorted array of
+ * ids, one dictionary-encoded {@code int} array per string column, an array of
+ * versions and a bit-packed {@code entitled} column. A search compiles its filters
+ * against the dictionaries once, then scans the columns without allocating, counting
+ * matches in parallel chunks on large tables. Totals are always exact, whatever the count mode, since every row is
+ * visited anyway. Kept current through {@link MemberChangedEvent}s.
+ * <p>
+ * Enabled with {@code membersearch.search.engine=columnar}.
+ */
+@Component
+@ConditionalOnProperty(name = "membersearch.search.engine", havingValue = "columnar")
+public class ColumnarSearchEngine implements SearchEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(ColumnarSearchEngine.class);
+
+    private static final int LOAD_BATCH_SIZE = 10_000;
+    private static final int INITIAL_CAPACITY = 1024;
+    // Filter value of a column the request does not filter on
+    private static final int ANY = -2;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Value("${membersearch.search.columnar.parallel-threshold:100000}")
+    private int parallelThreshold = 100_000;
+
+    @Value("${membersearch.search.columnar.chunk-size:16384}")
+    private int chunkSize = 16_384;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final StringDictionary firstNames = new StringDictionary();
+    private final StringDictionary middleNames = new StringDictionary();
+    private final StringDictionary lastNames = new StringDictionary();
+    private final StringDictionary businessUnits = new StringDictionary();
+    private final StringDictionary countries = new StringDictionary();
+    private final StringDictionary sourceMemberIds = new StringDictionary();
+
+    private int size;
+    private long[] ids = new long[0];
+    private int[] firstNameCodes = new int[0];
+    private int[] middleNameCodes = new int[0];
+    private int[] lastNameCodes = new int[0];
+    private int[] businessUnitCodes = new int[0];
+    private int[] countryCodes = new int[0];
+    private int[] sourceMemberIdCodes = new int[0];
+    private long[] versions = new long[0];
+    private long[] entitled = new long[0];
+    private volatile boolean ready;
+
+    /**
+     * Filters of one request, compiled against the dictionaries. A {@code null} code
+     * set or an {@link #ANY} code means the column is not filtered.
+     */
+    private record Query(BitSet firstNames, BitSet middleNames, BitSet lastNames, BitSet businessUnits,
+            int country, int sourceMemberId) {
+    }
+
+    /**
+     * Load every member. Runs once the seed data is in place.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            ready = false;
+            for (StringDictionary dictionary : dictionaries()) {
+                dictionary.clear();
+            }
+            size = 0;
+            allocate(INITIAL_CAPACITY);
+            memberRepository.forEachMember(LOAD_BATCH_SIZE, this::upsert);
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info("Columnar search engine loaded {} members ({} distinct first names) in {} ms", size,
+                firstNames.size(), System.currentTimeMillis() - start);
+    }
+
+    @EventListener
+    public void onMemberChanged(MemberChangedEvent event) {
+        if (!ready) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            upsert(event.current());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public SearchPage<Member> search(SearchRequest request) {
+        Pageable pageable = PageRequest.of(request.getPage(), request.getSize());
+        CountMode countMode = request.getCountMode() != null ? request.getCountMode() : CountMode.EXACT;
+        lock.readLock().lock();
+        try {
+            Query query = compile(request);
+            if (query == null) {
+                return new SearchPage<>(List.of(), pageable, 0, countMode, true);
+            }
+            int rows = size;
+            int chunkRows = rows <= parallelThreshold ? Math.max(rows, 1) : chunkSize;
+            int chunks = (rows + chunkRows - 1) / chunkRows;
+            int[] counts = new int[chunks];
+            IntStream range = IntStream.range(0, chunks);
+            // Workers only read; the caller's read lock keeps writers out until they finish
+            (chunks > 1 ? range.parallel() : range).forEach(chunk -> counts[chunk] =
+                    count(query, chunk * chunkRows, Math.min(rows, (chunk + 1) * chunkRows)));
+            long total = 0;
+            for (int count : counts) {
+                total += count;
+            }
+            List<Member> content = collect(query, counts, chunkRows, rows, pageable.getOffset(),
+                    pageable.getPageSize());
+            return new SearchPage<>(content, pageable, total, countMode, true);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Resolve the request's filters to dictionary codes.
+     *
+     * @return the compiled filters, or {@code null} when some filter matches no member
+     */
+    private Query compile(SearchRequest request) {
+        boolean prefix = request.getNameMatch() == NameMatch.PREFIX;
+        BitSet first = matchNames(firstNames, request.getFirstName(), prefix);
+        BitSet middle = matchNames(middleNames, request.getMiddleName(), prefix);
+        BitSet last = matchNames(lastNames, request.getLastName(), prefix);
+        if (isEmpty(first) || isEmpty(middle) || isEmpty(last)) {
+            return null;
+        }
+
+        BitSet units = null;
+        if (request.getBusinessUnits() != null && !request.getBusinessUnits().isEmpty()) {
+            units = new BitSet(businessUnits.size());
+            for (String businessUnit : request.getBusinessUnits()) {
+                int code = businessUnits.codeOf(businessUnit);
+                if (code != StringDictionary.NULL_CODE) {
+                    units.set(code);
+                }
+            }
+            if (units.isEmpty()) {
+                return null;
+            }
+        }
+
+        int country = ANY;
+        if (StringUtils.hasText(request.getCountry())) {
+            country = countries.codeOf(request.getCountry());
+            if (country == StringDictionary.NULL_CODE) {
+                return null;
+            }
+        }
+        int sourceMemberId = ANY;
+        if (StringUtils.hasText(request.getSourceMemberId())) {
+            sourceMemberId = sourceMemberIds.codeOf(request.getSourceMemberId());
+            if (sourceMemberId == StringDictionary.NULL_CODE) {
+                return null;
+            }
+        }
+        return new Query(first, middle, last, units, country, sourceMemberId);
+    }
+
+    /**
+     * Codes of the names matching a name filter with the semantics of the JPA path:
+     * {@code LIKE} on the normalized name, where {@code %} and {@code _} in the term
+     * are wildcards.
+     */
+    private static BitSet matchNames(StringDictionary dictionary, String term, boolean prefix) {
+        if (!StringUtils.hasText(term)) {
+            return null;
+        }
+        String normalized = Member.normalize(term);
+        Predicate<String> predicate;
+        if (normalized.indexOf('%') < 0 && normalized.indexOf('_') < 0) {
+            predicate = prefix ? name -> name.startsWith(normalized) : name -> name.contains(normalized);
+        } else {
+            Pattern pattern = likePattern(prefix ? normalized + "%" : "%" + normalized + "%");
+            predicate = name -> pattern.matcher(name).matches();
+        }
+        return dictionary.matchNormalized(predicate);
+    }
+
+    // SQL LIKE without an escape character, as Hibernate renders criteria LIKE predicates
+    static Pattern likePattern(String like) {
+        StringBuilder regex = new StringBuilder();
+        for (int i = 0; i < like.length(); i++) {
+            char c = like.charAt(i);
+            if (c == '%') {
+                regex.append(".*");
+            } else if (c == '_') {
+                regex.append('.');
+            } else {
+                regex.append(Pattern.quote(String.valueOf(c)));
+            }
+        }
+        return Pattern.compile(regex.toString(), Pattern.DOTALL);
+    }
+
+    private int count(Query query, int from, int to) {
+        int count = 0;
+        for (int row = from; row < to; row++) {
+            if (matches(query, row)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Materialize the page: skip whole chunks using their counts, then scan from the
+     * chunk holding the first row of the page.
+     */
+    private List<Member> collect(Query query, int[] counts, int chunkRows, int rows, long offset, int limit) {
+        List<Member> content = new ArrayList<>(limit);
+        long skip = offset;
+        for (int chunk = 0; chunk < counts.length && content.size() < limit; chunk++) {
+            if (skip >= counts[chunk]) {
+                skip -= counts[chunk];
+                continue;
+            }
+            int end = Math.min(rows, (chunk + 1) * chunkRows);
+            for (int row = chunk * chunkRows; row < end && content.size() < limit; row++) {
+                if (matches(query, row)) {
+                    if (skip > 0) {
+                        skip--;
+                    } else {
+                        content.add(toMember(row));
+                    }
+                }
+            }
+        }
+        return content;
+    }
+
+    private boolean matches(Query query, int row) {
+        return (entitled[row >>> 6] & (1L << row)) != 0
+                && (query.country() == ANY || countryCodes[row] == query.country())
+                && (query.sourceMemberId() == ANY || sourceMemberIdCodes[row] == query.sourceMemberId())
+                && matches(query.businessUnits(), businessUnitCodes[row])
+                && matches(query.firstNames(), firstNameCodes[row])
+                && matches(query.middleNames(), middleNameCodes[row])
+                && matches(query.lastNames(), lastNameCodes[row]);
+    }
+
+    private static boolean matches(BitSet codes, int code) {
+        return codes == null || (code != StringDictionary.NULL_CODE && codes.get(code));
+    }
+
+    private static boolean isEmpty(BitSet codes) {
+        return codes != null && codes.isEmpty();
+    }
+
+    private Member toMember(int row) {
+        Member member = new Member(ids[row], firstNames.decode(firstNameCodes[row]),
+                middleNames.decode(middleNameCodes[row]), lastNames.decode(lastNameCodes[row]),
+                businessUnits.decode(businessUnitCodes[row]), countries.decode(countryCodes[row]),
+                sourceMemberIds.decode(sourceMemberIdCodes[row]), (entitled[row >>> 6] & (1L << row)) != 0);
+        member.setVersion(versions[row]);
+        member.normalizeNames();
+        return member;
+    }
+
+    /**
+     * Store a member in its row, inserting the row in id order when the id is new.
+     */
+    private void upsert(Member member) {
+        long id = member.getId();
+        int row = Arrays.binarySearch(ids, 0, size, id);
+        if (row < 0) {
+            row = -row - 1;
+            insertRow(row);
+            ids[row] = id;
+            for (int[] column : codeColumns()) {
+                column[row] = StringDictionary.NULL_CODE;
+            }
+        }
+        // The row's old values are released after the new ones are counted, so an unchanged value keeps its code
+        firstNameCodes[row] = recode(firstNames, firstNameCodes[row], member.getFirstName());
+        middleNameCodes[row] = recode(middleNames, middleNameCodes[row], member.getMiddleName());
+        lastNameCodes[row] = recode(lastNames, lastNameCodes[row], member.getLastName());
+        businessUnitCodes[row] = recode(businessUnits, businessUnitCodes[row], member.getBusinessUnit());
+        countryCodes[row] = recode(countries, countryCodes[row], member.getCountry());
+        sourceMemberIdCodes[row] = recode(sourceMemberIds, sourceMemberIdCodes[row], member.getSourceMemberId());
+        versions[row] = member.getVersion() != null ? member.getVersion() : 0;
+        setEntitled(row, member.isEntitled());
+    }
+
+    private void insertRow(int row) {
+        if (size == ids.length) {
+            allocate(Math.max(INITIAL_CAPACITY, ids.length * 2));
+        }
+        // New ids are normally the largest, so this is an append; shift only when one is not
+        if (row < size) {
+            int moved = size - row;
+            System.arraycopy(ids, row, ids, row + 1, moved);
+            System.arraycopy(versions, row, versions, row + 1, moved);
+            for (int[] column : codeColumns()) {
+                System.arraycopy(column, row, column, row + 1, moved);
+            }
+            for (int i = size; i > row; i--) {
+                setEntitled(i, (entitled[(i - 1) >>> 6] & (1L << (i - 1))) != 0);
+            }
+        }
+        size++;
+    }
+
+    private void setEntitled(int row, boolean value) {
+        if (value) {
+            entitled[row >>> 6] |= 1L << row;
+        } else {
+            entitled[row >>> 6] &= ~(1L << row);
+        }
+    }
+
+    private void allocate(int capacity) {
+        ids = Arrays.copyOf(ids, capacity);
+        firstNameCodes = Arrays.copyOf(firstNameCodes, capacity);
+        middleNameCodes = Arrays.copyOf(middleNameCodes, capacity);
+        lastNameCodes = Arrays.copyOf(lastNameCodes, capacity);
+        businessUnitCodes = Arrays.copyOf(businessUnitCodes, capacity);
+        countryCodes = Arrays.copyOf(countryCodes, capacity);
+        sourceMemberIdCodes = Arrays.copyOf(sourceMemberIdCodes, capacity);
+        versions = Arrays.copyOf(versions, capacity);
+        entitled = Arrays.copyOf(entitled, (capacity + 63) >>> 6);
+    }
+
+    private static int recode(StringDictionary dictionary, int previous, String value) {
+        int code = dictionary.encode(value);
+        dictionary.release(previous);
+        return code;
+    }
+
+    private List<int[]> codeColumns() {
+        return List.of(firstNameCodes, middleNameCodes, lastNameCodes, businessUnitCodes, countryCodes,
+                sourceMemberIdCodes);
+    }
+
+    private List<StringDictionary> dictionaries() {
+        return List.of(firstNames, middleNames, lastNames, businessUnits, countries, sourceMemberIds);
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.membersearch.engine;
+
+import com.example.membersearch.dto.SearchPage;
+import com.example.membersearch.dto.SearchRequest;
+import com.example.membersearch.model.Member;
+
+/**
+ * Alternative backend for offset searches. {@code MemberService} hands searches to the
+ * configured engine while it is ready and falls back to the JPA query path otherwise;
+ * an engine must return the same members, in the same id order, as that path.
+ */
+public interface SearchEngine {
+
+    /**
+     * Whether the engine can answer searches, e.g. once its initial load has finished.
+     */
+    boolean isReady();
+
+    SearchPage<Member> search(SearchRequest request);
+}
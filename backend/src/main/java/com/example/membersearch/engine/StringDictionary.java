@@ -0,0 +1,114 @@
+package com.example.membersearch.engine;
+
+import com.example.membersearch.model.Member;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Dictionary encoding for one string column: every distinct value gets a dense integer
+ * code, so rows store an {@code int} and predicates are evaluated once per distinct value
+ * instead of once per row. Each code counts the rows holding it; once none does, the
+ * value is dropped and its code reused, so columns whose values keep changing, such as
+ * source member ids, do not grow the dictionary. Not thread-safe.
+ */
+final class StringDictionary {
+
+    static final int NULL_CODE = -1;
+
+    private final Map<String, Integer> codes = new HashMap<>();
+    private final List<String> values = new ArrayList<>();
+    // Normalized form of each value, for the name filters
+    private final List<String> normalized = new ArrayList<>();
+    // Rows holding each code
+    private int[] references = new int[16];
+    private final Deque<Integer> freeCodes = new ArrayDeque<>();
+
+    /**
+     * The code of a value, counting one more row holding it.
+     */
+    int encode(String value) {
+        if (value == null) {
+            return NULL_CODE;
+        }
+        Integer code = codes.get(value);
+        if (code == null) {
+            code = freeCodes.poll();
+            if (code == null) {
+                code = values.size();
+                values.add(value);
+                normalized.add(Member.normalize(value));
+                if (code == references.length) {
+                    references = Arrays.copyOf(references, code * 2);
+                }
+            } else {
+                values.set(code, value);
+                normalized.set(code, Member.normalize(value));
+            }
+            codes.put(value, code);
+        }
+        references[code]++;
+        return code;
+    }
+
+    /**
+     * Count one row fewer holding {@code code}, dropping its value when it was the last.
+     */
+    void release(int code) {
+        if (code == NULL_CODE || --references[code] > 0) {
+            return;
+        }
+        codes.remove(values.get(code));
+        values.set(code, null);
+        normalized.set(code, null);
+        freeCodes.push(code);
+    }
+
+    /**
+     * The code of a value, or {@link #NULL_CODE} when no row holds it.
+     */
+    int codeOf(String value) {
+        Integer code = value == null ? null : codes.get(value);
+        return code == null ? NULL_CODE : code;
+    }
+
+    String decode(int code) {
+        return code == NULL_CODE ? null : values.get(code);
+    }
+
+    /**
+     * Codes whose normalized value satisfies {@code predicate}.
+     */
+    BitSet matchNormalized(Predicate<String> predicate) {
+        BitSet matches = new BitSet(normalized.size());
+        for (int code = 0; code < normalized.size(); code++) {
+            String value = normalized.get(code);
+            if (value != null && predicate.test(value)) {
+                matches.set(code);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Distinct values currently held by at least one row.
+     */
+    int size() {
+        return codes.size();
+    }
+
+    void clear() {
+        codes.clear();
+        values.clear();
+        normalized.clear();
+        Arrays.fill(references, 0);
+        freeCodes.clear();
+    }
+}
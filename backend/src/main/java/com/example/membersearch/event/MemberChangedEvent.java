@@ -0,0 +1,21 @@
+package com.example.membersearch.event;
+
+import com.example.membersearch.model.Member;
+
+/**
+ * Published after a member has been written to the database.
+ * In-memory structures that mirror member data listen for this event to stay current.
+ *
+ * @param previous snapshot of the member before the change, or {@code null} for an insert
+ * @param current  snapshot of the member after the change
+ */
+public record MemberChangedEvent(Member previous, Member current) {
+
+    public Long memberId() {
+        return current.getId();
+    }
+
+    public boolean isInsert() {
+        return previous == null;
+    }
+}
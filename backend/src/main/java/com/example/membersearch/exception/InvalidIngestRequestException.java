@@ -0,0 +1,12 @@
+package com.example.membersearch.exception;
+
+/**
+ * Exception thrown when a bulk ingestion request cannot be processed at all,
+ * e.g. an unsupported content type or a malformed CSV header.
+ */
+public class InvalidIngestRequestException extends RuntimeException {
+
+    public InvalidIngestRequestException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.membersearch.exception;
+
+/**
+ * Exception thrown when a bulk update request cannot be processed at all,
+ * e.g. because it holds too many patches.
+ */
+public class InvalidUpdateRequestException extends RuntimeException {
+
+    public InvalidUpdateRequestException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.membersearch.exception;
+
+/**
+ * Exception thrown when a conditional update finds the member changed since the version
+ * the caller read.
+ */
+public class MemberVersionConflictException extends RuntimeException {
+
+    public MemberVersionConflictException(Long id, Long version) {
+        super("Member " + id + " has changed since version " + version + "; reload it and retry");
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.membersearch.exception;
+
+/**
+ * Exception thrown when a request cannot get database capacity in time, needs an
+ * in-memory index that is not built yet, or would exceed the change feed's subscribers.
+ */
+public class ServiceBusyException extends RuntimeException {
+
+    public ServiceBusyException(String message) {
+        super(message);
+    }
+}
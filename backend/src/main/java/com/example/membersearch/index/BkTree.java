@@ -0,0 +1,117 @@
+package com.example.membersearch.index;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * Burkhard-Keller tree over strings under Levenshtein distance. By the triangle
+ * inequality a lookup only descends into children whose edge distance is within
+ * {@code maxDistance} of the query's distance to the node, so it touches a small part
+ * of the tree instead of every term. Terms cannot be removed; not thread-safe.
+ */
+final class BkTree {
+
+    private static final class Node {
+        private final String term;
+        private final Map<Integer, Node> children = new HashMap<>(4);
+
+        private Node(String term) {
+            this.term = term;
+        }
+    }
+
+    private Node root;
+    private int size;
+
+    /**
+     * @return whether the term was new
+     */
+    boolean add(String term) {
+        if (root == null) {
+            root = new Node(term);
+            size++;
+            return true;
+        }
+        Node node = root;
+        while (true) {
+            int distance = distance(node.term, term, Integer.MAX_VALUE);
+            if (distance == 0) {
+                return false;
+            }
+            Node child = node.children.get(distance);
+            if (child == null) {
+                node.children.put(distance, new Node(term));
+                size++;
+                return true;
+            }
+            node = child;
+        }
+    }
+
+    /**
+     * Pass every term within {@code maxDistance} of {@code query} to {@code action},
+     * together with its distance.
+     */
+    void search(String query, int maxDistance, ObjIntConsumer<String> action) {
+        if (root == null) {
+            return;
+        }
+        Deque<Node> pending = new ArrayDeque<>();
+        pending.push(root);
+        while (!pending.isEmpty()) {
+            Node node = pending.pop();
+            int distance = distance(node.term, query, Integer.MAX_VALUE);
+            if (distance <= maxDistance) {
+                action.accept(node.term, distance);
+            }
+            for (Map.Entry<Integer, Node> child : node.children.entrySet()) {
+                if (Math.abs(child.getKey() - distance) <= maxDistance) {
+                    pending.push(child.getValue());
+                }
+            }
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    void clear() {
+        root = null;
+        size = 0;
+    }
+
+    /**
+     * Levenshtein distance, or any value above {@code limit} once the distance is known
+     * to exceed it.
+     */
+    static int distance(String a, String b, int limit) {
+        if (Math.abs(a.length() - b.length()) > limit) {
+            return limit == Integer.MAX_VALUE ? limit : limit + 1;
+        }
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > limit) {
+                return limit + 1;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+}
@@ -0,0 +1,215 @@
+package com.example.membersearch.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Character trie over normalized values counting the members holding each value, for
+ * prefix completion. Nodes whose subtree holds more than {@code k} live values cache
+ * their best {@code k} completions, most members first, so a lookup is a walk down the
+ * prefix plus a copy; smaller subtrees are collected on demand, which keeps the cache
+ * off the long tail of rare values. Not thread-safe.
+ */
+final class CompletionTrie {
+
+    private static final char[] NO_LABELS = new char[0];
+    private static final Node[] NO_NODES = new Node[0];
+
+    private static final Comparator<Node> BEST_FIRST = Comparator.comparingInt((Node node) -> -node.count)
+            .thenComparing(node -> node.value);
+
+    /** A completion: the normalized value, how it was first written, and its member count. */
+    record Completion(String value, String display, int count) {
+    }
+
+    private static final class Node {
+        // Children sorted by label, searched with a binary search
+        private char[] labels = NO_LABELS;
+        private Node[] children = NO_NODES;
+        // Set on nodes ending a value
+        private String value;
+        private String display;
+        private int count;
+        // Values with a count above zero in this subtree, this node included
+        private int live;
+        // Best completions in this subtree, only while live exceeds k
+        private Node[] top;
+
+        private Node child(char label) {
+            int i = Arrays.binarySearch(labels, label);
+            return i >= 0 ? children[i] : null;
+        }
+
+        private Node addChild(char label) {
+            int i = Arrays.binarySearch(labels, label);
+            if (i >= 0) {
+                return children[i];
+            }
+            int at = -i - 1;
+            Node child = new Node();
+            char[] newLabels = new char[labels.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(labels, 0, newLabels, 0, at);
+            System.arraycopy(children, 0, newChildren, 0, at);
+            newLabels[at] = label;
+            newChildren[at] = child;
+            System.arraycopy(labels, at, newLabels, at + 1, labels.length - at);
+            System.arraycopy(children, at, newChildren, at + 1, children.length - at);
+            labels = newLabels;
+            children = newChildren;
+            return child;
+        }
+    }
+
+    private final int k;
+    private Node root = new Node();
+    private int values;
+
+    CompletionTrie(int k) {
+        this.k = k;
+    }
+
+    /**
+     * Change the member count of a value, refreshing the cached completions along its
+     * path. Counts never drop below zero; a value at zero is no longer suggested.
+     */
+    void add(String value, String display, int delta) {
+        List<Node> path = new ArrayList<>(value.length() + 1);
+        Node node = increment(value, display, delta, path);
+        if (node == null) {
+            return;
+        }
+        for (int i = path.size() - 1; i >= 0; i--) {
+            refresh(path.get(i));
+        }
+    }
+
+    /**
+     * Change the member count of a value without refreshing cached completions; call
+     * {@link #refreshAll()} once the load is complete.
+     */
+    void load(String value, String display, int delta) {
+        increment(value, display, delta, null);
+    }
+
+    /**
+     * Recompute every cached completion list, bottom up.
+     */
+    void refreshAll() {
+        refreshSubtree(root);
+    }
+
+    /**
+     * The best completions of a normalized prefix, most members first, ties by value.
+     */
+    List<Completion> complete(String prefix, int limit) {
+        Node node = root;
+        for (int i = 0; i < prefix.length() && node != null; i++) {
+            node = node.child(prefix.charAt(i));
+        }
+        if (node == null || node.live == 0) {
+            return List.of();
+        }
+        Node[] best = node.top != null ? node.top : collect(node);
+        int n = Math.min(limit, best.length);
+        List<Completion> completions = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            completions.add(new Completion(best[i].value, best[i].display, best[i].count));
+        }
+        return completions;
+    }
+
+    /**
+     * Distinct values ever added, including those whose count has dropped to zero.
+     */
+    int size() {
+        return values;
+    }
+
+    void clear() {
+        root = new Node();
+        values = 0;
+    }
+
+    private Node increment(String value, String display, int delta, List<Node> path) {
+        if (value == null || value.isEmpty()) {
+            return null;
+        }
+        Node node = root;
+        if (path != null) {
+            path.add(node);
+        }
+        for (int i = 0; i < value.length(); i++) {
+            node = node.addChild(value.charAt(i));
+            if (path != null) {
+                path.add(node);
+            }
+        }
+        if (node.value == null) {
+            node.value = value;
+            values++;
+        }
+        if (node.display == null || node.count == 0) {
+            node.display = display;
+        }
+        node.count = Math.max(0, node.count + delta);
+        return node;
+    }
+
+    private void refreshSubtree(Node node) {
+        for (Node child : node.children) {
+            refreshSubtree(child);
+        }
+        refresh(node);
+    }
+
+    /**
+     * Recompute a node's live count and cached completions from its children, which
+     * must already be up to date.
+     */
+    private void refresh(Node node) {
+        int live = node.count > 0 ? 1 : 0;
+        for (Node child : node.children) {
+            live += child.live;
+        }
+        node.live = live;
+        if (live <= k) {
+            node.top = null;
+            return;
+        }
+        List<Node> candidates = new ArrayList<>();
+        if (node.count > 0) {
+            candidates.add(node);
+        }
+        for (Node child : node.children) {
+            if (child.live > 0) {
+                candidates.addAll(Arrays.asList(child.top != null ? child.top : collect(child)));
+            }
+        }
+        candidates.sort(BEST_FIRST);
+        node.top = candidates.subList(0, k).toArray(NO_NODES);
+    }
+
+    /**
+     * Every live value under a node whose subtree is too small to cache, best first.
+     */
+    private Node[] collect(Node node) {
+        List<Node> found = new ArrayList<>(node.live);
+        collectInto(node, found);
+        found.sort(BEST_FIRST);
+        return found.toArray(NO_NODES);
+    }
+
+    private static void collectInto(Node node, List<Node> found) {
+        if (node.count > 0) {
+            found.add(node);
+        }
+        for (Node child : node.children) {
+            if (child.live > 0) {
+                collectInto(child, found);
+            }
+        }
+    }
+}
@@ -0,0 +1,292 @@
+package com.example.membersearch.index;
+
+import com.example.membersearch.dto.FacetField;
+import com.example.membersearch.dto.SearchRequest;
+import com.example.membersearch.event.MemberChangedEvent;
+import com.example.membersearch.model.Member;
+import com.example.membersearch.repository.MemberRepository;
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.RoaringBitmap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory bitmap index over the low-cardinality columns: business unit, country and
+ * entitlement. Values are dictionary-encoded to small integer codes, each holding a
+ * compressed bitmap of member ids, so the categorical filters of a request reduce to
+ * bitmap unions and intersections instead of a row-by-row scan.
+ */
+@Component
+public class MemberCategoryIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(MemberCategoryIndex.class);
+
+    private static final int LOAD_BATCH_SIZE = 10_000;
+
+    /**
+     * Value to code mapping with one bitmap per code. Codes are never reused, so the
+     * dictionary only grows; it stays small because the columns have few distinct values.
+     */
+    private static final class Dictionary {
+        private final Map<String, Integer> codes = new HashMap<>();
+        private final List<RoaringBitmap> bitmaps = new ArrayList<>();
+
+        private RoaringBitmap bitmapFor(String value) {
+            Integer code = codes.get(value);
+            return code == null ? null : bitmaps.get(code);
+        }
+
+        private void add(String value, int id) {
+            if (value == null) {
+                return;
+            }
+            int code = codes.computeIfAbsent(value, v -> {
+                bitmaps.add(new RoaringBitmap());
+                return bitmaps.size() - 1;
+            });
+            bitmaps.get(code).add(id);
+        }
+
+        private void remove(String value, int id) {
+            RoaringBitmap bitmap = value == null ? null : bitmapFor(value);
+            if (bitmap != null) {
+                bitmap.remove(id);
+            }
+        }
+
+        private Map<String, Long> countWithin(RoaringBitmap scope) {
+            Map<String, Long> counts = new HashMap<>();
+            codes.forEach((value, code) -> {
+                long count = RoaringBitmap.andCardinality(scope, bitmaps.get(code));
+                if (count > 0) {
+                    counts.put(value, count);
+                }
+            });
+            return counts;
+        }
+
+        private void clear() {
+            codes.clear();
+            bitmaps.clear();
+        }
+    }
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Value("${membersearch.index.category.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${membersearch.index.category.max-candidates:1000}")
+    private int maxCandidates = 1000;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Dictionary businessUnits = new Dictionary();
+    private final Dictionary countries = new Dictionary();
+    private final RoaringBitmap entitled = new RoaringBitmap();
+    private final RoaringBitmap members = new RoaringBitmap();
+    private volatile boolean ready;
+
+    /**
+     * Load every member into the index. Runs once the seed data is in place.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!enabled) {
+            logger.info("Member category index disabled");
+            return;
+        }
+        long start = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            ready = false;
+            businessUnits.clear();
+            countries.clear();
+            entitled.clear();
+            members.clear();
+            memberRepository.forEachMember(LOAD_BATCH_SIZE, this::add);
+            entitled.runOptimize();
+            members.runOptimize();
+            ready = true;
+        } catch (ArithmeticException e) {
+            logger.warn("Member ids exceed the int range, category index disabled");
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info("Member category index built: {} business units, {} countries, {} entitled members in {} ms",
+                businessUnits.codes.size(), countries.codes.size(), entitled.getCardinality(),
+                System.currentTimeMillis() - start);
+    }
+
+    @EventListener
+    public void onMemberChanged(MemberChangedEvent event) {
+        if (!ready) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (event.previous() != null) {
+                remove(event.previous());
+            }
+            add(event.current());
+        } catch (ArithmeticException e) {
+            ready = false;
+            logger.warn("Member id {} exceeds the int range, category index disabled", event.memberId());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Most candidates worth handing to the database as an id list; larger sets are better
+     * served by the column indexes.
+     */
+    public int getMaxCandidates() {
+        return maxCandidates;
+    }
+
+    /**
+     * Resolve the business unit, country and entitlement filters of a request to the ids
+     * of all members matching them. Name and source member id filters are not applied.
+     *
+     * @return the matching ids, or empty before the index is built
+     */
+    public Optional<RoaringBitmap> findCandidates(SearchRequest request) {
+        if (!ready) {
+            return Optional.empty();
+        }
+        lock.readLock().lock();
+        try {
+            // Searches only ever return entitled members
+            RoaringBitmap result = entitled;
+            if (StringUtils.hasText(request.getCountry())) {
+                RoaringBitmap country = countries.bitmapFor(request.getCountry());
+                if (country == null) {
+                    return Optional.of(new RoaringBitmap());
+                }
+                result = RoaringBitmap.and(result, country);
+            }
+            if (request.getBusinessUnits() != null && !request.getBusinessUnits().isEmpty()) {
+                List<RoaringBitmap> units = new ArrayList<>(request.getBusinessUnits().size());
+                for (String businessUnit : request.getBusinessUnits()) {
+                    RoaringBitmap unit = businessUnits.bitmapFor(businessUnit);
+                    if (unit != null) {
+                        units.add(unit);
+                    }
+                }
+                if (units.isEmpty()) {
+                    return Optional.of(new RoaringBitmap());
+                }
+                result = RoaringBitmap.and(result, FastAggregation.or(units.iterator()));
+            }
+            // Callers own the result, so never hand out the live bitmap
+            if (result == entitled) {
+                result = entitled.clone();
+            }
+            return Optional.of(result);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Count members per value of each facet. Counts cover the members in {@code names}
+     * (every member when null), entitled ones only if {@code entitledOnly}, that pass the
+     * request's business unit and country filters, except a facet's own filter, so every
+     * value of a filtered facet keeps its count. Values without matches are left out.
+     *
+     * @return counts per facet value, or empty before the index is built
+     */
+    public Optional<Map<FacetField, Map<String, Long>>> countFacets(SearchRequest request, Set<FacetField> facets,
+            RoaringBitmap names, boolean entitledOnly) {
+        if (!ready) {
+            return Optional.empty();
+        }
+        lock.readLock().lock();
+        try {
+            RoaringBitmap countryFilter = null;
+            if (StringUtils.hasText(request.getCountry())) {
+                countryFilter = countries.bitmapFor(request.getCountry());
+                countryFilter = countryFilter != null ? countryFilter : new RoaringBitmap();
+            }
+            RoaringBitmap unitFilter = null;
+            if (request.getBusinessUnits() != null && !request.getBusinessUnits().isEmpty()) {
+                List<RoaringBitmap> units = new ArrayList<>(request.getBusinessUnits().size());
+                for (String businessUnit : request.getBusinessUnits()) {
+                    RoaringBitmap unit = businessUnits.bitmapFor(businessUnit);
+                    if (unit != null) {
+                        units.add(unit);
+                    }
+                }
+                unitFilter = FastAggregation.or(units.iterator());
+            }
+
+            Map<FacetField, Map<String, Long>> counts = new EnumMap<>(FacetField.class);
+            for (FacetField facet : facets) {
+                RoaringBitmap scope = names != null ? RoaringBitmap.and(members, names) : members;
+                if (entitledOnly && facet != FacetField.ENTITLED) {
+                    scope = RoaringBitmap.and(scope, entitled);
+                }
+                if (countryFilter != null && facet != FacetField.COUNTRY) {
+                    scope = RoaringBitmap.and(scope, countryFilter);
+                }
+                if (unitFilter != null && facet != FacetField.BUSINESS_UNIT) {
+                    scope = RoaringBitmap.and(scope, unitFilter);
+                }
+                counts.put(facet, switch (facet) {
+                    case BUSINESS_UNIT -> businessUnits.countWithin(scope);
+                    case COUNTRY -> countries.countWithin(scope);
+                    case ENTITLED -> {
+                        long entitledCount = RoaringBitmap.andCardinality(scope, entitled);
+                        Map<String, Long> split = new HashMap<>();
+                        split.put("true", entitledCount);
+                        split.put("false", scope.getLongCardinality() - entitledCount);
+                        split.values().removeIf(count -> count == 0);
+                        yield split;
+                    }
+                });
+            }
+            return Optional.of(counts);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void add(Member member) {
+        int id = Math.toIntExact(member.getId());
+        members.add(id);
+        businessUnits.add(member.getBusinessUnit(), id);
+        countries.add(member.getCountry(), id);
+        if (member.isEntitled()) {
+            entitled.add(id);
+        }
+    }
+
+    private void remove(Member member) {
+        int id = Math.toIntExact(member.getId());
+        businessUnits.remove(member.getBusinessUnit(), id);
+        countries.remove(member.getCountry(), id);
+        entitled.remove(id);
+        members.remove(id);
+    }
+}
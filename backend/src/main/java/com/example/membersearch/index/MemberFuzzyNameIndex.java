@@ -0,0 +1,315 @@
+package com.example.membersearch.index;
+
+import com.example.membersearch.dto.SearchRequest;
+import com.example.membersearch.event.MemberChangedEvent;
+import com.example.membersearch.model.Member;
+import com.example.membersearch.repository.MemberRepository;
+import org.apache.commons.codec.language.DoubleMetaphone;
+import org.roaringbitmap.RoaringBitmap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory index for {@link com.example.membersearch.dto.NameMatch#FUZZY} searches.
+ * For first and last names it keeps the ids per distinct normalized name, a BK-tree over
+ * those names for bounded edit-distance lookups, and the Double Metaphone keys of each
+ * name computed once on load, so a search never compares the term against every row.
+ */
+@Component
+public class MemberFuzzyNameIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(MemberFuzzyNameIndex.class);
+
+    private static final int LOAD_BATCH_SIZE = 10_000;
+
+    // Short names get a tighter edit-distance bound, otherwise nearly everything matches
+    private static final int SHORT_NAME_LENGTH = 4;
+
+    // Score bonus for a name within the edit distance that also sounds like the term
+    private static final double PHONETIC_BONUS = 0.5;
+
+    // Only read after construction, so safe to share
+    private static final DoubleMetaphone ENCODER = new DoubleMetaphone();
+
+    // Worst match first, so the head of a bounded heap is the one to drop
+    private static final Comparator<Map.Entry<Integer, Double>> WORST_FIRST =
+            Map.Entry.<Integer, Double>comparingByValue().thenComparing(Map.Entry.comparingByKey()).reversed();
+
+    /**
+     * The matches of a fuzzy search: member id to score, lower is closer. An exact name
+     * scores below any misspelling and a name that only sounds alike scores last.
+     *
+     * @param complete false when more members matched than the configured maximum and
+     *                 only the best of them, ties broken by id, were kept
+     */
+    public record Matches(RoaringBitmap ids, Map<Integer, Double> scores, boolean complete) {
+    }
+
+    /**
+     * Ids, edit-distance tree and phonetic keys for one name field. Names stay in the
+     * tree and key maps after their last member goes; lookups skip names without ids.
+     */
+    private static final class NameField {
+        private final Map<String, RoaringBitmap> postings = new HashMap<>();
+        private final Map<String, Set<String>> phonetic = new HashMap<>();
+        private final BkTree tree = new BkTree();
+
+        private void add(String name, int id) {
+            if (name == null || name.isEmpty()) {
+                return;
+            }
+            postings.computeIfAbsent(name, n -> {
+                tree.add(n);
+                for (String key : phoneticKeys(n)) {
+                    phonetic.computeIfAbsent(key, k -> new HashSet<>()).add(n);
+                }
+                return new RoaringBitmap();
+            }).add(id);
+        }
+
+        private void remove(String name, int id) {
+            RoaringBitmap ids = name == null ? null : postings.get(name);
+            if (ids != null) {
+                ids.remove(id);
+            }
+        }
+
+        private void clear() {
+            postings.clear();
+            phonetic.clear();
+            tree.clear();
+        }
+    }
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Value("${membersearch.index.fuzzy.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${membersearch.index.fuzzy.max-distance:2}")
+    private int maxDistance = 2;
+
+    @Value("${membersearch.index.fuzzy.max-candidates:1000}")
+    private int maxCandidates = 1000;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final NameField firstNames = new NameField();
+    private final NameField lastNames = new NameField();
+    private final Map<Integer, String> middleNames = new HashMap<>();
+    private volatile boolean ready;
+
+    /**
+     * Load every member into the index. Runs once the seed data is in place.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!enabled) {
+            logger.info("Member fuzzy name index disabled");
+            return;
+        }
+        long start = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            ready = false;
+            firstNames.clear();
+            lastNames.clear();
+            middleNames.clear();
+            memberRepository.forEachMember(LOAD_BATCH_SIZE, this::add);
+            ready = true;
+        } catch (ArithmeticException e) {
+            logger.warn("Member ids exceed the int range, fuzzy name index disabled");
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info("Member fuzzy name index built: {} first names, {} last names in {} ms",
+                firstNames.tree.size(), lastNames.tree.size(), System.currentTimeMillis() - start);
+    }
+
+    @EventListener
+    public void onMemberChanged(MemberChangedEvent event) {
+        if (!ready) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (event.previous() != null) {
+                remove(event.previous());
+            }
+            add(event.current());
+        } catch (ArithmeticException e) {
+            ready = false;
+            logger.warn("Member id {} exceeds the int range, fuzzy name index disabled", event.memberId());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Whether the request has a first or last name for the index to match fuzzily.
+     */
+    public static boolean hasFuzzyNames(SearchRequest request) {
+        return StringUtils.hasText(request.getFirstName()) || StringUtils.hasText(request.getLastName());
+    }
+
+    /**
+     * Resolve the name filters of a request: first and last names fuzzily, the middle
+     * name as a substring. Other filters are not applied. When more than the configured
+     * maximum of members match, only that many of the best are kept.
+     *
+     * @return the matches, or empty when the index is not built or the request has no
+     *         first or last name
+     */
+    public Optional<Matches> findMatches(SearchRequest request) {
+        boolean hasFirst = StringUtils.hasText(request.getFirstName());
+        boolean hasLast = StringUtils.hasText(request.getLastName());
+        if (!ready || (!hasFirst && !hasLast)) {
+            return Optional.empty();
+        }
+        lock.readLock().lock();
+        try {
+            Map<Integer, Double> scores = null;
+            if (hasFirst) {
+                scores = score(firstNames, Member.normalize(request.getFirstName()));
+            }
+            if (hasLast) {
+                Map<Integer, Double> last = score(lastNames, Member.normalize(request.getLastName()));
+                scores = scores == null ? last : combine(scores, last);
+            }
+            if (StringUtils.hasText(request.getMiddleName())) {
+                String middle = Member.normalize(request.getMiddleName());
+                scores.keySet().removeIf(id -> {
+                    String name = middleNames.get(id);
+                    return name == null || !name.contains(middle);
+                });
+            }
+            boolean complete = scores.size() <= maxCandidates;
+            if (!complete) {
+                scores = best(scores, maxCandidates);
+            }
+            RoaringBitmap ids = new RoaringBitmap();
+            scores.keySet().forEach(ids::add);
+            return Optional.of(new Matches(ids, scores, complete));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Score every member whose name in the field is close to the term: its edit distance,
+     * less a bonus when it also sounds alike, or one past the distance bound when it only
+     * sounds alike.
+     */
+    private Map<Integer, Double> score(NameField field, String term) {
+        int bound = term.length() <= SHORT_NAME_LENGTH ? Math.min(1, maxDistance) : maxDistance;
+        Map<String, Double> names = new HashMap<>();
+        field.tree.search(term, bound, (name, distance) -> names.put(name, (double) distance));
+        Set<String> alike = new HashSet<>();
+        for (String key : phoneticKeys(term)) {
+            alike.addAll(field.phonetic.getOrDefault(key, Set.of()));
+        }
+        for (String name : alike) {
+            names.merge(name, bound + 1.0, (distance, phoneticOnly) -> distance - PHONETIC_BONUS);
+        }
+
+        Map<Integer, Double> scores = new HashMap<>();
+        for (Map.Entry<String, Double> name : names.entrySet()) {
+            RoaringBitmap ids = field.postings.get(name.getKey());
+            if (ids != null) {
+                Double score = name.getValue();
+                ids.forEach((int id) -> scores.put(id, score));
+            }
+        }
+        return scores;
+    }
+
+    /**
+     * The {@code limit} lowest scores, ties broken by id, through a heap of that size.
+     */
+    private static Map<Integer, Double> best(Map<Integer, Double> scores, int limit) {
+        PriorityQueue<Map.Entry<Integer, Double>> heap = new PriorityQueue<>(limit + 1, WORST_FIRST);
+        for (Map.Entry<Integer, Double> entry : scores.entrySet()) {
+            if (heap.size() < limit) {
+                heap.add(entry);
+            } else if (limit > 0 && WORST_FIRST.compare(entry, heap.peek()) > 0) {
+                heap.poll();
+                heap.add(entry);
+            }
+        }
+        Map<Integer, Double> kept = new HashMap<>(heap.size() * 2);
+        heap.forEach(entry -> kept.put(entry.getKey(), entry.getValue()));
+        return kept;
+    }
+
+    private static Map<Integer, Double> combine(Map<Integer, Double> a, Map<Integer, Double> b) {
+        Map<Integer, Double> smaller = a.size() <= b.size() ? a : b;
+        Map<Integer, Double> larger = smaller == a ? b : a;
+        Map<Integer, Double> combined = new HashMap<>();
+        for (Map.Entry<Integer, Double> entry : smaller.entrySet()) {
+            Double other = larger.get(entry.getKey());
+            if (other != null) {
+                combined.put(entry.getKey(), entry.getValue() + other);
+            }
+        }
+        return combined;
+    }
+
+    /**
+     * Primary and alternate Double Metaphone keys of a normalized name. Names containing
+     * digits or no letters at all have no meaningful pronunciation and get no keys.
+     */
+    static Set<String> phoneticKeys(String name) {
+        if (name.chars().anyMatch(Character::isDigit) || name.chars().noneMatch(Character::isLetter)) {
+            return Set.of();
+        }
+        Set<String> keys = new LinkedHashSet<>(2);
+        for (String key : new String[] {ENCODER.doubleMetaphone(name), ENCODER.doubleMetaphone(name, true)}) {
+            if (key != null && !key.isEmpty()) {
+                keys.add(key);
+            }
+        }
+        return keys;
+    }
+
+    private void add(Member member) {
+        int id = Math.toIntExact(member.getId());
+        firstNames.add(Member.normalize(member.getFirstName()), id);
+        lastNames.add(Member.normalize(member.getLastName()), id);
+        String middle = Member.normalize(member.getMiddleName());
+        if (middle != null && !middle.isEmpty()) {
+            middleNames.put(id, middle);
+        }
+    }
+
+    private void remove(Member member) {
+        int id = Math.toIntExact(member.getId());
+        firstNames.remove(Member.normalize(member.getFirstName()), id);
+        lastNames.remove(Member.normalize(member.getLastName()), id);
+        middleNames.remove(id);
+    }
+}
@@ -0,0 +1,295 @@
+package com.example.membersearch.index;
+
+import com.example.membersearch.dto.NameMatch;
+import com.example.membersearch.dto.SearchRequest;
+import com.example.membersearch.event.MemberChangedEvent;
+import com.example.membersearch.model.Member;
+import com.example.membersearch.repository.MemberRepository;
+import org.roaringbitmap.IntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * In-memory trigram index over first, middle and last names.
+ * Resolves substring and prefix name filters to an exact set of member ids so the database
+ * query can use a primary key lookup instead of {@code name_norm LIKE '%term%'}.
+ */
+@Component
+public class MemberNameIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(MemberNameIndex.class);
+
+    static final int GRAM_LENGTH = 3;
+    private static final int LOAD_BATCH_SIZE = 10_000;
+
+    /**
+     * Name columns covered by the index, with accessors for the entity and the request.
+     */
+    public enum NameField {
+        FIRST_NAME(Member::getFirstName, SearchRequest::getFirstName),
+        MIDDLE_NAME(Member::getMiddleName, SearchRequest::getMiddleName),
+        LAST_NAME(Member::getLastName, SearchRequest::getLastName);
+
+        private final Function<Member, String> memberValue;
+        private final Function<SearchRequest, String> requestValue;
+
+        NameField(Function<Member, String> memberValue, Function<SearchRequest, String> requestValue) {
+            this.memberValue = memberValue;
+            this.requestValue = requestValue;
+        }
+
+        public String valueOf(Member member) {
+            return memberValue.apply(member);
+        }
+
+        public String valueOf(SearchRequest request) {
+            return requestValue.apply(request);
+        }
+    }
+
+    private static final NameField[] FIELDS = NameField.values();
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Value("${membersearch.index.name.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${membersearch.index.name.max-candidates:1000}")
+    private int maxCandidates = 1000;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<NameField, Map<String, RoaringBitmap>> postings = new EnumMap<>(NameField.class);
+    private final Map<Integer, String[]> names = new HashMap<>();
+    private volatile boolean ready;
+
+    public MemberNameIndex() {
+        for (NameField field : FIELDS) {
+            postings.put(field, new HashMap<>());
+        }
+    }
+
+    /**
+     * Load every member into the index. Runs once the seed data is in place.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!enabled) {
+            logger.info("Member name index disabled");
+            return;
+        }
+        long start = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            ready = false;
+            postings.values().forEach(Map::clear);
+            names.clear();
+            memberRepository.forEachMember(LOAD_BATCH_SIZE, this::add);
+            ready = true;
+        } catch (ArithmeticException e) {
+            logger.warn("Member ids exceed the int range, name index disabled");
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info("Member name index built with {} members in {} ms", names.size(),
+                System.currentTimeMillis() - start);
+    }
+
+    @EventListener
+    public void onMemberChanged(MemberChangedEvent event) {
+        if (!ready) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            int id = Math.toIntExact(event.memberId());
+            remove(id);
+            add(event.current());
+        } catch (ArithmeticException e) {
+            ready = false;
+            logger.warn("Member id {} exceeds the int range, name index disabled", event.memberId());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return names.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Resolve the name filters of a request to the ids of all members matching them.
+     * The result is exact (trigram candidates are verified against the stored names),
+     * so it can replace the name predicates entirely.
+     *
+     * @return the matching ids, or empty when the index cannot answer the request:
+     *         no name filter, every term shorter than a trigram, LIKE wildcards in a
+     *         term, or more matches than {@code membersearch.index.name.max-candidates}
+     */
+    public Optional<RoaringBitmap> findCandidates(SearchRequest request) {
+        if (!ready) {
+            return Optional.empty();
+        }
+        Map<NameField, String> terms = new EnumMap<>(NameField.class);
+        for (NameField field : FIELDS) {
+            String value = field.valueOf(request);
+            if (StringUtils.hasText(value)) {
+                if (value.indexOf('%') >= 0 || value.indexOf('_') >= 0) {
+                    return Optional.empty();
+                }
+                terms.put(field, normalize(value));
+            }
+        }
+        if (terms.isEmpty()) {
+            return Optional.empty();
+        }
+        boolean prefix = request.getNameMatch() == NameMatch.PREFIX;
+
+        lock.readLock().lock();
+        try {
+            List<RoaringBitmap> lists = new ArrayList<>();
+            for (Map.Entry<NameField, String> term : terms.entrySet()) {
+                Map<String, RoaringBitmap> fieldPostings = postings.get(term.getKey());
+                for (String gram : grams(term.getValue())) {
+                    RoaringBitmap list = fieldPostings.get(gram);
+                    if (list == null) {
+                        return Optional.of(new RoaringBitmap());
+                    }
+                    lists.add(list);
+                }
+            }
+            if (lists.isEmpty()) {
+                return Optional.empty();
+            }
+
+            // Intersect the shortest lists first so the working set shrinks quickly
+            lists.sort(Comparator.comparingInt(RoaringBitmap::getCardinality));
+            RoaringBitmap candidates = lists.get(0).clone();
+            for (int i = 1; i < lists.size() && !candidates.isEmpty(); i++) {
+                candidates.and(lists.get(i));
+            }
+
+            RoaringBitmap matches = new RoaringBitmap();
+            IntIterator it = candidates.getIntIterator();
+            while (it.hasNext()) {
+                int id = it.next();
+                if (matchesAll(names.get(id), terms, prefix)) {
+                    matches.add(id);
+                    if (matches.getCardinality() > maxCandidates) {
+                        return Optional.empty();
+                    }
+                }
+            }
+            return Optional.of(matches);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Whether a request filters on any of the name columns.
+     */
+    public static boolean hasNameFilter(SearchRequest request) {
+        for (NameField field : FIELDS) {
+            if (StringUtils.hasText(field.valueOf(request))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void add(Member member) {
+        int id = Math.toIntExact(member.getId());
+        String[] normalized = new String[FIELDS.length];
+        for (NameField field : FIELDS) {
+            String value = field.valueOf(member);
+            if (value == null) {
+                continue;
+            }
+            String name = normalize(value);
+            normalized[field.ordinal()] = name;
+            Map<String, RoaringBitmap> fieldPostings = postings.get(field);
+            for (String gram : grams(name)) {
+                fieldPostings.computeIfAbsent(gram, g -> new RoaringBitmap()).add(id);
+            }
+        }
+        names.put(id, normalized);
+    }
+
+    private void remove(int id) {
+        String[] normalized = names.remove(id);
+        if (normalized == null) {
+            return;
+        }
+        for (NameField field : FIELDS) {
+            String name = normalized[field.ordinal()];
+            if (name == null) {
+                continue;
+            }
+            Map<String, RoaringBitmap> fieldPostings = postings.get(field);
+            for (String gram : grams(name)) {
+                RoaringBitmap list = fieldPostings.get(gram);
+                if (list != null) {
+                    list.remove(id);
+                    if (list.isEmpty()) {
+                        fieldPostings.remove(gram);
+                    }
+                }
+            }
+        }
+    }
+
+    private static boolean matchesAll(String[] normalized, Map<NameField, String> terms, boolean prefix) {
+        if (normalized == null) {
+            return false;
+        }
+        for (Map.Entry<NameField, String> term : terms.entrySet()) {
+            String name = normalized[term.getKey().ordinal()];
+            if (name == null || !(prefix ? name.startsWith(term.getValue()) : name.contains(term.getValue()))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static String normalize(String value) {
+        return Member.normalize(value);
+    }
+
+    static Set<String> grams(String value) {
+        Set<String> grams = new LinkedHashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= value.length(); i++) {
+            grams.add(value.substring(i, i + GRAM_LENGTH));
+        }
+        return grams;
+    }
+}
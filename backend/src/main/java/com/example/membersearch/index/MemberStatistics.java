@@ -0,0 +1,132 @@
+package com.example.membersearch.index;
+
+import com.example.membersearch.dto.SearchRequest;
+import com.example.membersearch.event.MemberChangedEvent;
+import com.example.membersearch.model.Member;
+import com.example.membersearch.repository.MemberRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.OptionalLong;
+
+/**
+ * Maintained member counts per (entitled, country, business unit) combination.
+ * These columns have few distinct values, so the joint counts stay small and give
+ * exact totals for purely categorical filters and cheap estimates for the rest.
+ */
+@Component
+public class MemberStatistics {
+
+    private static final Logger logger = LoggerFactory.getLogger(MemberStatistics.class);
+
+    private static final int LOAD_BATCH_SIZE = 10_000;
+
+    /** Assumed fraction of members matching a name filter the name index could not resolve. */
+    static final double UNRESOLVED_NAME_SELECTIVITY = 0.05;
+
+    private record Key(boolean entitled, String country, String businessUnit) {
+        static Key of(Member member) {
+            return new Key(member.isEntitled(), member.getCountry(), member.getBusinessUnit());
+        }
+    }
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    private final Map<Key, Long> counts = new HashMap<>();
+    private long total;
+    private volatile boolean ready;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        ready = false;
+        counts.clear();
+        total = 0;
+        memberRepository.forEachMember(LOAD_BATCH_SIZE, member -> adjust(member, 1));
+        ready = true;
+        logger.info("Member statistics built: {} members in {} value combinations", total, counts.size());
+    }
+
+    @EventListener
+    public synchronized void onMemberChanged(MemberChangedEvent event) {
+        if (!ready) {
+            return;
+        }
+        if (event.previous() != null) {
+            adjust(event.previous(), -1);
+        }
+        adjust(event.current(), 1);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Estimate how many entitled members match a request.
+     *
+     * @param nameMatches number of members matching the name filters according to the
+     *                    name index, or empty when the index could not resolve them
+     * @return the estimate, or empty before the statistics are built
+     */
+    public synchronized OptionalLong estimate(SearchRequest request, OptionalLong nameMatches) {
+        if (!ready) {
+            return OptionalLong.empty();
+        }
+        long categorical = 0;
+        for (Map.Entry<Key, Long> entry : counts.entrySet()) {
+            if (matches(entry.getKey(), request)) {
+                categorical += entry.getValue();
+            }
+        }
+
+        double estimate = categorical;
+        if (hasNameFilter(request)) {
+            estimate = nameMatches.isPresent() && total > 0
+                    ? (double) categorical * nameMatches.getAsLong() / total
+                    : categorical * UNRESOLVED_NAME_SELECTIVITY;
+        }
+        if (StringUtils.hasText(request.getSourceMemberId())) {
+            estimate = Math.min(estimate, 1);
+        }
+        return OptionalLong.of(Math.round(estimate));
+    }
+
+    /**
+     * Whether {@link #estimate} is exact for a request, i.e. it only filters on the
+     * columns the statistics are kept for.
+     */
+    public static boolean isExactFor(SearchRequest request) {
+        return !hasNameFilter(request) && !StringUtils.hasText(request.getSourceMemberId());
+    }
+
+    private void adjust(Member member, long delta) {
+        counts.merge(Key.of(member), delta, (a, b) -> a + b == 0 ? null : a + b);
+        total += delta;
+    }
+
+    private static boolean matches(Key key, SearchRequest request) {
+        if (!key.entitled()) {
+            return false;
+        }
+        if (request.getBusinessUnits() != null && !request.getBusinessUnits().isEmpty()
+                && !request.getBusinessUnits().contains(key.businessUnit())) {
+            return false;
+        }
+        return !StringUtils.hasText(request.getCountry()) || Objects.equals(request.getCountry(), key.country());
+    }
+
+    private static boolean hasNameFilter(SearchRequest request) {
+        return StringUtils.hasText(request.getFirstName())
+                || StringUtils.hasText(request.getMiddleName())
+                || StringUtils.hasText(request.getLastName());
+    }
+}
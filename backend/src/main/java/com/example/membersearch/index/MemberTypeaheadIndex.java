@@ -0,0 +1,176 @@
+package com.example.membersearch.index;
+
+import com.example.membersearch.dto.TypeaheadField;
+import com.example.membersearch.dto.TypeaheadSuggestion;
+import com.example.membersearch.event.MemberChangedEvent;
+import com.example.membersearch.model.Member;
+import com.example.membersearch.repository.MemberRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * Prefix completions for first names, last names and source member ids of entitled
+ * members, ranked by how many members hold each value. Kept in completion tries that
+ * cache the best completions per prefix, so a keystroke costs a walk down the prefix
+ * rather than a query.
+ */
+@Component
+public class MemberTypeaheadIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(MemberTypeaheadIndex.class);
+
+    private static final int LOAD_BATCH_SIZE = 10_000;
+
+    private static final Comparator<TypeaheadSuggestion> BEST_FIRST = Comparator
+            .comparingInt((TypeaheadSuggestion suggestion) -> -suggestion.count())
+            .thenComparing(suggestion -> Member.normalize(suggestion.value()));
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Value("${membersearch.typeahead.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${membersearch.typeahead.max-suggestions:10}")
+    private int maxSuggestions = 10;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private CompletionTrie firstNames;
+    private CompletionTrie lastNames;
+    private CompletionTrie sourceMemberIds;
+    private volatile boolean ready;
+
+    /**
+     * Load every entitled member into the tries. Runs once the seed data is in place.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!enabled) {
+            logger.info("Member typeahead index disabled");
+            return;
+        }
+        long start = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            ready = false;
+            firstNames = new CompletionTrie(maxSuggestions);
+            lastNames = new CompletionTrie(maxSuggestions);
+            sourceMemberIds = new CompletionTrie(maxSuggestions);
+            memberRepository.forEachMember(LOAD_BATCH_SIZE, member -> apply(member, 1, false));
+            firstNames.refreshAll();
+            lastNames.refreshAll();
+            sourceMemberIds.refreshAll();
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info("Member typeahead index built: {} first names, {} last names, {} source member ids in {} ms",
+                firstNames.size(), lastNames.size(), sourceMemberIds.size(), System.currentTimeMillis() - start);
+    }
+
+    @EventListener
+    public void onMemberChanged(MemberChangedEvent event) {
+        if (!ready) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (event.previous() != null) {
+                apply(event.previous(), -1, true);
+            }
+            apply(event.current(), 1, true);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Most suggestions a single request can ask for; that many are cached per prefix.
+     */
+    public int getMaxSuggestions() {
+        return maxSuggestions;
+    }
+
+    /**
+     * Complete a prefix, ignoring case and surrounding whitespace.
+     *
+     * @return up to {@code limit} values starting with the prefix, most members first,
+     *         or an empty list before the index is built
+     */
+    public List<TypeaheadSuggestion> suggest(TypeaheadField field, String prefix, int limit) {
+        if (!ready) {
+            return List.of();
+        }
+        String normalized = Member.normalize(prefix);
+        int n = Math.min(limit, maxSuggestions);
+        lock.readLock().lock();
+        try {
+            return switch (field) {
+                case FIRST_NAME -> suggest(firstNames, TypeaheadField.FIRST_NAME, normalized, n);
+                case LAST_NAME -> suggest(lastNames, TypeaheadField.LAST_NAME, normalized, n);
+                case SOURCE_MEMBER_ID -> suggest(sourceMemberIds, TypeaheadField.SOURCE_MEMBER_ID, normalized, n);
+                case NAME -> {
+                    List<TypeaheadSuggestion> merged = new ArrayList<>(2 * n);
+                    merged.addAll(suggest(firstNames, TypeaheadField.FIRST_NAME, normalized, n));
+                    merged.addAll(suggest(lastNames, TypeaheadField.LAST_NAME, normalized, n));
+                    merged.sort(BEST_FIRST);
+                    yield merged.size() > n ? List.copyOf(merged.subList(0, n)) : merged;
+                }
+            };
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static List<TypeaheadSuggestion> suggest(CompletionTrie trie, TypeaheadField field, String prefix,
+            int limit) {
+        List<CompletionTrie.Completion> completions = trie.complete(prefix, limit);
+        List<TypeaheadSuggestion> suggestions = new ArrayList<>(completions.size());
+        for (CompletionTrie.Completion completion : completions) {
+            suggestions.add(new TypeaheadSuggestion(completion.display(), field, completion.count()));
+        }
+        return suggestions;
+    }
+
+    /**
+     * Add ({@code delta} 1) or remove ({@code delta} -1) an entitled member's values.
+     */
+    private void apply(Member member, int delta, boolean refresh) {
+        if (!member.isEntitled()) {
+            return;
+        }
+        apply(firstNames, member, Member::getFirstName, delta, refresh);
+        apply(lastNames, member, Member::getLastName, delta, refresh);
+        apply(sourceMemberIds, member, Member::getSourceMemberId, delta, refresh);
+    }
+
+    private static void apply(CompletionTrie trie, Member member, Function<Member, String> getter, int delta,
+            boolean refresh) {
+        String display = getter.apply(member);
+        String value = Member.normalize(display);
+        if (value == null || value.isEmpty()) {
+            return;
+        }
+        if (refresh) {
+            trie.add(value, display.trim(), delta);
+        } else {
+            trie.load(value, display.trim(), delta);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.membersearch.metrics;
+
+import com.example.membersearch.dto.SearchRequest;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.util.Locale;
+import java.util.StringJoiner;
+import java.util.function.Supplier;
+
+/**
+ * Micrometer timers for the search and update hot paths. Search timers are tagged
+ * with the filters a request uses, so tail latency can be traced to the filter
+ * combinations causing it. Percentiles and histograms are configured through the
+ * {@code management.metrics.distribution.*.membersearch} properties.
+ */
+@Component
+public class SearchMetrics {
+
+    public static final String AI_PARSE = "membersearch.ai.parse";
+    public static final String SPEC_BUILD = "membersearch.search.spec";
+    public static final String QUERY = "membersearch.search.query";
+    public static final String COUNT = "membersearch.search.count";
+    public static final String ENGINE = "membersearch.search.engine";
+    public static final String FACETS = "membersearch.search.facets";
+    public static final String TYPEAHEAD = "membersearch.typeahead";
+    public static final String SERIALIZATION = "membersearch.response.serialization";
+    public static final String UPDATE = "membersearch.member.update";
+    public static final String BULK_UPDATE = "membersearch.member.bulk-update";
+
+    /** How a search reads its rows: offset page, keyset cursor, lean projection or export stream. */
+    public enum Operation {
+        PAGE, CURSOR, LEAN, STREAM;
+
+        private final String tag = name().toLowerCase(Locale.ROOT);
+    }
+
+    private final MeterRegistry registry;
+
+    public SearchMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Time one stage of a search, tagged with the request's filters and the operation.
+     */
+    public <T> T timeSearch(String name, SearchRequest request, Operation operation, Supplier<T> action) {
+        return Timer.builder(name)
+                .tag("filters", filterTag(request))
+                .tag("operation", operation.tag)
+                .register(registry)
+                .record(action);
+    }
+
+    public <T> T time(String name, Supplier<T> action) {
+        return registry.timer(name).record(action);
+    }
+
+    public Timer serializationTimer(String type) {
+        return Timer.builder(SERIALIZATION).tag("type", type).register(registry);
+    }
+
+    /**
+     * Filters present in a request, e.g. {@code name+businessUnit}, or {@code none}.
+     * At most 16 distinct values, so the tag stays low-cardinality.
+     */
+    public static String filterTag(SearchRequest request) {
+        StringJoiner filters = new StringJoiner("+");
+        if (StringUtils.hasText(request.getFirstName()) || StringUtils.hasText(request.getMiddleName())
+                || StringUtils.hasText(request.getLastName())) {
+            filters.add("name");
+        }
+        if (request.getBusinessUnits() != null && !request.getBusinessUnits().isEmpty()) {
+            filters.add("businessUnit");
+        }
+        if (StringUtils.hasText(request.getCountry())) {
+            filters.add("country");
+        }
+        if (StringUtils.hasText(request.getSourceMemberId())) {
+            filters.add("sourceMemberId");
+        }
+        return filters.length() == 0 ? "none" : filters.toString();
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.membersearch.metrics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * JSON converter that records how long writing each response body takes, tagged with
+ * the body type. The time includes flushing to the client once the output buffer fills,
+ * so very large responses also reflect network speed.
+ */
+public class TimedJacksonHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    private final SearchMetrics searchMetrics;
+
+    public TimedJacksonHttpMessageConverter(ObjectMapper objectMapper, SearchMetrics searchMetrics) {
+        super(objectMapper);
+        this.searchMetrics = searchMetrics;
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage) throws IOException {
+        Timer.Sample sample = Timer.start();
+        try {
+            super.writeInternal(object, type, outputMessage);
+        } finally {
+            sample.stop(searchMetrics.serializationTimer(object.getClass().getSimpleName()));
+        }
+    }
+}
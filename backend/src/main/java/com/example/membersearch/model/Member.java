@@ -1,19 +1,43 @@
 package com.example.membersearch.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
-import lombok.AllArgsConstructor;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
 
+import java.util.Locale;
+
+/**
+ * A member record. The schema is managed by the Flyway migrations in
+ * {@code db/migration}; the indexes below mirror them.
+ */
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_member_first_name_norm", columnList = "first_name_norm"),
+        @Index(name = "idx_member_last_name_norm", columnList = "last_name_norm"),
+        @Index(name = "idx_member_middle_name_norm", columnList = "middle_name_norm"),
+        @Index(name = "idx_member_entitled_country_unit", columnList = "entitled, country, business_unit"),
+        @Index(name = "idx_member_business_unit", columnList = "business_unit"),
+        @Index(name = "idx_member_country", columnList = "country"),
+        @Index(name = "uk_member_source_member_id", columnList = "source_member_id", unique = true)
+})
 @Data
 @NoArgsConstructor
-@AllArgsConstructor
 public class Member {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -41,4 +65,72 @@ public class Member {
 
     // Additional fields for simulation
     private boolean entitled;
+
+    // Bumped by every update; writers that pass it back only overwrite the version they read
+    @Version
+    @EqualsAndHashCode.Exclude
+    private Long version;
+
+    // Search columns derived from the names on every write; see normalize(String)
+    @JsonIgnore
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    @Column(name = "first_name_norm", length = 100)
+    private String firstNameNormalized;
+
+    @JsonIgnore
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    @Column(name = "middle_name_norm", length = 100)
+    private String middleNameNormalized;
+
+    @JsonIgnore
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    @Column(name = "last_name_norm", length = 100)
+    private String lastNameNormalized;
+
+    public Member(Long id, String firstName, String middleName, String lastName, String businessUnit,
+            String country, String sourceMemberId, boolean entitled) {
+        this.id = id;
+        this.firstName = firstName;
+        this.middleName = middleName;
+        this.lastName = lastName;
+        this.businessUnit = businessUnit;
+        this.country = country;
+        this.sourceMemberId = sourceMemberId;
+        this.entitled = entitled;
+    }
+
+    /**
+     * Detached copy of this member, used to publish before/after snapshots of a change.
+     */
+    public Member copy() {
+        Member copy = new Member(id, firstName, middleName, lastName, businessUnit, country, sourceMemberId, entitled);
+        copy.version = version;
+        copy.normalizeNames();
+        return copy;
+    }
+
+    /**
+     * Refresh the normalized search columns from the names. Runs before every JPA insert
+     * and update; writers that bypass JPA must store {@link #normalize(String)} themselves.
+     */
+    @PrePersist
+    @PreUpdate
+    public void normalizeNames() {
+        firstNameNormalized = normalize(firstName);
+        middleNameNormalized = normalize(middleName);
+        lastNameNormalized = normalize(lastName);
+    }
+
+    /**
+     * The form names are stored and searched in: trimmed and lowercased.
+     */
+    public static String normalize(String value) {
+        return value == null ? null : value.trim().toLowerCase(Locale.ROOT);
+    }
 }
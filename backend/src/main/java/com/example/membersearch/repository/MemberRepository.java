@@ -1,36 +1,74 @@
 package com.example.membersearch.repository;
 
 import com.example.membersearch.model.Member;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.stereotype.Repository;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
 import jakarta.persistence.criteria.Predicate;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
+import com.example.membersearch.dto.NameMatch;
 import com.example.membersearch.dto.SearchRequest;
 import org.springframework.util.StringUtils;
 
 @Repository
-public interface MemberRepository extends JpaRepository<Member, Long>, JpaSpecificationExecutor<Member> {
+public interface MemberRepository
+        extends JpaRepository<Member, Long>, JpaSpecificationExecutor<Member>, MemberRepositoryCustom {
+
+    List<Member> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    /**
+     * Visit every member in id order, loading them in batches so callers never
+     * hold the whole table in memory.
+     */
+    default void forEachMember(int batchSize, Consumer<Member> action) {
+        long lastId = 0;
+        List<Member> batch;
+        do {
+            batch = findByIdGreaterThanOrderByIdAsc(lastId, Limit.of(batchSize));
+            batch.forEach(action);
+            if (!batch.isEmpty()) {
+                lastId = batch.get(batch.size() - 1).getId();
+            }
+        } while (batch.size() == batchSize);
+    }
 
     default Specification<Member> buildSpecification(SearchRequest request) {
+        return buildSpecification(request, null);
+    }
+
+    /**
+     * Build the search specification. When {@code candidateIds} is given the name
+     * filters have already been resolved by the in-memory name index and are replaced
+     * by a primary key lookup.
+     */
+    default Specification<Member> buildSpecification(SearchRequest request, Collection<Long> candidateIds) {
+        return buildSpecification(request, candidateIds, true);
+    }
+
+    /**
+     * Like {@link #buildSpecification(SearchRequest, Collection)}, optionally matching
+     * members that are not entitled too, for administrative views.
+     */
+    default Specification<Member> buildSpecification(SearchRequest request, Collection<Long> candidateIds,
+            boolean entitledOnly) {
         return (root, query, cb) -> {
             List<Predicate> predicates = new ArrayList<>();
 
-            if (StringUtils.hasText(request.getFirstName())) {
-                predicates.add(
-                        cb.like(cb.lower(root.get("firstName")), "%" + request.getFirstName().toLowerCase() + "%"));
-            }
-            if (StringUtils.hasText(request.getMiddleName())) {
-                predicates.add(
-                        cb.like(cb.lower(root.get("middleName")), "%" + request.getMiddleName().toLowerCase() + "%"));
-            }
-            if (StringUtils.hasText(request.getLastName())) {
-                predicates
-                        .add(cb.like(cb.lower(root.get("lastName")), "%" + request.getLastName().toLowerCase() + "%"));
+            if (candidateIds != null) {
+                predicates.add(root.get("id").in(candidateIds));
+            } else {
+                // Fuzzy first and last names are always resolved to ids; a lone middle name is a substring
+                boolean prefix = request.getNameMatch() == NameMatch.PREFIX;
+                addNamePredicate(predicates, root.get("firstNameNormalized"), request.getFirstName(), prefix, cb);
+                addNamePredicate(predicates, root.get("middleNameNormalized"), request.getMiddleName(), prefix, cb);
+                addNamePredicate(predicates, root.get("lastNameNormalized"), request.getLastName(), prefix, cb);
             }
             if (request.getBusinessUnits() != null && !request.getBusinessUnits().isEmpty()) {
                 predicates.add(root.get("businessUnit").in(request.getBusinessUnits()));
@@ -43,9 +81,23 @@ public interface MemberRepository extends JpaRepository<Member, Long>, JpaSpecif
             }
 
             // OPTIMIZATION: Move security check to DB
-            predicates.add(cb.equal(root.get("entitled"), true));
+            if (entitledOnly) {
+                predicates.add(cb.equal(root.get("entitled"), true));
+            }
 
             return cb.and(predicates.toArray(new Predicate[0]));
         };
     }
+
+    /**
+     * Compare a normalized name column with the normalized term, so no function is applied
+     * to the column; a prefix pattern lets the database range-scan the column's index.
+     */
+    private static void addNamePredicate(List<Predicate> predicates, Expression<String> column, String term,
+            boolean prefix, CriteriaBuilder cb) {
+        if (StringUtils.hasText(term)) {
+            String normalized = Member.normalize(term);
+            predicates.add(cb.like(column, prefix ? normalized + "%" : "%" + normalized + "%"));
+        }
+    }
 }
@@ -0,0 +1,87 @@
+package com.example.membersearch.repository;
+
+import com.example.membersearch.dto.MemberField;
+import com.example.membersearch.dto.MemberView;
+import com.example.membersearch.model.Member;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Criteria queries that the derived and specification methods of Spring Data cannot express.
+ */
+public interface MemberRepositoryCustom {
+
+    /** Receives the id and normalized names of one member. */
+    @FunctionalInterface
+    interface NameKeyConsumer {
+        void accept(long id, String firstNameNormalized, String middleNameNormalized, String lastNameNormalized);
+    }
+
+    /**
+     * Fetch up to {@code limit} matching members ordered by id, starting at {@code offset},
+     * without issuing a count query.
+     */
+    List<Member> findSlice(Specification<Member> spec, long offset, int limit);
+
+    /**
+     * Like {@link #findSlice}, but selects only {@code fields} into read-only views, so no
+     * entities are instantiated or tracked by the persistence context.
+     */
+    List<MemberView> findViews(Specification<Member> spec, Set<MemberField> fields, long offset, int limit);
+
+    /**
+     * Count matching members, stopping once {@code cap + 1} rows have been seen.
+     *
+     * @return the exact count when it is at most {@code cap}, otherwise {@code cap + 1}
+     */
+    long countUpTo(Specification<Member> spec, long cap);
+
+    /**
+     * Count matching members per value of {@code attribute} in a single grouped query.
+     * Members without a value are not counted.
+     */
+    Map<String, Long> countByValue(Specification<Member> spec, String attribute);
+
+    /**
+     * Pass every matching member, ordered by id, to {@code action} through a forward-only
+     * cursor that fetches {@code fetchSize} rows at a time. Members are detached once
+     * handled, so memory stays flat however many rows match. Must run inside a transaction.
+     *
+     * @return the number of members streamed
+     */
+    long streamAll(Specification<Member> spec, int fetchSize, Consumer<Member> action);
+
+    /**
+     * Pass the id and normalized names of every matching member, in id order, to
+     * {@code action}. Rows are read by keyset in queries of {@code batchSize}, selecting
+     * only those columns, so neither entities nor the whole result are held in memory.
+     *
+     * @return the number of members visited
+     */
+    long forEachNameKey(Specification<Member> spec, int batchSize, NameKeyConsumer action);
+
+    /**
+     * Overwrite the editable fields of a member and bump its version, returning the row as
+     * it was. The row is read with {@code select ... for update} and written in the same
+     * transaction, joining the caller's if any. When the member carries a version, the row
+     * is only written while it is still at that version. Entitlement is left unchanged.
+     *
+     * @return the member before the update, or empty when no row has its id, or its id
+     *         and version
+     */
+    Optional<Member> updateReturningPrevious(Member member);
+
+    /**
+     * Write the editable fields of every member as one JDBC batch, each row only while it is
+     * still at the member's version, bumping the versions written. Joins the caller's
+     * transaction, if any.
+     *
+     * @return per member, whether its row was written
+     */
+    boolean[] updateAllIfVersion(List<Member> members);
+}
@@ -0,0 +1,264 @@
+package com.example.membersearch.repository;
+
+import com.example.membersearch.dto.MemberField;
+import com.example.membersearch.dto.MemberView;
+import com.example.membersearch.model.Member;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Criteria-based implementation of {@link MemberRepositoryCustom}, picked up by
+ * Spring Data through the {@code Impl} naming convention. Updates are plain, portable
+ * SQL rather than a select followed by a Hibernate flush.
+ */
+public class MemberRepositoryImpl implements MemberRepositoryCustom {
+
+    private static final String UPDATE_SET = "update member set first_name = ?, middle_name = ?, last_name = ?, "
+            + "business_unit = ?, country = ?, source_member_id = ?, first_name_norm = ?, middle_name_norm = ?, "
+            + "last_name_norm = ?, version = version + 1 where id = ?";
+
+    static final String UPDATE_IF_VERSION_SQL = UPDATE_SET + " and version = ?";
+
+    // Locks the row, so it stays as read until the update in the same transaction
+    static final String SELECT_FOR_UPDATE_SQL = "select id, first_name, middle_name, last_name, business_unit, "
+            + "country, source_member_id, entitled, version from member where id = ? for update";
+
+    private static final RowMapper<Member> PREVIOUS_MAPPER = (rs, rowNum) -> {
+        Member member = new Member(rs.getLong("id"), rs.getString("first_name"), rs.getString("middle_name"),
+                rs.getString("last_name"), rs.getString("business_unit"), rs.getString("country"),
+                rs.getString("source_member_id"), rs.getBoolean("entitled"));
+        member.setVersion(rs.getLong("version"));
+        member.normalizeNames();
+        return member;
+    };
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Override
+    public List<Member> findSlice(Specification<Member> spec, long offset, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Member> query = cb.createQuery(Member.class);
+        Root<Member> root = query.from(Member.class);
+        applySpecification(spec, root, query, cb);
+        query.orderBy(cb.asc(root.get("id")));
+
+        return entityManager.createQuery(query)
+                .setFirstResult(Math.toIntExact(offset))
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public List<MemberView> findViews(Specification<Member> spec, Set<MemberField> fields, long offset, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Member> root = query.from(Member.class);
+        applySpecification(spec, root, query, cb);
+        List<Selection<?>> selections = new ArrayList<>(fields.size());
+        for (MemberField field : fields) {
+            selections.add(root.get(field.getAttribute()).alias(field.getAttribute()));
+        }
+        query.multiselect(selections);
+        query.orderBy(cb.asc(root.get("id")));
+
+        List<Tuple> rows = entityManager.createQuery(query)
+                .setFirstResult(Math.toIntExact(offset))
+                .setMaxResults(limit)
+                .getResultList();
+        List<MemberView> views = new ArrayList<>(rows.size());
+        for (Tuple row : rows) {
+            views.add(new MemberView(
+                    value(row, fields, MemberField.ID, Long.class),
+                    value(row, fields, MemberField.FIRST_NAME, String.class),
+                    value(row, fields, MemberField.MIDDLE_NAME, String.class),
+                    value(row, fields, MemberField.LAST_NAME, String.class),
+                    value(row, fields, MemberField.BUSINESS_UNIT, String.class),
+                    value(row, fields, MemberField.COUNTRY, String.class),
+                    value(row, fields, MemberField.SOURCE_MEMBER_ID, String.class),
+                    value(row, fields, MemberField.ENTITLED, Boolean.class)));
+        }
+        return views;
+    }
+
+    @Override
+    public long countUpTo(Specification<Member> spec, long cap) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Member> root = query.from(Member.class);
+        applySpecification(spec, root, query, cb);
+        query.select(root.get("id"));
+
+        // Only ids are fetched and the database stops scanning once the limit is reached
+        return entityManager.createQuery(query)
+                .setMaxResults(Math.toIntExact(cap + 1))
+                .getResultList()
+                .size();
+    }
+
+    @Override
+    public Map<String, Long> countByValue(Specification<Member> spec, String attribute) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Member> root = query.from(Member.class);
+        applySpecification(spec, root, query, cb);
+        Path<Object> value = root.get(attribute);
+        query.multiselect(value, cb.count(root));
+        query.groupBy(value);
+
+        Map<String, Long> counts = new HashMap<>();
+        for (Tuple row : entityManager.createQuery(query).getResultList()) {
+            if (row.get(0) != null) {
+                counts.put(String.valueOf(row.get(0)), row.get(1, Long.class));
+            }
+        }
+        return counts;
+    }
+
+    @Override
+    public long streamAll(Specification<Member> spec, int fetchSize, Consumer<Member> action) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Member> query = cb.createQuery(Member.class);
+        Root<Member> root = query.from(Member.class);
+        applySpecification(spec, root, query, cb);
+        query.orderBy(cb.asc(root.get("id")));
+
+        long count = 0;
+        // Hibernate backs the stream with forward-only ScrollableResults
+        try (Stream<Member> members = entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream()) {
+            for (Member member : (Iterable<Member>) members::iterator) {
+                action.accept(member);
+                entityManager.detach(member);
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public long forEachNameKey(Specification<Member> spec, int batchSize, NameKeyConsumer action) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        long count = 0;
+        long lastId = 0;
+        List<Tuple> rows;
+        do {
+            CriteriaQuery<Tuple> query = cb.createTupleQuery();
+            Root<Member> root = query.from(Member.class);
+            Predicate after = cb.greaterThan(root.get("id"), lastId);
+            Predicate predicate = spec == null ? null : spec.toPredicate(root, query, cb);
+            query.where(predicate == null ? after : cb.and(predicate, after));
+            query.multiselect(root.get("id"), root.get("firstNameNormalized"), root.get("middleNameNormalized"),
+                    root.get("lastNameNormalized"));
+            query.orderBy(cb.asc(root.get("id")));
+
+            rows = entityManager.createQuery(query).setMaxResults(batchSize).getResultList();
+            for (Tuple row : rows) {
+                lastId = row.get(0, Long.class);
+                action.accept(lastId, row.get(1, String.class), row.get(2, String.class), row.get(3, String.class));
+            }
+            count += rows.size();
+        } while (rows.size() == batchSize);
+        return count;
+    }
+
+    @Override
+    public Optional<Member> updateReturningPrevious(Member member) {
+        return transactionTemplate.execute(status -> {
+            Optional<Member> previous = jdbcTemplate.query(SELECT_FOR_UPDATE_SQL, PREVIOUS_MAPPER, member.getId())
+                    .stream().findFirst();
+            if (previous.isEmpty()
+                    || (member.getVersion() != null && !member.getVersion().equals(previous.get().getVersion()))) {
+                return Optional.<Member>empty();
+            }
+            jdbcTemplate.update(UPDATE_IF_VERSION_SQL, ps -> {
+                setUpdateValues(ps, member);
+                ps.setLong(11, previous.get().getVersion());
+            });
+            return previous;
+        });
+    }
+
+    @Override
+    public boolean[] updateAllIfVersion(List<Member> members) {
+        int[][] counts = jdbcTemplate.batchUpdate(UPDATE_IF_VERSION_SQL, members, members.size(), (ps, member) -> {
+            setUpdateValues(ps, member);
+            ps.setLong(11, member.getVersion());
+        });
+        boolean[] written = new boolean[members.size()];
+        int i = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                // Drivers that cannot report per-statement counts only say the batch succeeded
+                written[i++] = count > 0 || count == Statement.SUCCESS_NO_INFO;
+            }
+        }
+        return written;
+    }
+
+    /**
+     * Bind the editable fields, the normalized names and the id, parameters 1 to 10.
+     */
+    private static void setUpdateValues(PreparedStatement ps, Member member) throws SQLException {
+        // Bypassing JPA skips the entity callback that fills the search columns
+        member.normalizeNames();
+        ps.setString(1, member.getFirstName());
+        ps.setString(2, member.getMiddleName());
+        ps.setString(3, member.getLastName());
+        ps.setString(4, member.getBusinessUnit());
+        ps.setString(5, member.getCountry());
+        ps.setString(6, member.getSourceMemberId());
+        ps.setString(7, member.getFirstNameNormalized());
+        ps.setString(8, member.getMiddleNameNormalized());
+        ps.setString(9, member.getLastNameNormalized());
+        ps.setLong(10, member.getId());
+    }
+
+    private static <T> T value(Tuple row, Set<MemberField> fields, MemberField field, Class<T> type) {
+        return fields.contains(field) ? row.get(field.getAttribute(), type) : null;
+    }
+
+    private static void applySpecification(Specification<Member> spec, Root<Member> root,
+            CriteriaQuery<?> query, CriteriaBuilder cb) {
+        if (spec == null) {
+            return;
+        }
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+    }
+}
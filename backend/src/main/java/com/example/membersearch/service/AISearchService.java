@@ -1,47 +1,94 @@
 package com.example.membersearch.service;
 
+import com.example.membersearch.dto.CacheStatistics;
+import com.example.membersearch.dto.ResultOrder;
 import com.example.membersearch.dto.SearchRequest;
+import com.example.membersearch.metrics.SearchMetrics;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ResourceLoader;
 import org.springframework.stereotype.Service;
 
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 
 @Service
 public class AISearchService {
 
-    private static final List<String> KNOWN_BUSINESS_UNITS = Arrays.asList("IT", "HR", "Admin", "Sales", "Finance",
-            "Legal");
-    private static final List<String> KNOWN_COUNTRIES = Arrays.asList("India", "USA", "US", "UK", "Canada", "Germany",
-            "Japan");
+    private static final Logger logger = LoggerFactory.getLogger(AISearchService.class);
 
-    public SearchRequest parseQuery(String query) {
-        SearchRequest request = new SearchRequest();
-        String lowerQuery = query.toLowerCase();
-
-        // 1. Extract Business Units
-        List<String> foundBus = new ArrayList<>();
-        for (String bu : KNOWN_BUSINESS_UNITS) {
-            // Check for exact word matches to avoid partial matches
-            if (containsWord(lowerQuery, bu.toLowerCase())) {
-                foundBus.add(bu);
-            }
+    @Autowired
+    private ResourceLoader resourceLoader;
+
+    @Autowired
+    private SearchMetrics searchMetrics;
+
+    @Autowired
+    private ParsedQueryCache parsedQueryCache;
+
+    @Value("${membersearch.ai.dictionary-location:classpath:dictionaries/}")
+    private String dictionaryLocation;
+
+    private volatile QueryDictionary dictionary;
+
+    /**
+     * (Re)load the business unit, country and stop word dictionaries and swap them in
+     * atomically; queries in flight keep using the previous dictionaries.
+     */
+    @PostConstruct
+    public QueryDictionary reloadDictionaries() {
+        try {
+            QueryDictionary loaded = QueryDictionary.load(resourceLoader, dictionaryLocation);
+            dictionary = loaded;
+            // Entries parsed with the old dictionaries no longer match them anyway; free them
+            parsedQueryCache.clear();
+            logger.info("Loaded query dictionaries from {}: {} business units, {} countries, {} stop words",
+                    dictionaryLocation, loaded.getBusinessUnits().size(), loaded.getCountries().size(),
+                    loaded.getStopWordCount());
+            return loaded;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not load query dictionaries from " + dictionaryLocation, e);
         }
-        if (!foundBus.isEmpty()) {
-            request.setBusinessUnits(foundBus);
+    }
+
+    public QueryDictionary getDictionary() {
+        return dictionary;
+    }
+
+    /**
+     * Parse a natural-language query into a search request, served from the
+     * {@link ParsedQueryCache} when the same query was parsed with the current
+     * dictionaries before. The caller owns the returned request.
+     */
+    public SearchRequest parseQuery(String query) {
+        QueryDictionary dict = dictionary;
+        String normalized = ParsedQueryCache.normalize(query);
+        SearchRequest cached = parsedQueryCache.get(normalized, dict);
+        if (cached != null) {
+            return cached;
         }
+        SearchRequest parsed = searchMetrics.time(SearchMetrics.AI_PARSE, () -> parse(normalized, dict));
+        parsedQueryCache.put(normalized, dict, parsed);
+        return parsed;
+    }
 
-        // 2. Extract Country
-        // Simple heuristic: First found country wins
-        for (String country : KNOWN_COUNTRIES) {
-            if (containsWord(lowerQuery, country.toLowerCase())) {
-                // Normalize US -> USA if needed, or just use detected string
-                request.setCountry(country);
-                break;
-            }
+    public CacheStatistics parseCacheStatistics() {
+        return parsedQueryCache.statistics();
+    }
+
+    private SearchRequest parse(String query, QueryDictionary dict) {
+        SearchRequest request = new SearchRequest();
+
+        // 1 & 2. Extract Business Units and Country in a single pass over the query
+        QueryDictionary.Match match = dict.match(query);
+        if (!match.businessUnits().isEmpty()) {
+            request.setBusinessUnits(match.businessUnits());
         }
+        // Simple heuristic: the country listed first in the dictionary wins
+        request.setCountry(match.country());
 
         // 3. Extract Potential Names (First Name)
         // Heuristic: Look for capitalized words that are NOT BUs or Countries or common
@@ -49,43 +96,27 @@ public class AISearchService {
         // This is a naive implementation but works for "John in IT".
         String[] words = query.split("\\s+");
         for (String word : words) {
-            if (Character.isUpperCase(word.charAt(0)) && word.length() > 2) {
-                // Filter out known BUs and Countries
-                if (!isKnownTerm(word)) {
-                    // Check if it's likely a name (not a stopword like 'Find', 'Show', 'All')
-                    if (!isCommonStopWord(word)) {
-                        // Assume first found extraction is the first name
-                        if (request.getFirstName() == null) {
-                            request.setFirstName(word);
-                        } else if (request.getLastName() == null) {
-                            // If we already have a first name, assume next is last name
-                            request.setLastName(word);
-                        }
+            if (word.length() > 2 && Character.isUpperCase(word.charAt(0))) {
+                // Filter out known BUs and Countries, and words like 'Find', 'Show', 'All'
+                if (!dict.isKnownTerm(word) && !dict.isStopWord(word)) {
+                    // Assume first found extraction is the first name
+                    if (request.getFirstName() == null) {
+                        request.setFirstName(word);
+                    } else if (request.getLastName() == null) {
+                        // If we already have a first name, assume next is last name
+                        request.setLastName(word);
                     }
                 }
             }
         }
 
+        // Best name matches first, so "John" ranks above "Johnson"
+        request.setOrder(ResultOrder.RELEVANCE);
+
         // Default pagination
         request.setPage(0);
         request.setSize(10);
 
         return request;
     }
-
-    private boolean containsWord(String text, String word) {
-        String regex = ".*\\b" + Pattern.quote(word) + "\\b.*";
-        return text.matches(regex);
-    }
-
-    private boolean isKnownTerm(String word) {
-        return KNOWN_BUSINESS_UNITS.stream().anyMatch(bu -> bu.equalsIgnoreCase(word)) ||
-                KNOWN_COUNTRIES.stream().anyMatch(c -> c.equalsIgnoreCase(word));
-    }
-
-    private boolean isCommonStopWord(String word) {
-        List<String> stopWords = Arrays.asList("Find", "Search", "Show", "Get", "List", "All", "Members", "People",
-                "Employees", "Who", "Are", "In", "The", "Living", "Working");
-        return stopWords.stream().anyMatch(s -> s.equalsIgnoreCase(word));
-    }
 }
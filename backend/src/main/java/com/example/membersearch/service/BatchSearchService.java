@@ -0,0 +1,154 @@
+package com.example.membersearch.service;
+
+import com.example.membersearch.dto.BatchSearchItem;
+import com.example.membersearch.dto.BatchSearchRequest;
+import com.example.membersearch.dto.BatchSearchResponse;
+import com.example.membersearch.dto.BatchSearchResult;
+import com.example.membersearch.dto.SearchRequest;
+import com.example.membersearch.exception.InvalidSearchRequestException;
+import com.example.membersearch.exception.ServiceBusyException;
+import com.example.membersearch.model.Member;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the searches of a batch request concurrently on the shared batch executor.
+ * Each item succeeds or fails on its own; results come back in item order with
+ * their individual timings.
+ */
+@Service
+public class BatchSearchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BatchSearchService.class);
+
+    @Autowired
+    private MemberService memberService;
+
+    @Autowired
+    private AISearchService aiSearchService;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    @Qualifier("batchSearchExecutor")
+    private ExecutorService batchSearchExecutor;
+
+    @Value("${membersearch.batch.max-items:50}")
+    private int maxItems = 50;
+
+    @Value("${membersearch.batch.timeout:10s}")
+    private Duration timeout = Duration.ofSeconds(10);
+
+    public BatchSearchResponse search(BatchSearchRequest request) {
+        List<BatchSearchItem> items = request.getItems();
+        if (items.size() > maxItems) {
+            throw new InvalidSearchRequestException("A batch may hold at most " + maxItems + " searches");
+        }
+        logger.info("Batch search started: {} items", items.size());
+        long start = System.nanoTime();
+
+        List<Callable<BatchSearchResult>> tasks = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            int index = i;
+            tasks.add(() -> searchItem(index, items.get(index)));
+        }
+        List<Future<BatchSearchResult>> futures;
+        try {
+            // Searches still running at the deadline are cancelled and reported as timed out
+            futures = batchSearchExecutor.invokeAll(tasks, timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Batch search interrupted", e);
+        }
+
+        List<BatchSearchResult> results = new ArrayList<>(futures.size());
+        for (int i = 0; i < futures.size(); i++) {
+            results.add(resultOf(i, futures.get(i)));
+        }
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        logger.info("Batch search completed: {} items in {} ms", items.size(), elapsedMs);
+        return new BatchSearchResponse(results, elapsedMs);
+    }
+
+    private BatchSearchResult searchItem(int index, BatchSearchItem item) {
+        long start = System.nanoTime();
+        try {
+            SearchRequest request = toSearchRequest(item);
+            List<String> violations = validate(request);
+            if (!violations.isEmpty()) {
+                return BatchSearchResult.failure(index, HttpStatus.BAD_REQUEST.value(), "Invalid request parameters",
+                        violations, elapsedMicros(start));
+            }
+            Page<Member> page = memberService.searchMembers(request);
+            return BatchSearchResult.success(index, page, elapsedMicros(start));
+        } catch (InvalidSearchRequestException e) {
+            return BatchSearchResult.failure(index, HttpStatus.BAD_REQUEST.value(), e.getMessage(), null,
+                    elapsedMicros(start));
+        } catch (ServiceBusyException e) {
+            return BatchSearchResult.failure(index, HttpStatus.SERVICE_UNAVAILABLE.value(), e.getMessage(), null,
+                    elapsedMicros(start));
+        } catch (RuntimeException e) {
+            logger.error("Batch search item {} failed", index, e);
+            return BatchSearchResult.failure(index, HttpStatus.INTERNAL_SERVER_ERROR.value(),
+                    "An unexpected error occurred. Please try again later.", null, elapsedMicros(start));
+        }
+    }
+
+    private SearchRequest toSearchRequest(BatchSearchItem item) {
+        if (item == null || (item.getSearch() == null) == !StringUtils.hasText(item.getQuery())) {
+            throw new InvalidSearchRequestException("Each batch item needs exactly one of 'search' or 'query'");
+        }
+        return item.getSearch() != null ? item.getSearch() : aiSearchService.parseQuery(item.getQuery());
+    }
+
+    private List<String> validate(SearchRequest request) {
+        List<String> errors = new ArrayList<>();
+        for (ConstraintViolation<SearchRequest> violation : validator.validate(request)) {
+            errors.add(violation.getPropertyPath() + ": " + violation.getMessage());
+        }
+        errors.sort(null);
+        return errors;
+    }
+
+    private BatchSearchResult resultOf(int index, Future<BatchSearchResult> future) {
+        try {
+            return future.get();
+        } catch (CancellationException e) {
+            logger.warn("Batch search item {} timed out after {}", index, timeout);
+            return BatchSearchResult.failure(index, HttpStatus.GATEWAY_TIMEOUT.value(),
+                    "Search did not complete within " + timeout.toMillis() + " ms", null, timeout.toNanos() / 1000);
+        } catch (ExecutionException e) {
+            // searchItem handles its own failures, so only errors such as OutOfMemoryError get here
+            logger.error("Batch search item {} failed", index, e.getCause());
+            return BatchSearchResult.failure(index, HttpStatus.INTERNAL_SERVER_ERROR.value(),
+                    "An unexpected error occurred. Please try again later.", null, 0);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Batch search interrupted", e);
+        }
+    }
+
+    private static long elapsedMicros(long start) {
+        return TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start);
+    }
+}
@@ -0,0 +1,270 @@
+package com.example.membersearch.service;
+
+import com.example.membersearch.dto.ChangeFeedPage;
+import com.example.membersearch.dto.MemberChange;
+import com.example.membersearch.exception.InvalidSearchRequestException;
+import com.example.membersearch.exception.ServiceBusyException;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Serves the member change feed to clients keeping local copies of members, either as
+ * long polls that return as soon as there are changes after a sequence number, or as a
+ * server-sent event stream whose event ids are {@code epoch:sequence}, so a reconnecting
+ * {@code EventSource} resumes where it left off. A position from another epoch, i.e. an
+ * earlier run of the application, always gets a resync. Waiting clients hold no request
+ * thread, and each stream is written on its own sender task, so a slow client only
+ * delays itself; one stuck on a batch longer than the configured lag is disconnected
+ * and resumes from its last event id when it reconnects.
+ */
+@Service
+public class ChangeFeedService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChangeFeedService.class);
+
+    static final int MAX_LIMIT = 1000;
+
+    // Changes read per send while a stream catches up
+    private static final int STREAM_BATCH_SIZE = 500;
+
+    @Autowired
+    private MemberChangeLog memberChangeLog;
+
+    @Value("${membersearch.feed.max-wait:30s}")
+    private Duration maxWait = Duration.ofSeconds(30);
+
+    @Value("${membersearch.feed.stream-timeout:30m}")
+    private Duration streamTimeout = Duration.ofMinutes(30);
+
+    @Value("${membersearch.feed.max-subscribers:100}")
+    private int maxSubscribers = 100;
+
+    @Value("${membersearch.feed.max-send-lag:10s}")
+    private Duration maxSendLag = Duration.ofSeconds(10);
+
+    private final AtomicInteger subscribers = new AtomicInteger();
+
+    // Runs stream sends; a stream has at most one send task running and one waiting
+    private Executor sender = Executors.newCachedThreadPool(new CustomizableThreadFactory("change-feed-send-"));
+
+    /**
+     * Changes after {@code after} of {@code epoch}, waiting up to {@code waitSeconds}
+     * (capped by the configured maximum) for the first one. Without {@code after} the poll
+     * starts at the current sequence, so it only returns changes made from now on.
+     */
+    public DeferredResult<ChangeFeedPage> poll(String epoch, Long after, int limit, int waitSeconds) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new InvalidSearchRequestException("Change feed limit must be between 1 and " + MAX_LIMIT);
+        }
+        Position from = start(epoch, after);
+        long waitMs = Math.min(Math.max(0, waitSeconds) * 1000L, maxWait.toMillis());
+        DeferredResult<ChangeFeedPage> result = new DeferredResult<>(waitMs > 0 ? waitMs : null,
+                () -> read(from, limit));
+        ChangeFeedPage page = read(from, limit);
+        if (!page.changes().isEmpty() || page.resyncRequired() || waitMs == 0) {
+            result.setResult(page);
+            return result;
+        }
+
+        acquireSubscriber();
+        Runnable unsubscribe = memberChangeLog.subscribe(() -> {
+            ChangeFeedPage available = read(from, limit);
+            if (!available.changes().isEmpty() || available.resyncRequired()) {
+                result.setResult(available);
+            }
+        });
+        result.onCompletion(() -> {
+            unsubscribe.run();
+            subscribers.decrementAndGet();
+        });
+        // A change may have arrived between the first read and the subscription
+        ChangeFeedPage missed = read(from, limit);
+        if (!missed.changes().isEmpty() || missed.resyncRequired()) {
+            result.setResult(missed);
+        }
+        return result;
+    }
+
+    /**
+     * Stream every change after {@code after} of {@code epoch}, then each new change as it
+     * is written. Events are named {@code change}; when changes were missed a
+     * {@code resync} event carries the epoch and sequence the stream continues from.
+     */
+    public SseEmitter stream(String epoch, Long after) {
+        Position from = start(epoch, after);
+        acquireSubscriber();
+        SseEmitter emitter = new SseEmitter(streamTimeout.toMillis());
+        Subscription subscription = new Subscription(emitter, from);
+        subscription.unsubscribe = memberChangeLog.subscribe(subscription::signal);
+        emitter.onCompletion(subscription::release);
+        emitter.onTimeout(subscription::release);
+        emitter.onError(error -> subscription.release());
+        // Send the backlog; later changes are signalled by the dispatch thread
+        subscription.signal();
+        return emitter;
+    }
+
+    /**
+     * Resume a stream after the id of the last event received, {@code epoch:sequence}.
+     */
+    public SseEmitter resume(String lastEventId) {
+        int separator = lastEventId.lastIndexOf(':');
+        try {
+            return stream(separator < 0 ? null : lastEventId.substring(0, separator),
+                    Long.parseLong(lastEventId.substring(separator + 1)));
+        } catch (NumberFormatException e) {
+            throw new InvalidSearchRequestException("Invalid change feed event id: " + lastEventId);
+        }
+    }
+
+    static String eventId(String epoch, long sequence) {
+        return epoch + ":" + sequence;
+    }
+
+    private Position start(String epoch, Long after) {
+        if (after == null) {
+            return new Position(memberChangeLog.getEpoch(), memberChangeLog.getLastSequence());
+        }
+        if (after < 0) {
+            throw new InvalidSearchRequestException("Change feed sequence must not be negative");
+        }
+        return new Position(epoch, after);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (sender instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+    }
+
+    private ChangeFeedPage read(Position from, int limit) {
+        return memberChangeLog.read(from.epoch(), from.sequence(), limit);
+    }
+
+    private void acquireSubscriber() {
+        if (subscribers.incrementAndGet() > maxSubscribers) {
+            subscribers.decrementAndGet();
+            throw new ServiceBusyException("Too many change feed subscribers, please retry");
+        }
+    }
+
+    /**
+     * A sequence number with the epoch it was read in.
+     */
+    private record Position(String epoch, long sequence) {
+    }
+
+    /**
+     * One stream's position in the log. The dispatch thread only signals it; sends run as
+     * tasks on the sender and are serialized, so events go out in order.
+     */
+    private final class Subscription {
+        private final SseEmitter emitter;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        // When the batch being sent was started, 0 while caught up
+        private volatile long sendingSince;
+        private Position cursor;
+        private volatile Runnable unsubscribe;
+
+        private Subscription(SseEmitter emitter, Position cursor) {
+            this.emitter = emitter;
+            this.cursor = cursor;
+        }
+
+        /**
+         * Schedule a send of the changes after the cursor. Never blocks, so it is safe on
+         * the dispatch thread.
+         */
+        private void signal() {
+            long since = sendingSince;
+            if (since != 0 && System.nanoTime() - since > maxSendLag.toNanos()) {
+                disconnect();
+                return;
+            }
+            if (closed.get() || !scheduled.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                sender.execute(this::pump);
+            } catch (RejectedExecutionException e) {
+                scheduled.set(false);
+            }
+        }
+
+        private synchronized void pump() {
+            // Cleared first, so changes appended while sending schedule another pass
+            scheduled.set(false);
+            try {
+                while (!closed.get()) {
+                    ChangeFeedPage page = read(cursor, STREAM_BATCH_SIZE);
+                    cursor = new Position(page.epoch(), page.lastSequence());
+                    if (page.changes().isEmpty() && !page.resyncRequired()) {
+                        return;
+                    }
+                    sendingSince = System.nanoTime();
+                    if (page.resyncRequired()) {
+                        emitter.send(SseEmitter.event().id(eventId(page.epoch(), page.lastSequence())).name("resync")
+                                .data(Map.of("epoch", page.epoch(), "lastSequence", page.lastSequence())));
+                        continue;
+                    }
+                    for (MemberChange change : page.changes()) {
+                        emitter.send(SseEmitter.event().id(eventId(page.epoch(), change.sequence())).name("change")
+                                .data(change));
+                    }
+                }
+            } catch (IOException | IllegalStateException e) {
+                // The client went away; the emitter's callbacks release the subscription
+                logger.debug("Change feed stream closed: {}", e.getMessage());
+                emitter.completeWithError(e);
+            } finally {
+                sendingSince = 0;
+            }
+        }
+
+        /**
+         * Drop a stream stuck behind a slow client. Its slot is released at once; the
+         * emitter is completed on the sender, since that waits for the stuck send.
+         */
+        private void disconnect() {
+            if (closed.get()) {
+                return;
+            }
+            logger.info("Disconnecting change feed stream that has been sending one batch for over {}", maxSendLag);
+            release();
+            try {
+                sender.execute(emitter::complete);
+            } catch (RejectedExecutionException e) {
+                logger.debug("Change feed sender stopped, leaving the stream to time out");
+            }
+        }
+
+        /**
+         * Close the subscription and free its slot, once however often it is called.
+         */
+        private void release() {
+            if (closed.compareAndSet(false, true)) {
+                unsubscribe.run();
+                subscribers.decrementAndGet();
+            }
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.membersearch.service;
+
+import com.example.membersearch.exception.ServiceBusyException;
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Bounds how many threads use the database at once to the size of the connection
+ * pool. With virtual threads every request gets its own thread, so without this
+ * thousands of them would pile up inside Hikari and fail with connection timeouts;
+ * here they wait in a fair queue for a short while and are then turned away with
+ * {@link ServiceBusyException}.
+ */
+@Component
+public class ConnectionPoolLimiter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConnectionPoolLimiter.class);
+
+    private final boolean enabled;
+    private final int permits;
+    private final int maxQueued;
+    private final long maxWaitNanos;
+    private final Semaphore semaphore;
+
+    public ConnectionPoolLimiter(@Value("${membersearch.db.limiter.enabled:true}") boolean enabled,
+            @Value("${membersearch.db.limiter.permits:0}") int permits,
+            @Value("${membersearch.db.limiter.max-queued:1000}") int maxQueued,
+            @Value("${membersearch.db.limiter.max-wait:2s}") Duration maxWait,
+            DataSource dataSource) {
+        this.enabled = enabled;
+        this.permits = permits > 0 ? permits : poolSize(dataSource);
+        this.maxQueued = maxQueued;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.semaphore = new Semaphore(this.permits, true);
+        logger.info("Database concurrency limiter {}: {} permits, at most {} queued",
+                enabled ? "enabled" : "disabled", this.permits, maxQueued);
+    }
+
+    /**
+     * Run {@code action}, which uses the database, once a permit is available.
+     *
+     * @throws ServiceBusyException when too many callers are already waiting or no
+     *                              permit frees up within the configured wait
+     */
+    public <T> T call(Supplier<T> action) {
+        if (!enabled) {
+            return action.get();
+        }
+        acquire();
+        try {
+            return action.get();
+        } finally {
+            semaphore.release();
+        }
+    }
+
+    public void run(Runnable action) {
+        call(() -> {
+            action.run();
+            return null;
+        });
+    }
+
+    public int getPermits() {
+        return permits;
+    }
+
+    public int getAvailablePermits() {
+        return semaphore.availablePermits();
+    }
+
+    public int getQueueLength() {
+        return semaphore.getQueueLength();
+    }
+
+    private void acquire() {
+        if (semaphore.getQueueLength() >= maxQueued) {
+            throw new ServiceBusyException("Too many requests waiting for the database, please retry");
+        }
+        try {
+            if (!semaphore.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS)) {
+                throw new ServiceBusyException("Timed out waiting for the database, please retry");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceBusyException("Interrupted while waiting for the database");
+        }
+    }
+
+    private static int poolSize(DataSource dataSource) {
+        try {
+            if (dataSource != null && dataSource.isWrapperFor(HikariDataSource.class)) {
+                return dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize();
+            }
+        } catch (SQLException e) {
+            logger.warn("Could not determine the connection pool size: {}", e.getMessage());
+        }
+        return 10;
+    }
+}
@@ -0,0 +1,239 @@
+package com.example.membersearch.service;
+
+import com.example.membersearch.dto.BulkUpdateRequest;
+import com.example.membersearch.dto.BulkUpdateResponse;
+import com.example.membersearch.dto.BulkUpdateResult;
+import com.example.membersearch.dto.MemberPatch;
+import com.example.membersearch.event.MemberChangedEvent;
+import com.example.membersearch.exception.InvalidUpdateRequestException;
+import com.example.membersearch.metrics.SearchMetrics;
+import com.example.membersearch.model.Member;
+import com.example.membersearch.repository.MemberRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies member patches in JDBC batches. Each batch reads the members it touches in
+ * one query, applies and validates the patches in memory, then writes them with a single
+ * batched conditional update in its own transaction. Every row is written only while it
+ * is still at the version read, or the version the patch gives, so a member changed in
+ * the meantime is reported as a conflict instead of being overwritten. A batch rolled
+ * back by a constraint violation is retried row by row, so only the offending patches
+ * fail.
+ */
+@Service
+public class MemberBulkUpdateService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MemberBulkUpdateService.class);
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private SearchResultCache searchResultCache;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ConnectionPoolLimiter connectionPoolLimiter;
+
+    @Autowired
+    private SearchMetrics searchMetrics;
+
+    @Value("${membersearch.update.batch-size:1000}")
+    private int batchSize = 1000;
+
+    @Value("${membersearch.update.max-items:10000}")
+    private int maxItems = 10000;
+
+    public BulkUpdateResponse update(BulkUpdateRequest request) {
+        List<MemberPatch> items = request.getItems();
+        if (items.size() > maxItems) {
+            throw new InvalidUpdateRequestException("A bulk update may hold at most " + maxItems + " patches");
+        }
+        return searchMetrics.time(SearchMetrics.BULK_UPDATE, () -> apply(items));
+    }
+
+    private BulkUpdateResponse apply(List<MemberPatch> items) {
+        logger.info("Bulk update started: {} patches", items.size());
+        long start = System.nanoTime();
+
+        BulkUpdateResult[] results = new BulkUpdateResult[items.size()];
+        Set<Long> seen = new HashSet<>();
+        List<Integer> batch = new ArrayList<>(Math.min(batchSize, items.size()));
+        for (int i = 0; i < items.size(); i++) {
+            Long id = items.get(i).getId();
+            if (!seen.add(id)) {
+                // A second patch would race the first for the same version
+                results[i] = BulkUpdateResult.failure(i, id, HttpStatus.BAD_REQUEST.value(),
+                        "Member " + id + " is patched by an earlier item of this request", null);
+                continue;
+            }
+            batch.add(i);
+            if (batch.size() == batchSize) {
+                flush(items, batch, results);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            flush(items, batch, results);
+        }
+
+        long updated = Arrays.stream(results).filter(result -> result.getStatus() == HttpStatus.OK.value()).count();
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        logger.info("Bulk update finished: {} updated, {} failed in {} ms", updated, items.size() - updated,
+                elapsedMs);
+        return new BulkUpdateResponse(Arrays.asList(results), updated, items.size() - updated, elapsedMs);
+    }
+
+    /**
+     * Apply the patches at {@code indexes}, which name distinct members.
+     */
+    private void flush(List<MemberPatch> items, List<Integer> indexes, BulkUpdateResult[] results) {
+        List<Long> ids = new ArrayList<>(indexes.size());
+        for (int index : indexes) {
+            ids.add(items.get(index).getId());
+        }
+        Map<Long, Member> current = new HashMap<>();
+        for (Member member : connectionPoolLimiter.call(() -> memberRepository.findAllById(ids))) {
+            current.put(member.getId(), member);
+        }
+
+        List<Integer> pending = new ArrayList<>(indexes.size());
+        List<Member> previous = new ArrayList<>(indexes.size());
+        List<Member> patched = new ArrayList<>(indexes.size());
+        for (int index : indexes) {
+            MemberPatch patch = items.get(index);
+            Member member = current.get(patch.getId());
+            if (member == null) {
+                results[index] = BulkUpdateResult.failure(index, patch.getId(), HttpStatus.NOT_FOUND.value(),
+                        "Member not found with id: " + patch.getId(), null);
+                continue;
+            }
+            if (patch.getVersion() != null && !patch.getVersion().equals(member.getVersion())) {
+                results[index] = conflict(index, patch.getId(), patch.getVersion());
+                continue;
+            }
+            Member update = patch.applyTo(member);
+            List<String> errors = validate(update);
+            if (!errors.isEmpty()) {
+                results[index] = BulkUpdateResult.failure(index, patch.getId(), HttpStatus.BAD_REQUEST.value(),
+                        "Invalid patch", errors);
+                continue;
+            }
+            pending.add(index);
+            previous.add(member);
+            patched.add(update);
+        }
+        if (patched.isEmpty()) {
+            return;
+        }
+
+        boolean[] written;
+        try {
+            written = write(patched);
+        } catch (DataIntegrityViolationException e) {
+            logger.warn("Bulk update batch of {} patches violated a constraint, retrying row by row: {}",
+                    patched.size(), e.getMostSpecificCause().getMessage());
+            written = writeEach(pending, patched, results);
+        } catch (DataAccessException e) {
+            String error = "Batch update failed: " + e.getMostSpecificCause().getMessage();
+            logger.warn("Bulk update batch of {} patches failed: {}", patched.size(), error);
+            for (int index : pending) {
+                results[index] = BulkUpdateResult.failure(index, items.get(index).getId(),
+                        HttpStatus.INTERNAL_SERVER_ERROR.value(), error, null);
+            }
+            return;
+        }
+
+        boolean anyWritten = false;
+        for (int i = 0; i < pending.size(); i++) {
+            int index = pending.get(i);
+            Member update = patched.get(i);
+            if (written[i]) {
+                update.setVersion(update.getVersion() + 1);
+                results[index] = BulkUpdateResult.updated(index, update.getId(), update.getVersion());
+                anyWritten = true;
+            } else if (results[index] == null) {
+                results[index] = conflict(index, update.getId(), update.getVersion());
+            }
+        }
+        if (anyWritten) {
+            // Bulk writes invalidate wholesale instead of probing every cached entry per row
+            searchResultCache.clear();
+            for (int i = 0; i < pending.size(); i++) {
+                if (written[i]) {
+                    eventPublisher.publishEvent(new MemberChangedEvent(previous.get(i), patched.get(i).copy()));
+                }
+            }
+        }
+    }
+
+    private boolean[] write(List<Member> members) {
+        return connectionPoolLimiter.call(
+                () -> transactionTemplate.execute(status -> memberRepository.updateAllIfVersion(members)));
+    }
+
+    /**
+     * Write the patches of a failed batch one at a time, recording the ones that fail.
+     */
+    private boolean[] writeEach(List<Integer> pending, List<Member> patched, BulkUpdateResult[] results) {
+        boolean[] written = new boolean[patched.size()];
+        for (int i = 0; i < patched.size(); i++) {
+            int index = pending.get(i);
+            Long id = patched.get(i).getId();
+            try {
+                written[i] = write(List.of(patched.get(i)))[0];
+            } catch (DataIntegrityViolationException e) {
+                // The status a single update gets, told apart from version conflicts by its error
+                results[index] = BulkUpdateResult.failure(index, id, HttpStatus.CONFLICT.value(),
+                        "The patch conflicts with an existing member (duplicate source member id?)",
+                        List.of(e.getMostSpecificCause().getMessage()));
+            } catch (DataAccessException e) {
+                results[index] = BulkUpdateResult.failure(index, id, HttpStatus.INTERNAL_SERVER_ERROR.value(),
+                        "Update failed: " + e.getMostSpecificCause().getMessage(), null);
+            }
+        }
+        return written;
+    }
+
+    private static BulkUpdateResult conflict(int index, Long id, Long version) {
+        return BulkUpdateResult.failure(index, id, HttpStatus.CONFLICT.value(),
+                "Member " + id + " has changed since version " + version, null);
+    }
+
+    private List<String> validate(Member member) {
+        List<String> errors = new ArrayList<>();
+        for (ConstraintViolation<Member> violation : validator.validate(member)) {
+            errors.add(violation.getPropertyPath() + ": " + violation.getMessage());
+        }
+        errors.sort(null);
+        return errors;
+    }
+}
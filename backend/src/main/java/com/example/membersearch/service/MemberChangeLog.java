@@ -0,0 +1,141 @@
+package com.example.membersearch.service;
+
+import com.example.membersearch.dto.ChangeFeedPage;
+import com.example.membersearch.dto.MemberChange;
+import com.example.membersearch.event.MemberChangedEvent;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The most recent member changes, numbered in the order they were written, in a fixed
+ * size ring. Readers page through it by sequence number; subscribers are told on a
+ * dispatch thread when new changes arrive, so writers never wait on feed clients.
+ * Sequence numbers restart at 1 with the application, so each run has its own epoch and
+ * a position is only valid together with the epoch it was read in.
+ */
+@Component
+public class MemberChangeLog {
+
+    private static final Logger logger = LoggerFactory.getLogger(MemberChangeLog.class);
+
+    private final MemberChange[] entries;
+    private final Executor dispatcher;
+    private final String epoch;
+    private final List<Runnable> subscribers = new CopyOnWriteArrayList<>();
+    // At most one dispatch is queued however fast changes arrive
+    private final AtomicBoolean dispatchScheduled = new AtomicBoolean();
+    private long lastSequence;
+
+    @Autowired
+    public MemberChangeLog(@Value("${membersearch.feed.capacity:10000}") int capacity) {
+        this(capacity, Executors.newSingleThreadExecutor(new CustomizableThreadFactory("change-feed-")));
+    }
+
+    MemberChangeLog(int capacity, Executor dispatcher) {
+        this.entries = new MemberChange[capacity];
+        this.dispatcher = dispatcher;
+        this.epoch = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+    }
+
+    @EventListener
+    public void onMemberChanged(MemberChangedEvent event) {
+        MemberChange.Type type = event.isInsert() ? MemberChange.Type.INSERTED : MemberChange.Type.UPDATED;
+        synchronized (this) {
+            lastSequence++;
+            entries[slot(lastSequence)] = new MemberChange(lastSequence, type, Instant.now(), event.current());
+        }
+        signal();
+    }
+
+    /**
+     * Up to {@code limit} changes with a sequence above {@code after} of {@code epoch},
+     * oldest first. When the epoch is another run's, or some of those changes have
+     * already been overwritten, no changes are returned and the page asks for a resync
+     * from the current sequence.
+     */
+    public synchronized ChangeFeedPage read(String epoch, long after, int limit) {
+        long oldest = Math.max(1, lastSequence - entries.length + 1);
+        if (!this.epoch.equals(epoch) || after > lastSequence || after < oldest - 1) {
+            return new ChangeFeedPage(this.epoch, List.of(), lastSequence, true);
+        }
+        int count = (int) Math.min(limit, lastSequence - after);
+        List<MemberChange> changes = new ArrayList<>(count);
+        for (long sequence = after + 1; sequence <= after + count; sequence++) {
+            changes.add(entries[slot(sequence)]);
+        }
+        return new ChangeFeedPage(this.epoch, changes, after + count, false);
+    }
+
+    public synchronized long getLastSequence() {
+        return lastSequence;
+    }
+
+    public String getEpoch() {
+        return epoch;
+    }
+
+    public int getCapacity() {
+        return entries.length;
+    }
+
+    /**
+     * Run {@code listener} on the dispatch thread whenever changes have been appended.
+     * Changes arriving in quick succession may be signalled once.
+     *
+     * @return a handle that removes the subscription
+     */
+    public Runnable subscribe(Runnable listener) {
+        subscribers.add(listener);
+        return () -> subscribers.remove(listener);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (dispatcher instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+    }
+
+    private int slot(long sequence) {
+        return (int) ((sequence - 1) % entries.length);
+    }
+
+    private void signal() {
+        if (subscribers.isEmpty() || !dispatchScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            dispatcher.execute(this::dispatch);
+        } catch (RejectedExecutionException e) {
+            dispatchScheduled.set(false);
+        }
+    }
+
+    private void dispatch() {
+        // Cleared first, so changes appended while subscribers run schedule another pass
+        dispatchScheduled.set(false);
+        for (Runnable subscriber : subscribers) {
+            try {
+                subscriber.run();
+            } catch (RuntimeException e) {
+                logger.warn("Change feed subscriber failed: {}", e.getMessage());
+            }
+        }
+    }
+}
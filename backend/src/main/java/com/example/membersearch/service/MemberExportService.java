@@ -0,0 +1,136 @@
+package com.example.membersearch.service;
+
+import com.example.membersearch.dto.SearchRequest;
+import com.example.membersearch.exception.InvalidSearchRequestException;
+import com.example.membersearch.model.Member;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes every member matching a search as NDJSON or CSV. Rows are serialized
+ * as the database cursor yields them, so memory use does not grow with the
+ * size of the export.
+ */
+@Service
+public class MemberExportService {
+
+    static final List<String> CSV_COLUMNS;
+
+    static {
+        List<String> columns = new ArrayList<>();
+        columns.add("id");
+        columns.addAll(MemberIngestService.CSV_COLUMNS);
+        CSV_COLUMNS = List.copyOf(columns);
+    }
+
+    public enum Format {
+        NDJSON("application/x-ndjson", "ndjson"), CSV("text/csv", "csv");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public static Format fromParameter(String value) {
+            for (Format format : values()) {
+                if (format.name().equalsIgnoreCase(value == null ? "" : value.trim())) {
+                    return format;
+                }
+            }
+            throw new InvalidSearchRequestException("Unsupported export format '" + value + "', expected ndjson or csv");
+        }
+    }
+
+    @Autowired
+    private MemberService memberService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ConnectionPoolLimiter connectionPoolLimiter;
+
+    @Value("${membersearch.export.fetch-size:1000}")
+    private int fetchSize = 1000;
+
+    /**
+     * Stream the members matching {@code request} to {@code out} in the given format.
+     * The stream is flushed but not closed.
+     *
+     * @return the number of members written
+     */
+    public long export(SearchRequest request, Format format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        if (format == Format.CSV) {
+            writer.write(String.join(",", CSV_COLUMNS));
+            writer.write('\n');
+        }
+        long count;
+        try {
+            count = connectionPoolLimiter.call(() -> memberService.streamMembers(request, fetchSize, member -> {
+                try {
+                    writer.write(format == Format.CSV ? toCsvLine(member) : objectMapper.writeValueAsString(member));
+                    writer.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }));
+        } catch (UncheckedIOException e) {
+            // Usually the client went away; unwrap so the caller sees the I/O failure
+            throw e.getCause();
+        }
+        writer.flush();
+        return count;
+    }
+
+    static String toCsvLine(Member member) {
+        StringBuilder line = new StringBuilder();
+        appendCsvField(line, member.getId() == null ? null : member.getId().toString());
+        appendCsvField(line.append(','), member.getFirstName());
+        appendCsvField(line.append(','), member.getMiddleName());
+        appendCsvField(line.append(','), member.getLastName());
+        appendCsvField(line.append(','), member.getBusinessUnit());
+        appendCsvField(line.append(','), member.getCountry());
+        appendCsvField(line.append(','), member.getSourceMemberId());
+        appendCsvField(line.append(','), Boolean.toString(member.isEntitled()));
+        return line.toString();
+    }
+
+    /**
+     * Append a field, quoting it when it holds a separator, quote or line break;
+     * the inverse of {@link MemberIngestService#parseCsvLine}.
+     */
+    private static void appendCsvField(StringBuilder line, String value) {
+        if (value == null) {
+            return;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            line.append(value);
+            return;
+        }
+        line.append('"').append(value.replace("\"", "\"\"")).append('"');
+    }
+}
@@ -0,0 +1,397 @@
+package com.example.membersearch.service;
+
+import com.example.membersearch.dto.IngestProgress;
+import com.example.membersearch.event.MemberChangedEvent;
+import com.example.membersearch.exception.InvalidIngestRequestException;
+import com.example.membersearch.model.Member;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Streams members from NDJSON or CSV into the database in JDBC batches.
+ * Rows are parsed and validated one at a time and at most one batch is held in
+ * memory, so the input can be arbitrarily large. Each batch is inserted in its own
+ * transaction with a single batched statement, bypassing Hibernate, which cannot
+ * batch inserts for {@code IDENTITY} ids. A batch that violates a constraint, such as
+ * the unique source member id, is retried row by row, so only the offending rows are
+ * rejected and a re-sent feed only turns away the members it already delivered.
+ */
+@Service
+public class MemberIngestService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MemberIngestService.class);
+
+    static final String INSERT_SQL = "insert into member (first_name, middle_name, last_name, business_unit, "
+            + "country, source_member_id, entitled, first_name_norm, middle_name_norm, last_name_norm) "
+            + "values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    static final List<String> CSV_COLUMNS = List.of("firstName", "middleName", "lastName", "businessUnit",
+            "country", "sourceMemberId", "entitled");
+
+    public enum Format {
+        NDJSON, CSV;
+
+        public static Format fromContentType(String contentType) {
+            String type = contentType == null ? "" : contentType.toLowerCase(Locale.ROOT);
+            if (type.startsWith("text/csv")) {
+                return CSV;
+            }
+            if (type.startsWith("application/x-ndjson") || type.startsWith("application/json")) {
+                return NDJSON;
+            }
+            throw new InvalidIngestRequestException("Unsupported content type for bulk ingestion: " + contentType);
+        }
+    }
+
+    @FunctionalInterface
+    private interface RowParser {
+        Member parse(String line) throws IOException;
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private SearchResultCache searchResultCache;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ConnectionPoolLimiter connectionPoolLimiter;
+
+    @Value("${membersearch.ingest.batch-size:1000}")
+    private int defaultBatchSize = 1000;
+
+    @Value("${membersearch.ingest.max-batch-size:10000}")
+    private int maxBatchSize = 10000;
+
+    /**
+     * Ingest every row of {@code input}, reporting each committed batch and each rejected
+     * row to {@code listener} as it happens.
+     *
+     * @param batchSize rows per JDBC batch, or {@code null} for the configured default
+     * @return the final summary, which is also passed to the listener
+     */
+    public IngestProgress ingest(InputStream input, Format format, Integer batchSize,
+            Consumer<IngestProgress> listener) throws IOException {
+        int size = batchSize == null ? defaultBatchSize : batchSize;
+        if (size < 1 || size > maxBatchSize) {
+            throw new InvalidIngestRequestException("Batch size must be between 1 and " + maxBatchSize);
+        }
+
+        long start = System.currentTimeMillis();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        long lineNumber = 0;
+        RowParser parser;
+        if (format == Format.CSV) {
+            String header = reader.readLine();
+            lineNumber++;
+            parser = csvParser(header);
+        } else {
+            parser = line -> objectMapper.readValue(line, Member.class);
+        }
+
+        BatchState state = new BatchState(size, listener);
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            Member member;
+            try {
+                member = parser.parse(line);
+            } catch (JsonProcessingException | IllegalArgumentException e) {
+                state.reject(lineNumber, List.of("Malformed row: " + e.getMessage()));
+                continue;
+            }
+            if (member == null) {
+                state.reject(lineNumber, List.of("Malformed row: not a member object"));
+                continue;
+            }
+            member.setId(null);
+            List<String> errors = validate(member);
+            if (!errors.isEmpty()) {
+                state.reject(lineNumber, errors);
+                continue;
+            }
+            state.add(member, lineNumber);
+            if (state.isFull()) {
+                flush(state);
+            }
+        }
+        if (!state.members.isEmpty() || state.batchRejected > 0) {
+            flush(state);
+        }
+
+        IngestProgress summary = IngestProgress.summary(state.batches, state.totalAccepted, state.totalRejected,
+                System.currentTimeMillis() - start);
+        listener.accept(summary);
+        logger.info("Bulk ingestion finished: {} accepted, {} rejected in {} batches ({} ms)",
+                state.totalAccepted, state.totalRejected, state.batches, summary.getElapsedMs());
+        return summary;
+    }
+
+    private void flush(BatchState state) {
+        List<Member> inserted = List.of();
+        if (!state.members.isEmpty()) {
+            try {
+                connectionPoolLimiter.run(() -> insert(state.members));
+                inserted = state.members;
+            } catch (DataIntegrityViolationException e) {
+                logger.info("Bulk ingestion batch {} violates a constraint, inserting its rows one by one: {}",
+                        state.batches + 1, e.getMostSpecificCause().getMessage());
+                inserted = insertEach(state);
+            } catch (DataAccessException e) {
+                String error = "Batch insert failed: " + e.getMostSpecificCause().getMessage();
+                logger.warn("Bulk ingestion batch {} failed: {}", state.batches + 1, error);
+                for (Long line : state.lines) {
+                    state.reject(line, List.of(error));
+                }
+            }
+        }
+        long accepted = inserted.size();
+        if (accepted > 0) {
+            // Bulk writes invalidate wholesale instead of probing every cached entry per row
+            searchResultCache.clear();
+            for (Member member : inserted) {
+                eventPublisher.publishEvent(new MemberChangedEvent(null, member));
+            }
+        }
+        state.batches++;
+        state.totalAccepted += accepted;
+        state.listener.accept(IngestProgress.batch(state.batches, accepted, state.batchRejected,
+                state.totalAccepted, state.totalRejected));
+        logger.info("Bulk ingestion batch {} committed: {} accepted, {} rejected", state.batches, accepted,
+                state.batchRejected);
+        state.clear();
+    }
+
+    /**
+     * Insert the rows of a batch that violated a constraint one at a time, rejecting the
+     * ones that fail.
+     *
+     * @return the members inserted
+     */
+    private List<Member> insertEach(BatchState state) {
+        List<Member> inserted = new ArrayList<>(state.members.size());
+        for (int i = 0; i < state.members.size(); i++) {
+            Member member = state.members.get(i);
+            try {
+                connectionPoolLimiter.run(() -> insert(List.of(member)));
+                inserted.add(member);
+            } catch (DataIntegrityViolationException e) {
+                // Rows are validated before they are batched, so the unique source member id is what is left
+                state.reject(state.lines.get(i), List.of(member.getSourceMemberId() != null
+                        ? "sourceMemberId: duplicate source member id '" + member.getSourceMemberId() + "'"
+                        : "Insert failed: " + e.getMostSpecificCause().getMessage()));
+            } catch (DataAccessException e) {
+                state.reject(state.lines.get(i), List.of("Insert failed: " + e.getMostSpecificCause().getMessage()));
+            }
+        }
+        return inserted;
+    }
+
+    private void insert(List<Member> members) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(INSERT_SQL, new String[] {"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        Member member = members.get(i);
+                        ps.setString(1, member.getFirstName());
+                        setNullableString(ps, 2, member.getMiddleName());
+                        ps.setString(3, member.getLastName());
+                        setNullableString(ps, 4, member.getBusinessUnit());
+                        setNullableString(ps, 5, member.getCountry());
+                        setNullableString(ps, 6, member.getSourceMemberId());
+                        ps.setBoolean(7, member.isEntitled());
+                        // Bypassing JPA skips the entity callback that fills the search columns
+                        member.normalizeNames();
+                        ps.setString(8, member.getFirstNameNormalized());
+                        setNullableString(ps, 9, member.getMiddleNameNormalized());
+                        ps.setString(10, member.getLastNameNormalized());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return members.size();
+                    }
+                },
+                keyHolder));
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int i = 0; i < members.size() && i < keys.size(); i++) {
+            members.get(i).setId(((Number) keys.get(i).values().iterator().next()).longValue());
+            members.get(i).setVersion(0L);
+        }
+    }
+
+    private List<String> validate(Member member) {
+        List<String> errors = new ArrayList<>();
+        for (ConstraintViolation<Member> violation : validator.validate(member)) {
+            errors.add(violation.getPropertyPath() + ": " + violation.getMessage());
+        }
+        errors.sort(null);
+        return errors;
+    }
+
+    private RowParser csvParser(String header) {
+        if (header == null || header.isBlank()) {
+            throw new InvalidIngestRequestException("CSV input must start with a header row");
+        }
+        List<String> columns = parseCsvLine(header);
+        for (String column : columns) {
+            if (!CSV_COLUMNS.contains(column.trim())) {
+                throw new InvalidIngestRequestException(
+                        "Unknown CSV column '" + column + "', expected any of " + CSV_COLUMNS);
+            }
+        }
+        return line -> {
+            List<String> values = parseCsvLine(line);
+            if (values.size() != columns.size()) {
+                throw new IllegalArgumentException(
+                        "expected " + columns.size() + " columns but found " + values.size());
+            }
+            Member member = new Member();
+            for (int i = 0; i < columns.size(); i++) {
+                String value = values.get(i).isEmpty() ? null : values.get(i);
+                switch (columns.get(i).trim()) {
+                    case "firstName" -> member.setFirstName(value);
+                    case "middleName" -> member.setMiddleName(value);
+                    case "lastName" -> member.setLastName(value);
+                    case "businessUnit" -> member.setBusinessUnit(value);
+                    case "country" -> member.setCountry(value);
+                    case "sourceMemberId" -> member.setSourceMemberId(value);
+                    case "entitled" -> member.setEntitled(Boolean.parseBoolean(value));
+                    default -> throw new IllegalStateException("Unexpected column " + columns.get(i));
+                }
+            }
+            return member;
+        };
+    }
+
+    /**
+     * Split one CSV record on commas, honouring double-quoted fields with {@code ""} escapes.
+     */
+    static List<String> parseCsvLine(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("unterminated quoted field");
+        }
+        values.add(current.toString());
+        return values;
+    }
+
+    private static void setNullableString(PreparedStatement ps, int index, String value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.VARCHAR);
+        } else {
+            ps.setString(index, value);
+        }
+    }
+
+    /**
+     * Rows of the batch being assembled plus running totals.
+     */
+    private static final class BatchState {
+        private final int size;
+        private final Consumer<IngestProgress> listener;
+        private final List<Member> members;
+        private final List<Long> lines;
+        private long batchRejected;
+        private long totalAccepted;
+        private long totalRejected;
+        private int batches;
+
+        private BatchState(int size, Consumer<IngestProgress> listener) {
+            this.size = size;
+            this.listener = listener;
+            this.members = new ArrayList<>(size);
+            this.lines = new ArrayList<>(size);
+        }
+
+        private void add(Member member, long line) {
+            members.add(member);
+            lines.add(line);
+        }
+
+        private boolean isFull() {
+            return members.size() >= size;
+        }
+
+        private void reject(long line, List<String> errors) {
+            batchRejected++;
+            totalRejected++;
+            listener.accept(IngestProgress.rejected(line, errors));
+        }
+
+        private void clear() {
+            members.clear();
+            lines.clear();
+            batchRejected = 0;
+        }
+    }
+}
@@ -1,69 +1,653 @@
 package com.example.membersearch.service;
 
+import com.example.membersearch.dto.CountMode;
+import com.example.membersearch.dto.CursorPage;
+import com.example.membersearch.dto.FacetField;
+import com.example.membersearch.dto.MemberField;
+import com.example.membersearch.dto.MemberView;
+import com.example.membersearch.dto.NameMatch;
+import com.example.membersearch.dto.SearchPage;
 import com.example.membersearch.dto.SearchRequest;
+import com.example.membersearch.dto.SlimPage;
+import com.example.membersearch.dto.TypeaheadField;
+import com.example.membersearch.dto.TypeaheadSuggestion;
+import com.example.membersearch.engine.SearchEngine;
+import com.example.membersearch.event.MemberChangedEvent;
+import com.example.membersearch.exception.InvalidSearchRequestException;
 import com.example.membersearch.exception.MemberNotFoundException;
+import com.example.membersearch.exception.MemberVersionConflictException;
+import com.example.membersearch.exception.ServiceBusyException;
+import com.example.membersearch.index.MemberCategoryIndex;
+import com.example.membersearch.index.MemberFuzzyNameIndex;
+import com.example.membersearch.index.MemberNameIndex;
+import com.example.membersearch.index.MemberStatistics;
+import com.example.membersearch.index.MemberTypeaheadIndex;
+import com.example.membersearch.metrics.SearchMetrics;
+import com.example.membersearch.metrics.SearchMetrics.Operation;
 import com.example.membersearch.model.Member;
 import com.example.membersearch.repository.MemberRepository;
+import org.roaringbitmap.RoaringBitmap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.function.Consumer;
 
 @Service
 public class MemberService {
 
     private static final Logger logger = LoggerFactory.getLogger(MemberService.class);
 
+    private static final Sort KEYSET_SORT = Sort.by(SearchCursorCodec.SORT_KEY);
+
+    private static final int RANK_BATCH_SIZE = 5_000;
+
+    private static final Map<FacetField, String> FACET_ATTRIBUTES = Map.of(
+            FacetField.BUSINESS_UNIT, "businessUnit",
+            FacetField.COUNTRY, "country",
+            FacetField.ENTITLED, "entitled");
+
     @Autowired
     private MemberRepository memberRepository;
 
+    @Autowired
+    private MemberNameIndex memberNameIndex;
+
+    @Autowired
+    private MemberCategoryIndex memberCategoryIndex;
+
+    @Autowired
+    private MemberFuzzyNameIndex memberFuzzyNameIndex;
+
+    @Autowired
+    private MemberStatistics memberStatistics;
+
+    @Autowired
+    private MemberTypeaheadIndex memberTypeaheadIndex;
+
+    @Autowired
+    private SearchResultCache searchResultCache;
+
+    @Autowired
+    private SearchCoalescer searchCoalescer;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ConnectionPoolLimiter connectionPoolLimiter;
+
+    @Autowired
+    private SearchMetrics searchMetrics;
+
+    // Configured alternative to the JPA query path for offset searches, if any
+    @Autowired(required = false)
+    private SearchEngine searchEngine;
+
+    // Deepest offset a relevance-ordered page may start at; the scan keeps offset + size ids
+    @Value("${membersearch.search.relevance.max-offset:10000}")
+    private int maxRelevanceOffset = 10_000;
+
     public Page<Member> searchMembers(SearchRequest request) {
         logger.info(
                 "Searching members with criteria: firstName={}, lastName={}, businessUnits={}, country={}, page={}, size={}",
                 request.getFirstName(), request.getLastName(), request.getBusinessUnits(),
                 request.getCountry(), request.getPage(), request.getSize());
+        Set<FacetField> facets = request.getFacets() != null ? request.getFacets() : Set.of();
+        if (facets.contains(FacetField.ENTITLED)) {
+            throw new InvalidSearchRequestException(
+                    "Searches only return entitled members; the entitled facet is available from /api/admin/facets");
+        }
+
+        SearchCacheKey cacheKey = SearchCacheKey.of(request);
+        Page<Member> cached = searchResultCache.get(cacheKey);
+        if (cached != null) {
+            logger.info("Search served from cache, returning page {} of {}", cached.getNumber(), cached.getTotalPages());
+            return cached;
+        }
+        long cacheGeneration = searchResultCache.generation();
+
+        // Identical searches arriving while this one runs share its result
+        return searchCoalescer.execute(cacheKey, cacheGeneration, () -> {
+            SearchPage<Member> results = executeSearch(request, facets);
+            logger.info("Search completed. Found {} total elements (exact={}), returning page {} of {}",
+                    results.getTotalElements(), results.isTotalExact(), results.getNumber(), results.getTotalPages());
+            searchResultCache.put(cacheKey, results, cacheGeneration);
+            return results;
+        });
+    }
+
+    private SearchPage<Member> executeSearch(SearchRequest request, Set<FacetField> facets) {
+        Pageable pageable = PageRequest.of(request.getPage(), request.getSize());
+        CountMode countMode = request.getCountMode() != null ? request.getCountMode() : CountMode.EXACT;
+
+        SearchPage<Member> results;
+        // Resolved once; the page and the facets reuse it
+        Optional<MemberFuzzyNameIndex.Matches> fuzzyMatches = findFuzzyMatches(request);
+        if (fuzzyMatches.isPresent()) {
+            results = rankedPage(request, pageable, countMode, fuzzyMatches.get());
+        } else if (RelevanceScorer.applies(request)) {
+            results = relevancePage(request, pageable, countMode, fuzzyMatches);
+        } else if (searchEngine != null && searchEngine.isReady()) {
+            results = searchMetrics.timeSearch(SearchMetrics.ENGINE, request, Operation.PAGE,
+                    () -> searchEngine.search(request));
+        } else {
+            results = databasePage(request, pageable, countMode, fuzzyMatches);
+        }
+        if (!facets.isEmpty()) {
+            results = results.withFacets(searchMetrics.time(SearchMetrics.FACETS,
+                    () -> countFacets(request, facets, true, fuzzyMatches)));
+        }
+        return results;
+    }
+
+    /**
+     * Keyset-paginated search: results are ordered by id and the slice starts after
+     * the cursor in {@code request.after}, so every slice costs the same as the first
+     * and no count query is issued.
+     */
+    public CursorPage<Member> searchMembersAfter(SearchRequest request) {
+        logger.info(
+                "Cursor search with criteria: firstName={}, lastName={}, businessUnits={}, country={}, after={}, size={}",
+                request.getFirstName(), request.getLastName(), request.getBusinessUnits(),
+                request.getCountry(), request.getAfter(), request.getSize());
+
+        ScrollPosition position = SearchCursorCodec.decode(request.getAfter());
+        Optional<RoaringBitmap> candidates = findCandidates(request);
+        if (candidates.isPresent() && candidates.get().isEmpty()) {
+            logger.info("Cursor search completed. Indexes matched no members");
+            return new CursorPage<>(List.of(), request.getSize(), false, null);
+        }
+        Specification<Member> spec = buildSpecification(request, candidates, Operation.CURSOR);
+
+        Window<Member> window = connectionPoolLimiter.call(() -> searchMetrics.timeSearch(SearchMetrics.QUERY, request,
+                Operation.CURSOR, () -> memberRepository.findBy(spec,
+                        query -> query.sortBy(KEYSET_SORT).limit(request.getSize()).scroll(position))));
+
+        String nextCursor = window.hasNext() && !window.isEmpty()
+                ? SearchCursorCodec.encode(window.positionAt(window.size() - 1))
+                : null;
+
+        logger.info("Cursor search completed. Returning {} members, hasNext={}", window.size(), window.hasNext());
+
+        return new CursorPage<>(window.getContent(), request.getSize(), nextCursor != null, nextCursor);
+    }
+
+    /**
+     * Offset search returning only the selected {@code fields} of each member, read
+     * straight into {@link MemberView} rows without loading entities, in a compact
+     * envelope. Results are ordered by id; totals follow the request's count mode.
+     */
+    public SlimPage<MemberView> searchMemberViews(SearchRequest request, Set<MemberField> fields) {
+        logger.info(
+                "Lean search with criteria: firstName={}, lastName={}, businessUnits={}, country={}, page={}, size={}, fields={}",
+                request.getFirstName(), request.getLastName(), request.getBusinessUnits(),
+                request.getCountry(), request.getPage(), request.getSize(), fields);
 
         Pageable pageable = PageRequest.of(request.getPage(), request.getSize());
-        Specification<Member> spec = memberRepository.buildSpecification(request);
+        CountMode countMode = request.getCountMode() != null ? request.getCountMode() : CountMode.EXACT;
 
-        Page<Member> results = memberRepository.findAll(spec, pageable);
+        Optional<RoaringBitmap> candidates = findCandidates(request);
+        if (candidates.isPresent() && candidates.get().isEmpty()) {
+            logger.info("Lean search completed. Indexes matched no members");
+            return new SlimPage<>(List.of(), request.getPage(), request.getSize(), 0, true, false);
+        }
+        Specification<Member> spec = buildSpecification(request, candidates, Operation.LEAN);
 
-        logger.info("Search completed. Found {} total elements, returning page {} of {}",
-                results.getTotalElements(), results.getNumber(), results.getTotalPages());
+        SlimPage<MemberView> results = connectionPoolLimiter.call(() -> {
+            List<MemberView> rows = searchMetrics.timeSearch(SearchMetrics.QUERY, request, Operation.LEAN,
+                    () -> memberRepository.findViews(spec, fields, pageable.getOffset(), pageable.getPageSize() + 1));
+            boolean hasNext = rows.size() > pageable.getPageSize();
+            List<MemberView> content = hasNext ? rows.subList(0, pageable.getPageSize()) : rows;
+            Total total = settleTotal(request, spec, pageable, countMode, candidates, content.size(), hasNext,
+                    Operation.LEAN);
+            return new SlimPage<>(content, request.getPage(), request.getSize(), total.value(), total.exact(),
+                    hasNext);
+        });
+
+        logger.info("Lean search completed. Found {} total elements (exact={}), returning {} rows",
+                results.getTotalElements(), results.isTotalExact(), results.getContent().size());
 
         return results;
     }
 
-    public Member updateMember(Long id, Member memberDetails) {
-        logger.info("Updating member with id: {}", id);
+    /**
+     * Pass every member matching the request's filters, ordered by id, to {@code action}.
+     * Paging fields are ignored; rows are read through a database cursor and never
+     * collected, so the result set may be arbitrarily large. The read holds a connection
+     * throughout, so callers should run it through the {@link ConnectionPoolLimiter}.
+     *
+     * @return the number of members streamed
+     */
+    @Transactional(readOnly = true)
+    public long streamMembers(SearchRequest request, int fetchSize, Consumer<Member> action) {
+        logger.info(
+                "Streaming members with criteria: firstName={}, lastName={}, businessUnits={}, country={}",
+                request.getFirstName(), request.getLastName(), request.getBusinessUnits(), request.getCountry());
 
-        Member member = memberRepository.findById(id)
-                .orElseThrow(() -> new MemberNotFoundException(id));
+        Optional<RoaringBitmap> candidates = findCandidates(request);
+        if (candidates.isPresent() && candidates.get().isEmpty()) {
+            logger.info("Stream completed. Indexes matched no members");
+            return 0;
+        }
+        Specification<Member> spec = buildSpecification(request, candidates, Operation.STREAM);
+        long count = searchMetrics.timeSearch(SearchMetrics.QUERY, request, Operation.STREAM,
+                () -> memberRepository.streamAll(spec, fetchSize, action));
 
-        String oldValues = String.format("Old values: firstName=%s, lastName=%s, businessUnit=%s, country=%s",
-                member.getFirstName(), member.getLastName(), member.getBusinessUnit(), member.getCountry());
+        logger.info("Stream completed. Streamed {} members", count);
+        return count;
+    }
+
+    /**
+     * Complete a name or source member id prefix from the typeahead index, without
+     * touching the database.
+     */
+    public List<TypeaheadSuggestion> suggest(String prefix, TypeaheadField field, int limit) {
+        if (!StringUtils.hasText(prefix)) {
+            throw new InvalidSearchRequestException("Typeahead prefix must not be blank");
+        }
+        if (limit < 1 || limit > memberTypeaheadIndex.getMaxSuggestions()) {
+            throw new InvalidSearchRequestException(
+                    "Typeahead limit must be between 1 and " + memberTypeaheadIndex.getMaxSuggestions());
+        }
+        if (!memberTypeaheadIndex.isReady()) {
+            throw new ServiceBusyException("Typeahead index is not available yet. Please try again later.");
+        }
+        return searchMetrics.time(SearchMetrics.TYPEAHEAD, () -> memberTypeaheadIndex.suggest(field, prefix, limit));
+    }
+
+    public Member updateMember(Long id, Member memberDetails) {
+        return searchMetrics.time(SearchMetrics.UPDATE, () -> applyUpdate(id, memberDetails));
+    }
 
-        member.setFirstName(memberDetails.getFirstName());
-        member.setLastName(memberDetails.getLastName());
-        member.setMiddleName(memberDetails.getMiddleName());
-        member.setBusinessUnit(memberDetails.getBusinessUnit());
-        member.setCountry(memberDetails.getCountry());
-        member.setSourceMemberId(memberDetails.getSourceMemberId());
-        // Entitlement is usually managed separately, but for now we allow updating if
-        // needed
-        // member.setEntitled(memberDetails.isEntitled());
+    /**
+     * Overwrite the member's editable fields in one statement. When the details carry a
+     * version the update only applies while the member is still at it, otherwise the
+     * member is overwritten whatever its version.
+     */
+    private Member applyUpdate(Long id, Member memberDetails) {
+        logger.debug("Updating member with id: {}", id);
 
-        Member savedMember = memberRepository.save(member);
+        Member savedMember = memberDetails.copy();
+        savedMember.setId(id);
+        Member previous = connectionPoolLimiter.call(() -> memberRepository.updateReturningPrevious(savedMember))
+                .orElseThrow(() -> notUpdated(id, memberDetails.getVersion()));
 
-        logger.info("Member {} updated successfully. {}", id, oldValues);
+        // Entitlement is managed separately and is left as stored
+        savedMember.setEntitled(previous.isEntitled());
+        savedMember.setVersion(previous.getVersion() + 1);
+        // Old and new values reach the audit trail through this event, off the request thread
+        eventPublisher.publishEvent(new MemberChangedEvent(previous, savedMember.copy()));
+
+        logger.debug("Member {} updated to version {}", id, savedMember.getVersion());
 
         return savedMember;
     }
+
+    /**
+     * Why an update matched no row: the member is gone, or it moved past the expected version.
+     */
+    private RuntimeException notUpdated(Long id, Long expectedVersion) {
+        if (expectedVersion != null && connectionPoolLimiter.call(() -> memberRepository.existsById(id))) {
+            return new MemberVersionConflictException(id, expectedVersion);
+        }
+        return new MemberNotFoundException(id);
+    }
+
+    /**
+     * Match counts per business unit, country and entitlement for the request's filters,
+     * over all members rather than only entitled ones. Paging fields are ignored.
+     */
+    public Map<FacetField, Map<String, Long>> countAllFacets(SearchRequest request) {
+        return searchMetrics.time(SearchMetrics.FACETS,
+                () -> countFacets(request, EnumSet.allOf(FacetField.class), false, findFuzzyMatches(request)));
+    }
+
+    /**
+     * Offset page read from the database, after resolving what the in-memory indexes can.
+     */
+    private SearchPage<Member> databasePage(SearchRequest request, Pageable pageable, CountMode countMode,
+            Optional<MemberFuzzyNameIndex.Matches> fuzzyMatches) {
+        Optional<RoaringBitmap> candidates = findCandidates(request, fuzzyMatches);
+        if (candidates.isPresent() && candidates.get().isEmpty()) {
+            logger.info("Indexes matched no members");
+            return new SearchPage<>(List.of(), pageable, 0, countMode, true);
+        }
+        Specification<Member> spec = buildSpecification(request, candidates, Operation.PAGE);
+
+        return connectionPoolLimiter.call(() -> countMode == CountMode.EXACT
+                ? exactPage(request, spec, pageable, candidates)
+                : pageWithoutExactCount(request, spec, pageable, countMode, candidates));
+    }
+
+    /**
+     * Count matches per facet value, each facet ignoring its own filter so a filtered
+     * facet still shows the counts of its other values. Served from the category bitmaps
+     * when the name filters resolve in memory, otherwise by one grouped query per facet.
+     * Values are ordered by count, then name.
+     */
+    private Map<FacetField, Map<String, Long>> countFacets(SearchRequest request, Set<FacetField> facets,
+            boolean entitledOnly, Optional<MemberFuzzyNameIndex.Matches> fuzzyMatches) {
+        boolean hasNames = MemberNameIndex.hasNameFilter(request);
+        Optional<RoaringBitmap> names = hasNames ? findNameMatches(request, fuzzyMatches) : Optional.empty();
+        // Resolved names stand in for the name filters, so fuzzy names never reach the database
+        List<Long> nameIds = names.map(MemberService::toIdList).orElse(null);
+        Optional<Map<FacetField, Map<String, Long>>> indexed = Optional.empty();
+        if ((!hasNames || names.isPresent()) && !StringUtils.hasText(request.getSourceMemberId())) {
+            indexed = memberCategoryIndex.countFacets(request, facets, names.orElse(null), entitledOnly);
+        }
+        Map<FacetField, Map<String, Long>> counts = indexed.orElseGet(() -> connectionPoolLimiter.call(() -> {
+            Map<FacetField, Map<String, Long>> queried = new EnumMap<>(FacetField.class);
+            for (FacetField facet : facets) {
+                Specification<Member> spec = memberRepository.buildSpecification(withoutFilter(request, facet), nameIds,
+                        entitledOnly && facet != FacetField.ENTITLED);
+                queried.put(facet, memberRepository.countByValue(spec, FACET_ATTRIBUTES.get(facet)));
+            }
+            return queried;
+        }));
+
+        Map<FacetField, Map<String, Long>> sorted = new EnumMap<>(FacetField.class);
+        counts.forEach((facet, values) -> {
+            Map<String, Long> ordered = new LinkedHashMap<>();
+            values.entrySet().stream()
+                    .sorted(Map.Entry.<String, Long>comparingByValue().reversed()
+                            .thenComparing(Map.Entry.comparingByKey()))
+                    .forEach(entry -> ordered.put(entry.getKey(), entry.getValue()));
+            sorted.put(facet, ordered);
+        });
+        return sorted;
+    }
+
+    /**
+     * Copy of the filters of a request without the facet's own filter.
+     */
+    private static SearchRequest withoutFilter(SearchRequest request, FacetField facet) {
+        SearchRequest copy = new SearchRequest();
+        copy.setFirstName(request.getFirstName());
+        copy.setMiddleName(request.getMiddleName());
+        copy.setLastName(request.getLastName());
+        copy.setNameMatch(request.getNameMatch());
+        copy.setSourceMemberId(request.getSourceMemberId());
+        copy.setBusinessUnits(facet == FacetField.BUSINESS_UNIT ? null : request.getBusinessUnits());
+        copy.setCountry(facet == FacetField.COUNTRY ? null : request.getCountry());
+        return copy;
+    }
+
+    /**
+     * Page through fuzzy name matches best first, ties broken by id so paging is stable.
+     * The index bounds the number of matches, so all matching rows are fetched and ranked
+     * in memory; the total is exact unless the index had to drop the weakest matches.
+     */
+    private SearchPage<Member> rankedPage(SearchRequest request, Pageable pageable, CountMode countMode,
+            MemberFuzzyNameIndex.Matches matches) {
+        RoaringBitmap ids = matches.ids();
+        Optional<RoaringBitmap> categoryMatches = memberCategoryIndex.findCandidates(request);
+        if (categoryMatches.isPresent()) {
+            ids = RoaringBitmap.and(ids, categoryMatches.get());
+        }
+        if (ids.isEmpty()) {
+            return new SearchPage<>(List.of(), pageable, 0, countMode, matches.complete());
+        }
+        Specification<Member> spec = buildSpecification(request, Optional.of(ids), Operation.PAGE);
+        List<Member> rows = new ArrayList<>(connectionPoolLimiter.call(() -> searchMetrics.timeSearch(
+                SearchMetrics.QUERY, request, Operation.PAGE, () -> memberRepository.findAll(spec))));
+
+        Map<Integer, Double> scores = matches.scores();
+        rows.sort(Comparator.comparingDouble((Member member) -> scores.get(member.getId().intValue()))
+                .thenComparing(Member::getId));
+        int from = (int) Math.min(pageable.getOffset(), rows.size());
+        int to = Math.min(from + pageable.getPageSize(), rows.size());
+        return new SearchPage<>(List.copyOf(rows.subList(from, to)), pageable, rows.size(), countMode,
+                matches.complete());
+    }
+
+    /**
+     * Page through all matches best first by {@link RelevanceScorer}. Only ids and names
+     * are scanned, into a heap holding the best {@code offset + size} ids rather than a
+     * sorted copy of every match; the page's members are then loaded by id through the
+     * same filters. The scan visits every match, so the total is always exact. Pages may
+     * start at most at the configured maximum offset, which bounds the heap.
+     */
+    private SearchPage<Member> relevancePage(SearchRequest request, Pageable pageable, CountMode countMode,
+            Optional<MemberFuzzyNameIndex.Matches> fuzzyMatches) {
+        if (pageable.getOffset() > maxRelevanceOffset) {
+            throw new InvalidSearchRequestException("Relevance-ordered results only reach the first "
+                    + maxRelevanceOffset + " matches; narrow the search or page further in id order");
+        }
+        Optional<RoaringBitmap> candidates = findCandidates(request, fuzzyMatches);
+        if (candidates.isPresent() && candidates.get().isEmpty()) {
+            return new SearchPage<>(List.of(), pageable, 0, countMode, true);
+        }
+        Specification<Member> spec = buildSpecification(request, candidates, Operation.PAGE);
+        RelevanceScorer scorer = new RelevanceScorer(request);
+        TopK best = new TopK((int) pageable.getOffset() + pageable.getPageSize());
+
+        return connectionPoolLimiter.call(() -> {
+            long total = searchMetrics.timeSearch(SearchMetrics.QUERY, request, Operation.PAGE,
+                    () -> memberRepository.forEachNameKey(spec, RANK_BATCH_SIZE,
+                            (id, first, middle, last) -> best.offer(id, scorer.score(first, middle, last))));
+            long[] ranked = best.drain();
+            List<Long> pageIds = new ArrayList<>(pageable.getPageSize());
+            for (int i = (int) Math.min(pageable.getOffset(), ranked.length); i < ranked.length; i++) {
+                pageIds.add(ranked[i]);
+            }
+            if (pageIds.isEmpty()) {
+                return new SearchPage<>(List.of(), pageable, total, countMode, true);
+            }
+            // The filters are applied again, so a member updated out of them since the scan is left out
+            Specification<Member> pageSpec = Specification.where(spec)
+                    .and((root, query, cb) -> root.get("id").in(pageIds));
+            Map<Long, Member> members = new HashMap<>();
+            memberRepository.findAll(pageSpec).forEach(member -> members.put(member.getId(), member));
+            List<Member> content = new ArrayList<>(pageIds.size());
+            for (Long id : pageIds) {
+                Member member = members.get(id);
+                if (member != null) {
+                    content.add(member);
+                }
+            }
+            return new SearchPage<>(content, pageable, total, countMode, true);
+        });
+    }
+
+    /**
+     * Fetch the page and, unless the page itself pins down the total, count all matches.
+     * The two queries are issued separately so each is timed on its own.
+     */
+    private SearchPage<Member> exactPage(SearchRequest request, Specification<Member> spec, Pageable pageable,
+            Optional<RoaringBitmap> candidates) {
+        List<Member> content = searchMetrics.timeSearch(SearchMetrics.QUERY, request, Operation.PAGE,
+                () -> memberRepository.findSlice(spec, pageable.getOffset(), pageable.getPageSize()));
+        OptionalLong resolved = resolvedTotal(request, candidates);
+        Page<Member> page = PageableExecutionUtils.getPage(content, pageable, () -> resolved.isPresent()
+                ? resolved.getAsLong()
+                : searchMetrics.timeSearch(SearchMetrics.COUNT, request, Operation.PAGE,
+                        () -> memberRepository.count(spec)));
+        return new SearchPage<>(page.getContent(), pageable, page.getTotalElements(), CountMode.EXACT, true);
+    }
+
+    /**
+     * Fetch one row beyond the page to learn whether more results exist, then settle the
+     * total according to the count mode.
+     */
+    private SearchPage<Member> pageWithoutExactCount(SearchRequest request, Specification<Member> spec,
+            Pageable pageable, CountMode countMode, Optional<RoaringBitmap> candidates) {
+        List<Member> rows = searchMetrics.timeSearch(SearchMetrics.QUERY, request, Operation.PAGE,
+                () -> memberRepository.findSlice(spec, pageable.getOffset(), pageable.getPageSize() + 1));
+        boolean hasNext = rows.size() > pageable.getPageSize();
+        List<Member> content = hasNext ? rows.subList(0, pageable.getPageSize()) : rows;
+        Total total = settleTotal(request, spec, pageable, countMode, candidates, content.size(), hasNext,
+                Operation.PAGE);
+        return new SearchPage<>(content, pageable, total.value(), countMode, total.exact());
+    }
+
+    private record Total(long value, boolean exact) {
+    }
+
+    /**
+     * Work out the total for a page of {@code contentSize} rows, knowing whether more rows
+     * follow it. A short page already pins down the exact total; otherwise the count mode
+     * decides how much more work is spent on it.
+     */
+    private Total settleTotal(SearchRequest request, Specification<Member> spec, Pageable pageable,
+            CountMode countMode, Optional<RoaringBitmap> candidates, int contentSize, boolean hasNext,
+            Operation operation) {
+        long seen = pageable.getOffset() + contentSize;
+        if (!hasNext && (contentSize > 0 || pageable.getOffset() == 0)) {
+            return new Total(seen, true);
+        }
+        long lowerBound = hasNext ? seen + 1 : seen;
+        OptionalLong resolved = resolvedTotal(request, candidates);
+        if (resolved.isPresent()) {
+            return new Total(resolved.getAsLong(), true);
+        }
+
+        switch (countMode) {
+            case EXACT -> {
+                return new Total(searchMetrics.timeSearch(SearchMetrics.COUNT, request, operation,
+                        () -> memberRepository.count(spec)), true);
+            }
+            case CAPPED -> {
+                long count = searchMetrics.timeSearch(SearchMetrics.COUNT, request, operation,
+                        () -> memberRepository.countUpTo(spec, request.getCountCap()));
+                boolean exact = count <= request.getCountCap();
+                return new Total(Math.max(exact ? count : request.getCountCap(), lowerBound), exact);
+            }
+            case ESTIMATED -> {
+                OptionalLong nameCount = candidates.map(ids -> OptionalLong.of(ids.getLongCardinality()))
+                        .orElse(OptionalLong.empty());
+                OptionalLong estimate = memberStatistics.estimate(request, nameCount);
+                if (estimate.isPresent()) {
+                    return new Total(Math.max(estimate.getAsLong(), lowerBound), MemberStatistics.isExactFor(request));
+                }
+                return new Total(lowerBound, false);
+            }
+            default -> {
+                return new Total(lowerBound, false);
+            }
+        }
+    }
+
+    /**
+     * Resolve the filters the in-memory indexes cover: names through the trigram index, or
+     * the fuzzy index under fuzzy matching, business unit, country and entitlement through
+     * the category bitmaps.
+     *
+     * @return ids that can replace the name predicates of the specification, or empty
+     *         when the names are unresolved or the ids would make too long a list
+     */
+    private Optional<RoaringBitmap> findCandidates(SearchRequest request) {
+        return findCandidates(request, findFuzzyMatches(request));
+    }
+
+    private Optional<RoaringBitmap> findCandidates(SearchRequest request,
+            Optional<MemberFuzzyNameIndex.Matches> fuzzyMatches) {
+        Optional<RoaringBitmap> nameMatches = findNameMatches(request, fuzzyMatches);
+        Optional<RoaringBitmap> categoryMatches = memberCategoryIndex.findCandidates(request);
+        if (categoryMatches.isEmpty()) {
+            return nameMatches;
+        }
+        if (nameMatches.isPresent()) {
+            return Optional.of(RoaringBitmap.and(nameMatches.get(), categoryMatches.get()));
+        }
+        RoaringBitmap ids = categoryMatches.get();
+        if (ids.isEmpty()) {
+            // No member passes the categorical filters, whatever the names
+            return categoryMatches;
+        }
+        if (MemberNameIndex.hasNameFilter(request)
+                || ids.getLongCardinality() > memberCategoryIndex.getMaxCandidates()) {
+            return Optional.empty();
+        }
+        return categoryMatches;
+    }
+
+    /**
+     * The fuzzy index's matches for the first and last name filters under fuzzy matching;
+     * empty otherwise. Only the index matches names fuzzily, so without it the search is
+     * refused rather than answered by substring matching.
+     */
+    private Optional<MemberFuzzyNameIndex.Matches> findFuzzyMatches(SearchRequest request) {
+        if (request.getNameMatch() != NameMatch.FUZZY || !MemberFuzzyNameIndex.hasFuzzyNames(request)) {
+            return Optional.empty();
+        }
+        if (!memberFuzzyNameIndex.isEnabled()) {
+            throw new InvalidSearchRequestException("Fuzzy name matching is disabled on this server");
+        }
+        if (!memberFuzzyNameIndex.isReady()) {
+            throw new ServiceBusyException("Fuzzy name index is not available yet. Please try again later.");
+        }
+        return memberFuzzyNameIndex.findMatches(request);
+    }
+
+    /**
+     * Resolve the name filters through the request's fuzzy matches when there are any,
+     * falling back to the trigram index.
+     *
+     * @return the ids of all members matching the names, whether entitled or not, or empty
+     *         when unresolved
+     */
+    private Optional<RoaringBitmap> findNameMatches(SearchRequest request,
+            Optional<MemberFuzzyNameIndex.Matches> fuzzyMatches) {
+        Optional<RoaringBitmap> nameMatches = fuzzyMatches.map(MemberFuzzyNameIndex.Matches::ids);
+        return nameMatches.isPresent() ? nameMatches : memberNameIndex.findCandidates(request);
+    }
+
+    /**
+     * The exact total when the candidates already apply every filter of the request,
+     * which holds unless it also filters on the source member id.
+     */
+    private OptionalLong resolvedTotal(SearchRequest request, Optional<RoaringBitmap> candidates) {
+        if (candidates.isEmpty() || StringUtils.hasText(request.getSourceMemberId())
+                || !memberCategoryIndex.isReady()) {
+            return OptionalLong.empty();
+        }
+        return OptionalLong.of(candidates.get().getLongCardinality());
+    }
+
+    /**
+     * Build the database specification, replacing the name filters with an id lookup
+     * when the in-memory indexes resolved the request to candidate ids. The predicates
+     * are only built when the query is rendered, once per query run with the
+     * specification, so that is what the spec timer records.
+     */
+    private Specification<Member> buildSpecification(SearchRequest request, Optional<RoaringBitmap> candidates,
+            Operation operation) {
+        Specification<Member> spec = candidates
+                .map(ids -> memberRepository.buildSpecification(request, toIdList(ids)))
+                .orElseGet(() -> memberRepository.buildSpecification(request));
+        return (root, query, cb) -> searchMetrics.timeSearch(SearchMetrics.SPEC_BUILD, request, operation,
+                () -> spec.toPredicate(root, query, cb));
+    }
+
+    private static List<Long> toIdList(RoaringBitmap ids) {
+        List<Long> list = new ArrayList<>(ids.getCardinality());
+        ids.forEach((int id) -> list.add((long) id));
+        return list;
+    }
 }
@@ -0,0 +1,106 @@
+package com.example.membersearch.service;
+
+import com.example.membersearch.dto.CacheStatistics;
+import com.example.membersearch.dto.SearchRequest;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded LRU cache of natural-language queries to the search requests parsed from
+ * them. Parsing is a pure function of the query and the dictionaries, so entries only
+ * stay valid for the dictionaries they were parsed with; reloading the dictionaries
+ * clears the cache. Requests are copied in and out, since callers adjust paging on them.
+ */
+@Component
+public class ParsedQueryCache {
+
+    public static final String LOOKUPS = "membersearch.ai.parse.cache";
+
+    private record Entry(SearchRequest request, QueryDictionary dictionary) {
+    }
+
+    private final boolean enabled;
+    private final int maxSize;
+    private final LinkedHashMap<String, Entry> entries;
+    private final Counter hitCounter;
+    private final Counter missCounter;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long invalidations;
+
+    public ParsedQueryCache(MeterRegistry registry,
+            @Value("${membersearch.ai.parse-cache.enabled:true}") boolean enabled,
+            @Value("${membersearch.ai.parse-cache.max-size:1000}") int maxSize) {
+        this.enabled = enabled;
+        this.maxSize = maxSize;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > ParsedQueryCache.this.maxSize) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+        this.hitCounter = Counter.builder(LOOKUPS).tag("result", "hit").register(registry);
+        this.missCounter = Counter.builder(LOOKUPS).tag("result", "miss").register(registry);
+    }
+
+    /**
+     * The cache key of a query. The parser works on whitespace-separated words and reads
+     * capitalization, so only surrounding and repeated whitespace is normalized away.
+     */
+    public static String normalize(String query) {
+        return query.strip().replaceAll("\\s+", " ");
+    }
+
+    /**
+     * @return a copy of the request parsed from the normalized query with these
+     *         dictionaries, or {@code null} on a miss
+     */
+    public SearchRequest get(String normalizedQuery, QueryDictionary dictionary) {
+        if (!enabled) {
+            return null;
+        }
+        SearchRequest request;
+        synchronized (this) {
+            Entry entry = entries.get(normalizedQuery);
+            if (entry == null || entry.dictionary() != dictionary) {
+                misses++;
+                request = null;
+            } else {
+                hits++;
+                request = entry.request();
+            }
+        }
+        (request != null ? hitCounter : missCounter).increment();
+        return request != null ? request.copy() : null;
+    }
+
+    public void put(String normalizedQuery, QueryDictionary dictionary, SearchRequest request) {
+        if (!enabled) {
+            return;
+        }
+        SearchRequest copy = request.copy();
+        synchronized (this) {
+            entries.put(normalizedQuery, new Entry(copy, dictionary));
+        }
+    }
+
+    public synchronized void clear() {
+        invalidations += entries.size();
+        entries.clear();
+    }
+
+    public synchronized CacheStatistics statistics() {
+        return new CacheStatistics(entries.size(), maxSize, hits, misses, evictions, invalidations);
+    }
+}
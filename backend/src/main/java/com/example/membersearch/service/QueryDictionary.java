@@ -0,0 +1,223 @@
+package com.example.membersearch.service;
+
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+
+/**
+ * Compiled dictionaries for the natural-language query parser.
+ * Business units and countries are compiled into a single word-level Aho-Corasick
+ * automaton, so matching a query is one pass over its words no matter how many
+ * entries the dictionaries hold. Instances are immutable and safe to share.
+ */
+public final class QueryDictionary {
+
+    static final String BUSINESS_UNITS_FILE = "business-units.txt";
+    static final String COUNTRIES_FILE = "countries.txt";
+    static final String STOP_WORDS_FILE = "stop-words.txt";
+
+    private static final int[] NO_OUTPUTS = new int[0];
+
+    private static final class Node {
+        private final Map<String, Node> next = new HashMap<>();
+        private Node fail;
+        private int[] outputs = NO_OUTPUTS;
+    }
+
+    /**
+     * Dictionary terms found in a query, in dictionary order.
+     */
+    public record Match(List<String> businessUnits, String country) {
+    }
+
+    private final Node root = new Node();
+    // Business units first, then countries, each in file order; automaton outputs index into this
+    private final String[] entries;
+    private final int businessUnitCount;
+    private final Set<String> knownTerms = new HashSet<>();
+    private final Set<String> stopWords = new HashSet<>();
+
+    private QueryDictionary(List<String> businessUnits, List<String> countries, List<String> stopWords) {
+        this.businessUnitCount = businessUnits.size();
+        this.entries = new String[businessUnits.size() + countries.size()];
+        for (int i = 0; i < entries.length; i++) {
+            entries[i] = i < businessUnitCount ? businessUnits.get(i) : countries.get(i - businessUnitCount);
+            knownTerms.add(entries[i].toLowerCase(Locale.ROOT));
+            insert(entries[i], i);
+        }
+        stopWords.forEach(word -> this.stopWords.add(word.toLowerCase(Locale.ROOT)));
+        linkFailures();
+    }
+
+    public static QueryDictionary of(List<String> businessUnits, List<String> countries, List<String> stopWords) {
+        return new QueryDictionary(businessUnits, countries, stopWords);
+    }
+
+    /**
+     * Load the dictionaries from {@code location}, a directory URL such as
+     * {@code classpath:dictionaries/} holding one entry per line; blank lines and
+     * lines starting with {@code #} are ignored.
+     */
+    public static QueryDictionary load(ResourceLoader resourceLoader, String location) throws IOException {
+        String base = location.endsWith("/") ? location : location + "/";
+        return new QueryDictionary(
+                readEntries(resourceLoader.getResource(base + BUSINESS_UNITS_FILE)),
+                readEntries(resourceLoader.getResource(base + COUNTRIES_FILE)),
+                readEntries(resourceLoader.getResource(base + STOP_WORDS_FILE)));
+    }
+
+    private static List<String> readEntries(Resource resource) throws IOException {
+        List<String> result = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String entry = line.trim();
+                if (!entry.isEmpty() && !entry.startsWith("#")) {
+                    result.add(entry);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Find the business units and the country mentioned in a query as whole words,
+     * ignoring case. Business units are returned in dictionary order; when several
+     * countries occur, the one listed first in the dictionary wins.
+     */
+    public Match match(String query) {
+        BitSet found = new BitSet();
+        Node state = root;
+        int length = query.length();
+        int i = 0;
+        while (i < length) {
+            while (i < length && !isWordChar(query.charAt(i))) {
+                i++;
+            }
+            int start = i;
+            while (i < length && isWordChar(query.charAt(i))) {
+                i++;
+            }
+            if (start == i) {
+                break;
+            }
+            String word = query.substring(start, i).toLowerCase(Locale.ROOT);
+            while (state != root && !state.next.containsKey(word)) {
+                state = state.fail;
+            }
+            state = state.next.getOrDefault(word, root);
+            for (int output : state.outputs) {
+                found.set(output);
+            }
+        }
+
+        List<String> businessUnits = new ArrayList<>();
+        for (int e = found.nextSetBit(0); e >= 0 && e < businessUnitCount; e = found.nextSetBit(e + 1)) {
+            businessUnits.add(entries[e]);
+        }
+        int country = found.nextSetBit(businessUnitCount);
+        return new Match(businessUnits, country >= 0 ? entries[country] : null);
+    }
+
+    /**
+     * Whether a word is, ignoring case, exactly one of the business units or countries.
+     */
+    public boolean isKnownTerm(String word) {
+        return knownTerms.contains(word.toLowerCase(Locale.ROOT));
+    }
+
+    public boolean isStopWord(String word) {
+        return stopWords.contains(word.toLowerCase(Locale.ROOT));
+    }
+
+    public List<String> getBusinessUnits() {
+        return Collections.unmodifiableList(Arrays.asList(entries).subList(0, businessUnitCount));
+    }
+
+    public List<String> getCountries() {
+        return Collections.unmodifiableList(Arrays.asList(entries).subList(businessUnitCount, entries.length));
+    }
+
+    public int getStopWordCount() {
+        return stopWords.size();
+    }
+
+    private void insert(String entry, int index) {
+        Node node = root;
+        for (String word : words(entry)) {
+            node = node.next.computeIfAbsent(word, w -> new Node());
+        }
+        if (node != root) {
+            node.outputs = append(node.outputs, index);
+        }
+    }
+
+    private void linkFailures() {
+        Queue<Node> queue = new ArrayDeque<>();
+        for (Node child : root.next.values()) {
+            child.fail = root;
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            Node node = queue.remove();
+            for (Map.Entry<String, Node> edge : node.next.entrySet()) {
+                Node child = edge.getValue();
+                Node fail = node.fail;
+                while (fail != root && !fail.next.containsKey(edge.getKey())) {
+                    fail = fail.fail;
+                }
+                child.fail = fail.next.getOrDefault(edge.getKey(), root);
+                for (int output : child.fail.outputs) {
+                    child.outputs = append(child.outputs, output);
+                }
+                queue.add(child);
+            }
+        }
+    }
+
+    private static List<String> words(String text) {
+        List<String> words = new ArrayList<>();
+        int i = 0;
+        while (i < text.length()) {
+            while (i < text.length() && !isWordChar(text.charAt(i))) {
+                i++;
+            }
+            int start = i;
+            while (i < text.length() && isWordChar(text.charAt(i))) {
+                i++;
+            }
+            if (start < i) {
+                words.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+            }
+        }
+        return words;
+    }
+
+    private static int[] append(int[] values, int value) {
+        int[] result = Arrays.copyOf(values, values.length + 1);
+        result[values.length] = value;
+        return result;
+    }
+
+    // Same notion of a word character as the regex \b the parser used to rely on
+    private static boolean isWordChar(char c) {
+        return Character.isLetterOrDigit(c) || c == '_';
+    }
+}
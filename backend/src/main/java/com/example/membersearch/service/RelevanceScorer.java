@@ -0,0 +1,71 @@
+package com.example.membersearch.service;
+
+import com.example.membersearch.dto.ResultOrder;
+import com.example.membersearch.dto.SearchRequest;
+import com.example.membersearch.model.Member;
+import org.springframework.util.StringUtils;
+
+/**
+ * Scores how well a member's names match the name filters of a request, for
+ * {@link ResultOrder#RELEVANCE}. Each filtered name earns its match tier (exact, prefix
+ * or substring) times the field's weight; higher is better.
+ */
+final class RelevanceScorer {
+
+    private static final int EXACT = 3;
+    private static final int PREFIX = 2;
+    private static final int SUBSTRING = 1;
+
+    private static final int LAST_NAME_WEIGHT = 3;
+    private static final int FIRST_NAME_WEIGHT = 2;
+    private static final int MIDDLE_NAME_WEIGHT = 1;
+
+    private final String firstName;
+    private final String middleName;
+    private final String lastName;
+
+    RelevanceScorer(SearchRequest request) {
+        this.firstName = termOrNull(request.getFirstName());
+        this.middleName = termOrNull(request.getMiddleName());
+        this.lastName = termOrNull(request.getLastName());
+    }
+
+    /**
+     * Whether relevance can tell the matches of a request apart; without name filters
+     * every match scores the same. The source member id is unique, so it never needs
+     * ranking.
+     */
+    static boolean applies(SearchRequest request) {
+        return request.getOrder() == ResultOrder.RELEVANCE
+                && !StringUtils.hasText(request.getSourceMemberId())
+                && (StringUtils.hasText(request.getFirstName()) || StringUtils.hasText(request.getMiddleName())
+                        || StringUtils.hasText(request.getLastName()));
+    }
+
+    /**
+     * Score a member by its normalized names.
+     */
+    int score(String firstNameNormalized, String middleNameNormalized, String lastNameNormalized) {
+        return FIRST_NAME_WEIGHT * tier(firstNameNormalized, firstName)
+                + MIDDLE_NAME_WEIGHT * tier(middleNameNormalized, middleName)
+                + LAST_NAME_WEIGHT * tier(lastNameNormalized, lastName);
+    }
+
+    private static int tier(String name, String term) {
+        if (term == null || name == null) {
+            return 0;
+        }
+        if (name.equals(term)) {
+            return EXACT;
+        }
+        if (name.startsWith(term)) {
+            return PREFIX;
+        }
+        // LIKE wildcards in the term may make a database match that is no plain substring
+        return SUBSTRING;
+    }
+
+    private static String termOrNull(String value) {
+        return StringUtils.hasText(value) ? Member.normalize(value) : null;
+    }
+}
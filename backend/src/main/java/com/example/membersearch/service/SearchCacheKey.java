@@ -0,0 +1,89 @@
+package com.example.membersearch.service;
+
+import com.example.membersearch.dto.CountMode;
+import com.example.membersearch.dto.FacetField;
+import com.example.membersearch.dto.NameMatch;
+import com.example.membersearch.dto.ResultOrder;
+import com.example.membersearch.dto.SearchRequest;
+import com.example.membersearch.model.Member;
+import org.springframework.util.StringUtils;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Normalized form of a {@link SearchRequest}: requests that are bound to return the same
+ * page produce equal keys. Name filters ignore case and surrounding whitespace, so they
+ * are normalized like the stored names; business units are an unordered set; blank
+ * filters are dropped.
+ */
+public record SearchCacheKey(String firstName, String middleName, String lastName, NameMatch nameMatch,
+        List<String> businessUnits, String country, String sourceMemberId, int page, int size, CountMode countMode,
+        int countCap, ResultOrder order, Set<FacetField> facets) {
+
+    public static SearchCacheKey of(SearchRequest request) {
+        CountMode countMode = request.getCountMode() != null ? request.getCountMode() : CountMode.EXACT;
+        List<String> businessUnits = request.getBusinessUnits() == null || request.getBusinessUnits().isEmpty()
+                ? null
+                : request.getBusinessUnits().stream().filter(Objects::nonNull).distinct().sorted().toList();
+        return new SearchCacheKey(
+                lowerOrNull(request.getFirstName()),
+                lowerOrNull(request.getMiddleName()),
+                lowerOrNull(request.getLastName()),
+                request.getNameMatch() != null ? request.getNameMatch() : NameMatch.CONTAINS,
+                businessUnits,
+                textOrNull(request.getCountry()),
+                textOrNull(request.getSourceMemberId()),
+                request.getPage(),
+                request.getSize(),
+                countMode,
+                countMode == CountMode.CAPPED ? request.getCountCap() : 0,
+                RelevanceScorer.applies(request) ? ResultOrder.RELEVANCE : ResultOrder.ID,
+                request.getFacets() == null || request.getFacets().isEmpty()
+                        ? null
+                        : Set.copyOf(request.getFacets()));
+    }
+
+    /**
+     * Whether a member satisfies the filters of this key, mirroring
+     * {@code MemberRepository.buildSpecification}. Name terms containing LIKE
+     * wildcards, and all names under fuzzy matching, are treated as matching any
+     * value, which errs on the side of invalidating too much rather than too little.
+     * A faceted key ignores its facets' own filters, since their counts cover members
+     * outside those filters.
+     */
+    public boolean matches(Member member) {
+        return member.isEntitled()
+                && nameMatches(member.getFirstName(), firstName)
+                && nameMatches(member.getMiddleName(), middleName)
+                && nameMatches(member.getLastName(), lastName)
+                && (businessUnits == null || hasFacet(FacetField.BUSINESS_UNIT)
+                        || businessUnits.contains(member.getBusinessUnit()))
+                && (country == null || hasFacet(FacetField.COUNTRY) || country.equals(member.getCountry()))
+                && (sourceMemberId == null || sourceMemberId.equals(member.getSourceMemberId()));
+    }
+
+    private boolean hasFacet(FacetField facet) {
+        return facets != null && facets.contains(facet);
+    }
+
+    private boolean nameMatches(String value, String term) {
+        if (term == null || nameMatch == NameMatch.FUZZY || term.indexOf('%') >= 0 || term.indexOf('_') >= 0) {
+            return true;
+        }
+        if (value == null) {
+            return false;
+        }
+        String name = Member.normalize(value);
+        return nameMatch == NameMatch.PREFIX ? name.startsWith(term) : name.contains(term);
+    }
+
+    private static String lowerOrNull(String value) {
+        return StringUtils.hasText(value) ? Member.normalize(value) : null;
+    }
+
+    private static String textOrNull(String value) {
+        return StringUtils.hasText(value) ? value : null;
+    }
+}
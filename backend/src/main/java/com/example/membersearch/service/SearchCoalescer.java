@@ -0,0 +1,90 @@
+package com.example.membersearch.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Collapses concurrent identical searches into one execution: the first caller for a
+ * key runs the search and every caller arriving while it is in flight waits for and
+ * shares its result, or its exception. Flights are also keyed by the search cache
+ * generation, so a search starting after a member change never joins one that started
+ * before it and results are no staler than running each search alone.
+ */
+@Component
+public class SearchCoalescer {
+
+    public static final String EXECUTED = "membersearch.search.coalescing.executed";
+    public static final String COLLAPSED = "membersearch.search.coalescing.collapsed";
+
+    private record Flight(SearchCacheKey key, long generation) {
+    }
+
+    private final boolean enabled;
+    private final ConcurrentMap<Flight, CompletableFuture<?>> inFlight = new ConcurrentHashMap<>();
+    private final Counter executed;
+    private final Counter collapsed;
+
+    public SearchCoalescer(MeterRegistry registry,
+            @Value("${membersearch.search.coalescing.enabled:true}") boolean enabled) {
+        this.enabled = enabled;
+        this.executed = Counter.builder(EXECUTED)
+                .description("Searches executed on behalf of one or more identical concurrent requests")
+                .register(registry);
+        this.collapsed = Counter.builder(COLLAPSED)
+                .description("Searches answered by joining an identical search already in flight")
+                .register(registry);
+        registry.gauge("membersearch.search.coalescing.in-flight", inFlight, ConcurrentMap::size);
+    }
+
+    /**
+     * Run {@code search} unless an identical search for the same cache generation is
+     * already running, in which case wait for that one's result instead.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(SearchCacheKey key, long generation, Supplier<T> search) {
+        if (!enabled) {
+            return search.get();
+        }
+        Flight flight = new Flight(key, generation);
+        CompletableFuture<T> own = new CompletableFuture<>();
+        CompletableFuture<T> running = (CompletableFuture<T>) inFlight.putIfAbsent(flight, own);
+        if (running != null) {
+            collapsed.increment();
+            return join(running);
+        }
+        executed.increment();
+        try {
+            T result = search.get();
+            own.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            own.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(flight, own);
+        }
+    }
+
+    private static <T> T join(CompletableFuture<T> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            // Rethrow the leader's exception as is, so waiters map to the same response
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
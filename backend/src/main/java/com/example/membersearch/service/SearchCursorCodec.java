@@ -0,0 +1,47 @@
+package com.example.membersearch.service;
+
+import com.example.membersearch.exception.InvalidSearchRequestException;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Map;
+
+/**
+ * Encodes keyset scroll positions as opaque cursor tokens and back.
+ * Results are ordered by id, so the cursor only carries the last id returned.
+ */
+public final class SearchCursorCodec {
+
+    static final String SORT_KEY = "id";
+    private static final String PREFIX = "v1:";
+
+    private SearchCursorCodec() {
+    }
+
+    public static String encode(ScrollPosition position) {
+        Object lastId = ((KeysetScrollPosition) position).getKeys().get(SORT_KEY);
+        String raw = PREFIX + lastId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return the position after the cursor, or the start of the result set for a blank cursor
+     */
+    public static KeysetScrollPosition decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!raw.startsWith(PREFIX)) {
+                throw new InvalidSearchRequestException("Invalid search cursor: " + cursor);
+            }
+            long lastId = Long.parseLong(raw.substring(PREFIX.length()));
+            return ScrollPosition.forward(Map.of(SORT_KEY, lastId));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidSearchRequestException("Invalid search cursor: " + cursor, e);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.membersearch.service;
+
+import com.example.membersearch.dto.CacheStatistics;
+import com.example.membersearch.event.MemberChangedEvent;
+import com.example.membersearch.model.Member;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Bounded LRU cache of search result pages keyed by {@link SearchCacheKey}.
+ * Entries expire after a TTL and are invalidated when a member change could
+ * alter them: the member matched the cached filters before or after the change,
+ * or the member is shown on the cached page.
+ */
+@Component
+public class SearchResultCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(SearchResultCache.class);
+
+    private record Entry(Page<Member> page, long expiresAt) {
+    }
+
+    private final boolean enabled;
+    private final int maxSize;
+    private final long ttlMillis;
+    private final LinkedHashMap<SearchCacheKey, Entry> entries;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long invalidations;
+    // Bumped on every invalidation so searches that raced with a change do not cache stale pages
+    private long generation;
+
+    public SearchResultCache(@Value("${membersearch.cache.search.enabled:true}") boolean enabled,
+            @Value("${membersearch.cache.search.max-size:500}") int maxSize,
+            @Value("${membersearch.cache.search.ttl:60s}") Duration ttl) {
+        this.enabled = enabled;
+        this.maxSize = maxSize;
+        this.ttlMillis = ttl.toMillis();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<SearchCacheKey, Entry> eldest) {
+                if (size() > SearchResultCache.this.maxSize) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * @return the cached page, or {@code null} on a miss
+     */
+    public synchronized Page<Member> get(SearchCacheKey key) {
+        if (!enabled) {
+            return null;
+        }
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        if (entry.expiresAt() <= System.currentTimeMillis()) {
+            entries.remove(key);
+            evictions++;
+            misses++;
+            return null;
+        }
+        hits++;
+        return entry.page();
+    }
+
+    /**
+     * Generation to pass to {@link #put}; read it before running the query.
+     */
+    public synchronized long generation() {
+        return generation;
+    }
+
+    /**
+     * Cache a page unless a member changed since {@code generation} was read.
+     */
+    public synchronized void put(SearchCacheKey key, Page<Member> page, long generation) {
+        if (!enabled || generation != this.generation) {
+            return;
+        }
+        entries.put(key, new Entry(page, System.currentTimeMillis() + ttlMillis));
+    }
+
+    @EventListener
+    public synchronized void onMemberChanged(MemberChangedEvent event) {
+        generation++;
+        Member previous = event.previous();
+        Member current = event.current();
+        Iterator<Map.Entry<SearchCacheKey, Entry>> it = entries.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<SearchCacheKey, Entry> entry = it.next();
+            SearchCacheKey key = entry.getKey();
+            if ((previous != null && key.matches(previous)) || key.matches(current)
+                    || containsMember(entry.getValue().page(), current.getId())) {
+                it.remove();
+                invalidations++;
+            }
+        }
+    }
+
+    public synchronized void clear() {
+        generation++;
+        invalidations += entries.size();
+        entries.clear();
+        logger.info("Search result cache cleared");
+    }
+
+    public synchronized CacheStatistics statistics() {
+        return new CacheStatistics(entries.size(), maxSize, hits, misses, evictions, invalidations);
+    }
+
+    private static boolean containsMember(Page<Member> page, Long id) {
+        for (Member member : page.getContent()) {
+            if (Objects.equals(member.getId(), id)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.membersearch.service;
+
+import java.util.Arrays;
+
+/**
+ * Keeps the {@code k} best of a stream of scored ids: highest score first, ties by
+ * lowest id. A min-heap of primitives with the worst kept entry at the root, so each
+ * offer costs at most O(log k) and memory stays at k entries however many are offered.
+ * The heap grows as entries arrive, so a large {@code k} over few offers stays small.
+ */
+final class TopK {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final int k;
+    private long[] ids;
+    private int[] scores;
+    private int size;
+
+    TopK(int k) {
+        this.k = k;
+        this.ids = new long[Math.min(k, INITIAL_CAPACITY)];
+        this.scores = new int[ids.length];
+    }
+
+    void offer(long id, int score) {
+        if (size < k) {
+            if (size == ids.length) {
+                grow();
+            }
+            ids[size] = id;
+            scores[size] = score;
+            siftUp(size++);
+        } else if (k > 0 && better(id, score, ids[0], scores[0])) {
+            ids[0] = id;
+            scores[0] = score;
+            siftDown(0);
+        }
+    }
+
+    /**
+     * The kept ids, best first. Empties the heap.
+     */
+    long[] drain() {
+        long[] best = new long[size];
+        for (int i = size - 1; i >= 0; i--) {
+            best[i] = ids[0];
+            size--;
+            ids[0] = ids[size];
+            scores[0] = scores[size];
+            siftDown(0);
+        }
+        return best;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private void grow() {
+        int capacity = (int) Math.min(k, 2L * ids.length);
+        ids = Arrays.copyOf(ids, capacity);
+        scores = Arrays.copyOf(scores, capacity);
+    }
+
+    private static boolean better(long id, int score, long otherId, int otherScore) {
+        return score != otherScore ? score > otherScore : id < otherId;
+    }
+
+    private void siftUp(int i) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!better(ids[parent], scores[parent], ids[i], scores[i])) {
+                return;
+            }
+            swap(i, parent);
+            i = parent;
+        }
+    }
+
+    private void siftDown(int i) {
+        while (true) {
+            int left = 2 * i + 1;
+            if (left >= size) {
+                return;
+            }
+            int worst = left;
+            int right = left + 1;
+            if (right < size && better(ids[left], scores[left], ids[right], scores[right])) {
+                worst = right;
+            }
+            if (!better(ids[i], scores[i], ids[worst], scores[worst])) {
+                return;
+            }
+            swap(i, worst);
+            i = worst;
+        }
+    }
+
+    private void swap(int a, int b) {
+        long id = ids[a];
+        ids[a] = ids[b];
+        ids[b] = id;
+        int score = scores[a];
+        scores[a] = scores[b];
+        scores[b] = score;
+    }
+}
@@ -0,0 +1,11 @@
+-- Baseline: the member table as Hibernate generated it before the schema was versioned
+create table if not exists member (
+    id bigint generated by default as identity primary key,
+    first_name varchar(100),
+    middle_name varchar(100),
+    last_name varchar(100),
+    business_unit varchar(100),
+    country varchar(100),
+    source_member_id varchar(50),
+    entitled boolean not null
+);
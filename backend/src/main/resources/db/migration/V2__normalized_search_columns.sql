@@ -0,0 +1,28 @@
+-- Lowercased, trimmed copies of the name columns, maintained by the entity, so name
+-- filters compare plain columns instead of applying lower() to every row
+alter table member add column first_name_norm varchar(100);
+alter table member add column middle_name_norm varchar(100);
+alter table member add column last_name_norm varchar(100);
+
+update member
+set first_name_norm = lower(trim(first_name)),
+    middle_name_norm = lower(trim(middle_name)),
+    last_name_norm = lower(trim(last_name));
+
+-- Prefix and exact name searches
+create index idx_member_first_name_norm on member (first_name_norm);
+create index idx_member_last_name_norm on member (last_name_norm);
+create index idx_member_middle_name_norm on member (middle_name_norm);
+
+-- Every search filters on entitled; country and business unit are the common companions
+create index idx_member_entitled_country_unit on member (entitled, country, business_unit);
+create index idx_member_business_unit on member (business_unit);
+create index idx_member_country on member (country);
+
+-- Source system ids identify a member; nulls are allowed and not considered duplicates.
+-- Databases created before this migration may hold duplicates; SourceMemberIdCheck stops
+-- the upgrade before this migration runs and lists them. To upgrade, find them with
+--   select source_member_id, count(*) from member where source_member_id is not null
+--   group by source_member_id having count(*) > 1;
+-- give each id to at most one member (correct or clear it on the others), then restart.
+create unique index uk_member_source_member_id on member (source_member_id);
@@ -0,0 +1,3 @@
+-- Optimistic concurrency: every update bumps the version and conditional updates only
+-- apply while the row is still at the version the writer read
+alter table member add column version bigint default 0 not null;
@@ -0,0 +1,13 @@
+-- Field-level audit trail of member updates, appended in batches by the audit writer;
+-- one row per changed field
+create table member_audit (
+    id bigint generated by default as identity primary key,
+    member_id bigint not null,
+    version bigint,
+    changed_at timestamp not null,
+    field varchar(30) not null,
+    old_value varchar(100),
+    new_value varchar(100)
+);
+
+create index idx_member_audit_member on member_audit (member_id, changed_at);
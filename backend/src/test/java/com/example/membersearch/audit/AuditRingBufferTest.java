@@ -0,0 +1,98 @@
+package com.example.membersearch.audit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuditRingBufferTest {
+
+    @Test
+    void offer_WhenFull_FailsUntilDrained() {
+        // Arrange
+        AuditRingBuffer<Integer> buffer = new AuditRingBuffer<>(3);
+        List<Integer> drained = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < 4; i++) {
+            assertTrue(buffer.offer(i));
+        }
+        boolean overflow = buffer.offer(4);
+        buffer.drain(drained::add, 2);
+        boolean afterDrain = buffer.offer(5);
+
+        // Assert
+        assertEquals(4, buffer.capacity());
+        assertFalse(overflow);
+        assertTrue(afterDrain);
+        assertEquals(List.of(0, 1), drained);
+        assertEquals(3, buffer.size());
+    }
+
+    @Test
+    void drain_AcrossManyLaps_ReturnsValuesInOrder() {
+        // Arrange
+        AuditRingBuffer<Integer> buffer = new AuditRingBuffer<>(4);
+        List<Integer> drained = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < 100; i++) {
+            buffer.offer(i);
+            if (i % 3 == 2) {
+                buffer.drain(drained::add, 10);
+            }
+        }
+        buffer.drain(drained::add, 10);
+
+        // Assert
+        assertEquals(100, drained.size());
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i, drained.get(i));
+        }
+        assertEquals(0, buffer.size());
+    }
+
+    @Test
+    void offer_FromConcurrentProducers_DeliversEveryValueOnce() throws Exception {
+        // Arrange
+        int producers = 4;
+        int perProducer = 50_000;
+        AuditRingBuffer<Integer> buffer = new AuditRingBuffer<>(1024);
+        BitSet seen = new BitSet(producers * perProducer);
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        CountDownLatch done = new CountDownLatch(producers);
+
+        // Act
+        for (int p = 0; p < producers; p++) {
+            int first = p * perProducer;
+            executor.execute(() -> {
+                for (int i = first; i < first + perProducer; i++) {
+                    while (!buffer.offer(i)) {
+                        Thread.onSpinWait();
+                    }
+                }
+                done.countDown();
+            });
+        }
+        int received = 0;
+        while (received < producers * perProducer) {
+            received += buffer.drain(value -> {
+                assertFalse(seen.get(value), "delivered twice: " + value);
+                seen.set(value);
+            }, 256);
+        }
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        executor.shutdown();
+
+        // Assert
+        assertEquals(producers * perProducer, seen.cardinality());
+        assertEquals(0, buffer.size());
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.membersearch.audit;
+
+import com.example.membersearch.event.MemberChangedEvent;
+import com.example.membersearch.model.Member;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MemberAuditLogTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private MemberAuditLog auditLog;
+
+    @AfterEach
+    void tearDown() {
+        auditLog.stop();
+    }
+
+    @Test
+    void onMemberChanged_WritesOneRowPerChangedFieldInTheBackground() {
+        // Arrange
+        auditLog = auditLog(16, MemberAuditLog.OverflowPolicy.DROP);
+        Member previous = new Member(1L, "John", null, "Doe", "IT", "USA", "1001", true);
+        Member current = new Member(1L, "John", null, "Doe", "HR", "UK", "1001", true);
+        current.setVersion(4L);
+        List<AuditEntry> rows = captureWrites();
+
+        // Act
+        auditLog.onMemberChanged(new MemberChangedEvent(previous, current));
+        auditLog.start();
+        auditLog.stop();
+
+        // Assert
+        assertEquals(List.of("businessUnit", "country"), rows.stream().map(AuditEntry::field).toList());
+        assertEquals("IT", rows.get(0).oldValue());
+        assertEquals("HR", rows.get(0).newValue());
+        assertEquals(4L, rows.get(0).version());
+        assertEquals(1.0, meterRegistry.get(MemberAuditLog.WRITTEN).counter().count());
+    }
+
+    @Test
+    void onMemberChanged_ForInsert_IsNotAudited() {
+        // Arrange
+        auditLog = auditLog(16, MemberAuditLog.OverflowPolicy.DROP);
+
+        // Act
+        auditLog.onMemberChanged(new MemberChangedEvent(null, new Member(1L, "John", null, "Doe", "IT", "USA",
+                "1001", true)));
+
+        // Assert
+        assertEquals(0, auditLog.getQueued());
+        assertEquals(0.0, meterRegistry.get(MemberAuditLog.PUBLISHED).counter().count());
+    }
+
+    @Test
+    void onMemberChanged_WhenBufferFull_DropsAndCounts() {
+        // Arrange
+        auditLog = auditLog(2, MemberAuditLog.OverflowPolicy.DROP);
+
+        // Act
+        for (int i = 0; i < 5; i++) {
+            auditLog.onMemberChanged(update(i));
+        }
+
+        // Assert
+        assertEquals(2, auditLog.getQueued());
+        assertEquals(3, auditLog.getDropped());
+        assertEquals(2.0, meterRegistry.get(MemberAuditLog.PUBLISHED).counter().count());
+    }
+
+    @Test
+    void onMemberChanged_WithBlockPolicy_WaitsForRoomBeforeDropping() {
+        // Arrange
+        auditLog = auditLog(2, MemberAuditLog.OverflowPolicy.BLOCK);
+        auditLog.onMemberChanged(update(1));
+        auditLog.onMemberChanged(update(2));
+
+        // Act
+        long start = System.nanoTime();
+        auditLog.onMemberChanged(update(3));
+        long waitedMs = (System.nanoTime() - start) / 1_000_000;
+
+        // Assert
+        assertTrue(waitedMs >= 20, "waited " + waitedMs + " ms");
+        assertEquals(1, auditLog.getDropped());
+    }
+
+    @Test
+    void start_WhenBatchWriteFails_CountsLostRecords() {
+        // Arrange
+        auditLog = auditLog(16, MemberAuditLog.OverflowPolicy.DROP);
+        when(jdbcTemplate.batchUpdate(eq(MemberAuditLog.INSERT_SQL), anyCollection(), anyInt(), anySetter()))
+                .thenThrow(new DataAccessResourceFailureException("disk full"));
+        auditLog.onMemberChanged(update(1));
+        auditLog.onMemberChanged(update(2));
+
+        // Act
+        auditLog.start();
+        auditLog.stop();
+
+        // Assert
+        assertEquals(2.0, meterRegistry.get(MemberAuditLog.FAILED).counter().count());
+        assertEquals(0.0, meterRegistry.get(MemberAuditLog.WRITTEN).counter().count());
+    }
+
+    private MemberAuditLog auditLog(int capacity, MemberAuditLog.OverflowPolicy policy) {
+        return new MemberAuditLog(jdbcTemplate, meterRegistry, true, capacity, 100, Duration.ofMillis(10), policy,
+                Duration.ofMillis(20));
+    }
+
+    private List<AuditEntry> captureWrites() {
+        List<AuditEntry> rows = new ArrayList<>();
+        when(jdbcTemplate.batchUpdate(eq(MemberAuditLog.INSERT_SQL), anyCollection(), anyInt(), anySetter()))
+                .thenAnswer(invocation -> {
+                    rows.addAll(invocation.<Collection<AuditEntry>>getArgument(1));
+                    return new int[0][];
+                });
+        return rows;
+    }
+
+    private static ParameterizedPreparedStatementSetter<AuditEntry> anySetter() {
+        return any();
+    }
+
+    private static MemberChangedEvent update(long id) {
+        return new MemberChangedEvent(new Member(id, "John", null, "Doe", "IT", "USA", null, true),
+                new Member(id, "Jon", null, "Doe", "IT", "USA", null, true));
+    }
+}
@@ -1,9 +1,29 @@
 package com.example.membersearch.controller;
 
+import com.example.membersearch.dto.BatchSearchRequest;
+import com.example.membersearch.dto.BatchSearchResponse;
+import com.example.membersearch.dto.BatchSearchResult;
+import com.example.membersearch.dto.BulkUpdateRequest;
+import com.example.membersearch.dto.BulkUpdateResponse;
+import com.example.membersearch.dto.BulkUpdateResult;
+import com.example.membersearch.dto.ChangeFeedPage;
+import com.example.membersearch.dto.CursorPage;
+import com.example.membersearch.dto.IngestProgress;
+import com.example.membersearch.dto.MemberChange;
+import com.example.membersearch.dto.MemberField;
+import com.example.membersearch.dto.MemberView;
 import com.example.membersearch.dto.SearchRequest;
+import com.example.membersearch.dto.SlimPage;
+import com.example.membersearch.exception.InvalidSearchRequestException;
 import com.example.membersearch.exception.MemberNotFoundException;
+import com.example.membersearch.exception.MemberVersionConflictException;
 import com.example.membersearch.model.Member;
 import com.example.membersearch.service.AISearchService;
+import com.example.membersearch.service.BatchSearchService;
+import com.example.membersearch.service.ChangeFeedService;
+import com.example.membersearch.service.MemberBulkUpdateService;
+import com.example.membersearch.service.MemberExportService;
+import com.example.membersearch.service.MemberIngestService;
 import com.example.membersearch.service.MemberService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -16,13 +36,24 @@ import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.function.Consumer;
 
 import static org.hamcrest.Matchers.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -42,6 +73,21 @@ class MemberControllerTest {
     @MockBean
     private AISearchService aiSearchService;
 
+    @MockBean
+    private MemberIngestService memberIngestService;
+
+    @MockBean
+    private MemberExportService memberExportService;
+
+    @MockBean
+    private BatchSearchService batchSearchService;
+
+    @MockBean
+    private MemberBulkUpdateService memberBulkUpdateService;
+
+    @MockBean
+    private ChangeFeedService changeFeedService;
+
     private Member testMember;
     private SearchRequest searchRequest;
 
@@ -126,6 +172,22 @@ class MemberControllerTest {
                 .andExpect(jsonPath("$.content[0].businessUnit", is("Engineering")));
     }
 
+    @Test
+    void aiSearch_WithInvalidPaging_ReturnsBadRequest() throws Exception {
+        // Arrange
+        when(aiSearchService.parseQuery("engineers")).thenReturn(new SearchRequest());
+
+        // Act & Assert
+        mockMvc.perform(post("/api/members/search/ai")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("engineers")
+                .param("page", "-1")
+                .param("size", "1000"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", containsString("Page size must not exceed 100")));
+        verify(memberService, never()).searchMembers(any(SearchRequest.class));
+    }
+
     @Test
     void updateMember_WithValidData_ReturnsOk() throws Exception {
         // Arrange
@@ -159,6 +221,73 @@ class MemberControllerTest {
                 .andExpect(jsonPath("$.message", containsString("Member not found")));
     }
 
+    @Test
+    void updateMember_WithStaleVersion_ReturnsConflict() throws Exception {
+        // Arrange
+        Member updatedMember = new Member(1L, "Jane", "B", "Smith", "Sales", "UK", "M002", true);
+        updatedMember.setVersion(3L);
+        when(memberService.updateMember(eq(1L), any(Member.class)))
+                .thenThrow(new MemberVersionConflictException(1L, 3L));
+
+        // Act & Assert
+        mockMvc.perform(put("/api/members/1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(updatedMember)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.status", is(409)))
+                .andExpect(jsonPath("$.message", containsString("since version 3")));
+    }
+
+    @Test
+    void bulkUpdate_WithPatches_ReturnsPerItemResults() throws Exception {
+        // Arrange
+        BulkUpdateResponse response = new BulkUpdateResponse(List.of(
+                BulkUpdateResult.updated(0, 1L, 4L),
+                BulkUpdateResult.failure(1, 2L, 409, "Member 2 has changed since version 1", null)), 1, 1, 3);
+        when(memberBulkUpdateService.update(any(BulkUpdateRequest.class))).thenReturn(response);
+
+        // Act & Assert
+        mockMvc.perform(patch("/api/members/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"items\":[{\"id\":1,\"businessUnit\":\"Sales\"},{\"id\":2,\"version\":1,\"businessUnit\":\"Sales\"}]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updated", is(1)))
+                .andExpect(jsonPath("$.results[0].version", is(4)))
+                .andExpect(jsonPath("$.results[1].status", is(409)));
+    }
+
+    @Test
+    void bulkUpdate_WithPatchMissingId_ReturnsBadRequest() throws Exception {
+        // Act & Assert
+        mockMvc.perform(patch("/api/members/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"items\":[{\"businessUnit\":\"Sales\"}]}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error", is("Validation Failed")));
+    }
+
+    @Test
+    void pollChanges_ReturnsChangesAfterSequence() throws Exception {
+        // Arrange
+        DeferredResult<ChangeFeedPage> result = new DeferredResult<>();
+        result.setResult(new ChangeFeedPage("run1",
+                List.of(new MemberChange(8, MemberChange.Type.UPDATED, Instant.now(), testMember)), 8, false));
+        when(changeFeedService.poll("run1", 7L, 100, 30)).thenReturn(result);
+
+        // Act
+        MvcResult started = mockMvc.perform(get("/api/members/changes").param("epoch", "run1").param("after", "7"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.epoch", is("run1")))
+                .andExpect(jsonPath("$.lastSequence", is(8)))
+                .andExpect(jsonPath("$.changes[0].type", is("UPDATED")))
+                .andExpect(jsonPath("$.changes[0].member.firstName", is("John")));
+    }
+
     @Test
     void updateMember_WithMissingFirstName_ReturnsBadRequest() throws Exception {
         // Arrange
@@ -194,4 +323,160 @@ class MemberControllerTest {
                 .andExpect(jsonPath("$.content[0].country", is("USA")))
                 .andExpect(jsonPath("$.content[0].businessUnit", is("Engineering")));
     }
+
+    @Test
+    void searchMembersByCursor_WithValidRequest_ReturnsSliceWithNextCursor() throws Exception {
+        // Arrange
+        searchRequest.setAfter("djE6MA");
+        CursorPage<Member> slice = new CursorPage<>(List.of(testMember), 10, true, "djE6MQ");
+        when(memberService.searchMembersAfter(any(SearchRequest.class))).thenReturn(slice);
+
+        // Act & Assert
+        mockMvc.perform(post("/api/members/search/cursor")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(searchRequest)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.hasNext", is(true)))
+                .andExpect(jsonPath("$.nextCursor", is("djE6MQ")))
+                .andExpect(jsonPath("$.totalElements").doesNotExist());
+    }
+
+    @Test
+    void searchMembersByCursor_WithInvalidCursor_ReturnsBadRequest() throws Exception {
+        // Arrange
+        searchRequest.setAfter("not-a-cursor");
+        when(memberService.searchMembersAfter(any(SearchRequest.class)))
+                .thenThrow(new InvalidSearchRequestException("Invalid search cursor: not-a-cursor"));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/members/search/cursor")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(searchRequest)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status", is(400)))
+                .andExpect(jsonPath("$.message", containsString("Invalid search cursor")));
+    }
+
+    @Test
+    void bulkIngest_WithNdjson_StreamsProgressLines() throws Exception {
+        // Arrange
+        doAnswer(invocation -> {
+            Consumer<IngestProgress> listener = invocation.getArgument(3);
+            listener.accept(IngestProgress.rejected(2, List.of("lastName: Last name is required")));
+            listener.accept(IngestProgress.batch(1, 1, 1, 1, 1));
+            IngestProgress summary = IngestProgress.summary(1, 1, 1, 5);
+            listener.accept(summary);
+            return summary;
+        }).when(memberIngestService).ingest(any(), eq(MemberIngestService.Format.NDJSON), isNull(), any());
+
+        // Act & Assert
+        mockMvc.perform(post("/api/members/bulk")
+                .contentType("application/x-ndjson")
+                .content("{\"firstName\":\"Jane\",\"lastName\":\"Smith\"}\n{\"firstName\":\"Bob\"}\n"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andExpect(content().string(containsString("\"type\":\"REJECTED\",\"line\":2")))
+                .andExpect(content().string(containsString("\"type\":\"SUMMARY\"")));
+    }
+
+    @Test
+    void bulkIngest_WithUnsupportedContentType_ReturnsUnsupportedMediaType() throws Exception {
+        mockMvc.perform(post("/api/members/bulk")
+                .contentType(MediaType.APPLICATION_XML)
+                .content("<members/>"))
+                .andExpect(status().isUnsupportedMediaType());
+    }
+
+    @Test
+    void batchSearch_WithItems_ReturnsResultsInOrder() throws Exception {
+        // Arrange
+        Page<Member> page = new PageImpl<>(List.of(testMember), PageRequest.of(0, 10), 1);
+        BatchSearchResponse response = new BatchSearchResponse(List.of(
+                BatchSearchResult.success(0, page, 120),
+                BatchSearchResult.failure(1, 400, "Invalid cursor", null, 15)), 3);
+        when(batchSearchService.search(any(BatchSearchRequest.class))).thenReturn(response);
+
+        // Act & Assert
+        mockMvc.perform(post("/api/members/search/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"items\":[{\"search\":{\"firstName\":\"John\"}},{\"query\":\"IT in USA\"}]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results[0].status").value(200))
+                .andExpect(jsonPath("$.results[0].result.content[0].firstName").value("John"))
+                .andExpect(jsonPath("$.results[1].status").value(400))
+                .andExpect(jsonPath("$.results[1].result").doesNotExist())
+                .andExpect(jsonPath("$.results[1].error").value("Invalid cursor"));
+    }
+
+    @Test
+    void batchSearch_WithoutItems_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(post("/api/members/search/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"items\":[]}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void searchMembersLean_WithFields_ReturnsSlimEnvelope() throws Exception {
+        // Arrange
+        SlimPage<MemberView> page = new SlimPage<>(
+                List.of(new MemberView(1L, "John", null, "Doe", null, null, null, null)), 0, 10, 1, true, false);
+        when(memberService.searchMemberViews(any(SearchRequest.class),
+                eq(MemberField.parse("firstName,lastName")))).thenReturn(page);
+
+        // Act & Assert
+        mockMvc.perform(post("/api/members/search/lean")
+                .param("fields", "firstName,lastName")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(searchRequest)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].firstName").value("John"))
+                .andExpect(jsonPath("$.content[0].businessUnit").doesNotExist())
+                .andExpect(jsonPath("$.totalElements").value(1))
+                .andExpect(jsonPath("$.pageable").doesNotExist());
+    }
+
+    @Test
+    void searchMembersLean_WithUnknownField_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(post("/api/members/search/lean")
+                .param("fields", "firstName,password")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(searchRequest)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void exportMembers_WithCsvFormat_StreamsAttachment() throws Exception {
+        // Arrange
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(2);
+            out.write("id,firstName\n1,John\n".getBytes(StandardCharsets.UTF_8));
+            return 1L;
+        }).when(memberExportService).export(any(SearchRequest.class), eq(MemberExportService.Format.CSV), any());
+
+        // Act
+        MvcResult result = mockMvc.perform(post("/api/members/export")
+                .param("format", "csv")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"businessUnits\":[\"Engineering\"]}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", startsWith("text/csv")))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"members.csv\""))
+                .andExpect(content().string("id,firstName\n1,John\n"));
+    }
+
+    @Test
+    void exportMembers_WithUnknownFormat_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(post("/api/members/export")
+                .param("format", "xml")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{}"))
+                .andExpect(status().isBadRequest());
+    }
 }
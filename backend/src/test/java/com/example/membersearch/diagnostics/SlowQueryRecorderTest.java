@@ -0,0 +1,212 @@
+package com.example.membersearch.diagnostics;
+
+import com.example.membersearch.exception.ServiceBusyException;
+import com.example.membersearch.service.ConnectionPoolLimiter;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SlowQueryRecorderTest {
+
+    private JdbcDataSource database;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        database = new JdbcDataSource();
+        database.setURL("jdbc:h2:mem:slowquery" + System.nanoTime() + ";DB_CLOSE_DELAY=-1");
+        try (Connection connection = database.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("create table member (id bigint primary key, first_name varchar(50))");
+            statement.execute("insert into member values (1, 'John'), (2, 'Jane'), (3, 'Jack')");
+        }
+    }
+
+    @Test
+    void afterQuery_WhenSelectExceedsThreshold_RecordsParametersAndPlan() throws SQLException {
+        // Arrange
+        SlowQueryRecorder recorder = new SlowQueryRecorder(Duration.ZERO, 10, "EXPLAIN ANALYZE", Duration.ZERO, Runnable::run);
+        recorder.setExplainDataSource(database);
+
+        // Act
+        try (Connection connection = proxy(recorder).getConnection();
+                PreparedStatement statement = connection.prepareStatement(
+                        "select id from member where first_name like ?")) {
+            statement.setString(1, "J%");
+            try (ResultSet rows = statement.executeQuery()) {
+                while (rows.next()) {
+                    rows.getLong(1);
+                }
+            }
+        }
+
+        // Assert
+        List<SlowQuery> recent = recorder.getRecent();
+        assertEquals(1, recent.size());
+        SlowQuery query = recent.get(0);
+        assertEquals("select id from member where first_name like ?", query.sql());
+        assertEquals(List.of("J%"), query.parameters());
+        assertEquals(3, query.rows());
+        assertTrue(query.rowsScanned() >= 3);
+        assertTrue(query.plan().contains("scanCount"));
+    }
+
+    @Test
+    void afterQuery_WithPlainExplain_RecordsPlanWithoutRowsScanned() throws SQLException {
+        // Arrange
+        SlowQueryRecorder recorder = new SlowQueryRecorder(Duration.ZERO, 10, "EXPLAIN", Duration.ZERO, Runnable::run);
+        recorder.setExplainDataSource(database);
+        ReflectionTestUtils.setField(recorder, "connectionPoolLimiter",
+                new ConnectionPoolLimiter(true, 1, 10, Duration.ofSeconds(1), null));
+
+        // Act
+        select(recorder, "J%");
+
+        // Assert
+        SlowQuery query = recorder.getRecent().get(0);
+        assertTrue(query.plan().contains("MEMBER"));
+        assertFalse(query.plan().contains("scanCount"));
+        assertNull(query.rowsScanned());
+    }
+
+    @Test
+    void afterQuery_WithinPlanInterval_RecordsLaterQueriesWithoutPlan() throws SQLException {
+        // Arrange
+        SlowQueryRecorder recorder = new SlowQueryRecorder(Duration.ZERO, 10, "EXPLAIN", Duration.ofMinutes(1),
+                Runnable::run);
+        recorder.setExplainDataSource(database);
+
+        // Act
+        select(recorder, "J%");
+        select(recorder, "Ja%");
+
+        // Assert
+        List<SlowQuery> recent = recorder.getRecent();
+        assertEquals(2, recent.size());
+        assertNull(recent.get(0).plan());
+        assertNotNull(recent.get(1).plan());
+    }
+
+    @Test
+    void afterQuery_WhenDatabaseLimiterIsBusy_RecordsQueryWithoutPlan() throws SQLException {
+        // Arrange
+        SlowQueryRecorder recorder = new SlowQueryRecorder(Duration.ZERO, 10, "EXPLAIN", Duration.ZERO, Runnable::run);
+        recorder.setExplainDataSource(database);
+        ConnectionPoolLimiter limiter = mock(ConnectionPoolLimiter.class);
+        when(limiter.call(any())).thenThrow(new ServiceBusyException("Timed out waiting for the database"));
+        ReflectionTestUtils.setField(recorder, "connectionPoolLimiter", limiter);
+
+        // Act
+        select(recorder, "J%");
+
+        // Assert
+        SlowQuery query = recorder.getRecent().get(0);
+        assertEquals(List.of("J%"), query.parameters());
+        assertNull(query.plan());
+    }
+
+    @Test
+    void afterQuery_WhenUpdateExceedsThreshold_RecordsRowsChangedWithoutPlan() throws SQLException {
+        // Arrange
+        SlowQueryRecorder recorder = new SlowQueryRecorder(Duration.ZERO, 10, "EXPLAIN ANALYZE", Duration.ZERO, Runnable::run);
+        recorder.setExplainDataSource(database);
+
+        // Act
+        try (Connection connection = proxy(recorder).getConnection();
+                PreparedStatement statement = connection.prepareStatement(
+                        "update member set first_name = ? where id > ?")) {
+            statement.setString(1, "Jo");
+            statement.setLong(2, 1L);
+            statement.executeUpdate();
+        }
+
+        // Assert
+        SlowQuery query = recorder.getRecent().get(0);
+        assertEquals(2, query.rows());
+        assertEquals(List.of("Jo", "1"), query.parameters());
+        assertNull(query.plan());
+    }
+
+    @Test
+    void afterQuery_WhenSelectResultIsClosedEarly_RecordsRowsRead() throws SQLException {
+        // Arrange
+        SlowQueryRecorder recorder = new SlowQueryRecorder(Duration.ZERO, 10, "", Duration.ZERO, Runnable::run);
+
+        // Act
+        try (Connection connection = proxy(recorder).getConnection(); Statement statement = connection.createStatement()) {
+            try (ResultSet rows = statement.executeQuery("select id from member order by id")) {
+                rows.next();
+                rows.next();
+                assertTrue(recorder.getRecent().isEmpty());
+            }
+        }
+
+        // Assert
+        List<SlowQuery> recent = recorder.getRecent();
+        assertEquals(1, recent.size());
+        assertEquals(2, recent.get(0).rows());
+    }
+
+    @Test
+    void afterQuery_WhenBelowThreshold_RecordsNothing() throws SQLException {
+        // Arrange
+        SlowQueryRecorder recorder = new SlowQueryRecorder(Duration.ofMinutes(1), 10, "", Duration.ZERO, Runnable::run);
+
+        // Act
+        try (Connection connection = proxy(recorder).getConnection(); Statement statement = connection.createStatement()) {
+            statement.executeQuery("select count(*) from member").close();
+        }
+
+        // Assert
+        assertTrue(recorder.getRecent().isEmpty());
+    }
+
+    @Test
+    void afterQuery_WhenCapacityIsReached_KeepsNewestQueries() throws SQLException {
+        // Arrange
+        SlowQueryRecorder recorder = new SlowQueryRecorder(Duration.ZERO, 2, "", Duration.ZERO, Runnable::run);
+
+        // Act
+        try (Connection connection = proxy(recorder).getConnection(); Statement statement = connection.createStatement()) {
+            for (int id = 1; id <= 3; id++) {
+                statement.executeQuery("select first_name from member where id = " + id).close();
+            }
+        }
+
+        // Assert
+        List<SlowQuery> recent = recorder.getRecent();
+        assertEquals(2, recent.size());
+        assertTrue(recent.get(0).sql().endsWith("id = 3"));
+        assertTrue(recent.get(1).sql().endsWith("id = 2"));
+        recorder.clear();
+        assertTrue(recorder.getRecent().isEmpty());
+    }
+
+    private void select(SlowQueryRecorder recorder, String pattern) throws SQLException {
+        try (Connection connection = proxy(recorder).getConnection();
+                PreparedStatement statement = connection.prepareStatement(
+                        "select id from member where first_name like ?")) {
+            statement.setString(1, pattern);
+            statement.executeQuery().close();
+        }
+    }
+
+    private DataSource proxy(SlowQueryRecorder recorder) {
+        return ProxyDataSourceBuilder.create("test", database).listener(recorder)
+                .proxyResultSet(recorder.rowCountingResultSets()).build();
+    }
+}
@@ -0,0 +1,176 @@
+package com.example.membersearch.engine;
+
+import com.example.membersearch.dto.NameMatch;
+import com.example.membersearch.dto.SearchPage;
+import com.example.membersearch.dto.SearchRequest;
+import com.example.membersearch.event.MemberChangedEvent;
+import com.example.membersearch.model.Member;
+import com.example.membersearch.repository.MemberRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the engine against the JPA query path on the same data.
+ */
+@DataJpaTest
+class ColumnarSearchEngineTest {
+
+    private static final String[] UNITS = {"IT", "HR", "Sales", null};
+    private static final String[] COUNTRIES = {"USA", "UK", "Canada"};
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    private ColumnarSearchEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        List<Member> members = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            members.add(new Member(null, (i % 7 == 0 ? "Jo_" : "User") + i, i % 3 == 0 ? null : "M" + i % 4,
+                    "Last" + i, UNITS[i % UNITS.length], COUNTRIES[i % COUNTRIES.length], "S" + i, i % 5 != 0));
+        }
+        memberRepository.saveAllAndFlush(members);
+
+        engine = new ColumnarSearchEngine();
+        ReflectionTestUtils.setField(engine, "memberRepository", memberRepository);
+        // Small chunks so the parallel scan and chunk skipping are exercised
+        ReflectionTestUtils.setField(engine, "parallelThreshold", 50);
+        ReflectionTestUtils.setField(engine, "chunkSize", 32);
+        engine.rebuild();
+    }
+
+    @Test
+    void search_ReturnsSameMembersAndTotalsAsJpaPath() {
+        // Some members are edited once, so versions are not all the same
+        List<Member> stored = memberRepository.findAll();
+        for (int i = 0; i < stored.size(); i += 4) {
+            stored.get(i).setSourceMemberId(stored.get(i).getSourceMemberId() + "e");
+        }
+        memberRepository.saveAllAndFlush(stored);
+        engine.rebuild();
+
+        List<Consumer<SearchRequest>> filters = List.of(
+                request -> { },
+                request -> request.setBusinessUnits(List.of("IT", "Sales")),
+                request -> request.setCountry("UK"),
+                request -> {
+                    request.setBusinessUnits(List.of("HR"));
+                    request.setCountry("Canada");
+                },
+                request -> request.setFirstName("user1"),
+                request -> request.setLastName(" LAST2 "),
+                request -> {
+                    request.setLastName("last2");
+                    request.setNameMatch(NameMatch.PREFIX);
+                },
+                request -> request.setMiddleName("m1"),
+                request -> request.setFirstName("jo\\_"),
+                request -> request.setFirstName("jo_1"),
+                request -> request.setFirstName("u_er2%9"),
+                request -> request.setSourceMemberId("S42"),
+                request -> request.setCountry("Atlantis"));
+
+        for (Consumer<SearchRequest> filter : filters) {
+            for (int page = 0; page < 3; page++) {
+                // Arrange
+                SearchRequest request = new SearchRequest();
+                filter.accept(request);
+                request.setPage(page);
+                request.setSize(25);
+                Specification<Member> spec = memberRepository.buildSpecification(request);
+
+                // Act
+                SearchPage<Member> result = engine.search(request);
+
+                // Assert
+                List<Member> expected = memberRepository.findSlice(spec, page * 25L, 25);
+                assertEquals(expected, result.getContent(), request::toString);
+                // Member.equals leaves out the version
+                assertEquals(expected.stream().map(Member::getVersion).toList(),
+                        result.getContent().stream().map(Member::getVersion).toList(), request::toString);
+                assertEquals(memberRepository.count(spec), result.getTotalElements(), request::toString);
+                assertTrue(result.isTotalExact());
+            }
+        }
+    }
+
+    @Test
+    void onMemberChanged_UpdatesColumnsInPlace() {
+        // Arrange
+        Member member = memberRepository.findAll().get(1);
+        Member previous = member.copy();
+        member.setCountry("Narnia");
+        member.setEntitled(true);
+        member.setVersion(member.getVersion() + 1);
+        SearchRequest request = new SearchRequest();
+        request.setCountry("Narnia");
+
+        // Act
+        engine.onMemberChanged(new MemberChangedEvent(previous, member));
+
+        // Assert
+        assertEquals(List.of(member.getId()), engine.search(request).map(Member::getId).getContent());
+        assertEquals(member.getVersion(), engine.search(request).getContent().get(0).getVersion());
+        assertEquals(300, engine.size());
+    }
+
+    @Test
+    void onMemberChanged_WithNewSourceMemberId_FindsOnlyTheCurrentOne() {
+        // Arrange
+        Member member = memberRepository.findAll().get(2);
+        String original = member.getSourceMemberId();
+        SearchRequest byOriginal = new SearchRequest();
+        byOriginal.setSourceMemberId(original);
+        SearchRequest byCurrent = new SearchRequest();
+        byCurrent.setSourceMemberId("X9");
+
+        // Act
+        for (int i = 1; i <= 9; i++) {
+            Member previous = member.copy();
+            member.setSourceMemberId("X" + i);
+            engine.onMemberChanged(new MemberChangedEvent(previous, member.copy()));
+        }
+
+        // Assert
+        assertTrue(engine.search(byOriginal).getContent().isEmpty());
+        assertEquals(List.of(member.getId()), engine.search(byCurrent).map(Member::getId).getContent());
+        assertEquals("X9", engine.search(byCurrent).getContent().get(0).getSourceMemberId());
+    }
+
+    @Test
+    void onMemberChanged_WithNewMember_AddsRowInIdOrder() {
+        // Arrange
+        Member added = new Member(1L, "Zed", null, "Zulu", "IT", "USA", "Z1", true);
+        SearchRequest request = new SearchRequest();
+        request.setFirstName("zed");
+
+        // Act
+        engine.onMemberChanged(new MemberChangedEvent(null, added));
+
+        // Assert
+        assertEquals(301, engine.size());
+        assertEquals(List.of(1L), engine.search(request).map(Member::getId).getContent());
+        assertEquals(1L, engine.search(new SearchRequest()).getContent().get(0).getId());
+    }
+
+    @Test
+    void likePattern_TreatsWildcardsLikeTheDatabase() {
+        // Act & Assert
+        assertTrue(ColumnarSearchEngine.likePattern("%o_n%").matcher("johnny").matches());
+        assertFalse(ColumnarSearchEngine.likePattern("jo\\_%").matcher("jo_7").matches());
+        assertTrue(ColumnarSearchEngine.likePattern("jo\\_%").matcher("jo\\x").matches());
+        assertTrue(ColumnarSearchEngine.likePattern("a.c").matcher("a.c").matches());
+        assertFalse(ColumnarSearchEngine.likePattern("a.c").matcher("abc").matches());
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.membersearch.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StringDictionaryTest {
+
+    @Test
+    void release_WhenNoRowHoldsAValue_DropsItAndReusesItsCode() {
+        // Arrange
+        StringDictionary dictionary = new StringDictionary();
+        int first = dictionary.encode("S1");
+        int shared = dictionary.encode("S2");
+        dictionary.encode("S2");
+
+        // Act
+        dictionary.release(first);
+        dictionary.release(shared);
+        int reused = dictionary.encode("S3");
+
+        // Assert
+        assertEquals(first, reused);
+        assertEquals("S3", dictionary.decode(reused));
+        assertEquals(StringDictionary.NULL_CODE, dictionary.codeOf("S1"));
+        assertEquals(shared, dictionary.codeOf("S2"));
+        assertEquals(2, dictionary.size());
+    }
+
+    @Test
+    void encode_AfterManyReplacedValues_KeepsOnlyTheCurrentOnes() {
+        // Arrange
+        StringDictionary dictionary = new StringDictionary();
+        int code = dictionary.encode("S0");
+
+        // Act
+        for (int i = 1; i <= 1000; i++) {
+            int next = dictionary.encode("S" + i);
+            dictionary.release(code);
+            code = next;
+        }
+
+        // Assert
+        assertEquals(1, dictionary.size());
+        assertTrue(code <= 1);
+        assertEquals("S1000", dictionary.decode(code));
+    }
+
+    @Test
+    void matchNormalized_SkipsReleasedValues() {
+        // Arrange
+        StringDictionary dictionary = new StringDictionary();
+        int john = dictionary.encode("John");
+        int joan = dictionary.encode("Joan");
+        dictionary.release(john);
+
+        // Act
+        BitSet matches = dictionary.matchNormalized(name -> name.startsWith("jo"));
+
+        // Assert
+        assertEquals(BitSet.valueOf(new long[] {1L << joan}), matches);
+    }
+}
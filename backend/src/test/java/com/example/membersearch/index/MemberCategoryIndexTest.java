@@ -0,0 +1,149 @@
+package com.example.membersearch.index;
+
+import com.example.membersearch.dto.FacetField;
+import com.example.membersearch.dto.SearchRequest;
+import com.example.membersearch.event.MemberChangedEvent;
+import com.example.membersearch.model.Member;
+import com.example.membersearch.repository.MemberRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+
+@ExtendWith(MockitoExtension.class)
+class MemberCategoryIndexTest {
+
+    @Mock
+    private MemberRepository memberRepository;
+
+    @InjectMocks
+    private MemberCategoryIndex memberCategoryIndex;
+
+    private final List<Member> members = List.of(
+            new Member(1L, "John", "D", "Doe", "IT", "USA", "1001", true),
+            new Member(2L, "Alice", "K", "Johnson", "IT", "USA", "1003", false),
+            new Member(3L, "Johnny", null, "Smith", "HR", "UK", "1004", true),
+            new Member(4L, "Jane", null, "Roe", "Sales", "USA", "1005", true));
+
+    @BeforeEach
+    void setUp() {
+        doAnswer(invocation -> {
+            Consumer<Member> action = invocation.getArgument(1);
+            members.forEach(action);
+            return null;
+        }).when(memberRepository).forEachMember(anyInt(), any());
+        memberCategoryIndex.rebuild();
+    }
+
+    @Test
+    void findCandidates_WithBusinessUnitsAndCountry_ReturnsEntitledMatches() {
+        // Arrange
+        SearchRequest request = new SearchRequest();
+        request.setBusinessUnits(List.of("IT", "Sales", "Unknown"));
+        request.setCountry("USA");
+
+        // Act
+        Optional<RoaringBitmap> result = memberCategoryIndex.findCandidates(request);
+
+        // Assert
+        assertTrue(result.isPresent());
+        assertEquals(RoaringBitmap.bitmapOf(1, 4), result.get());
+    }
+
+    @Test
+    void findCandidates_WithoutFilters_ReturnsAllEntitledMembers() {
+        // Act
+        RoaringBitmap result = memberCategoryIndex.findCandidates(new SearchRequest()).orElseThrow();
+        result.add(99);
+        RoaringBitmap again = memberCategoryIndex.findCandidates(new SearchRequest()).orElseThrow();
+
+        // Assert
+        assertEquals(RoaringBitmap.bitmapOf(1, 3, 4), again);
+    }
+
+    @Test
+    void findCandidates_WithUnknownCountry_ReturnsEmptySet() {
+        // Arrange
+        SearchRequest request = new SearchRequest();
+        request.setCountry("Atlantis");
+
+        // Act
+        Optional<RoaringBitmap> result = memberCategoryIndex.findCandidates(request);
+
+        // Assert
+        assertTrue(result.isPresent());
+        assertTrue(result.get().isEmpty());
+    }
+
+    @Test
+    void onMemberChanged_MovesMemberBetweenValues() {
+        // Arrange
+        Member previous = members.get(0);
+        Member current = new Member(1L, "John", "D", "Doe", "HR", "UK", "1001", true);
+        SearchRequest request = new SearchRequest();
+        request.setBusinessUnits(List.of("HR"));
+
+        // Act
+        memberCategoryIndex.onMemberChanged(new MemberChangedEvent(previous, current));
+
+        // Assert
+        assertEquals(RoaringBitmap.bitmapOf(1, 3), memberCategoryIndex.findCandidates(request).orElseThrow());
+        request.setBusinessUnits(List.of("IT"));
+        assertTrue(memberCategoryIndex.findCandidates(request).orElseThrow().isEmpty());
+    }
+
+    @Test
+    void countFacets_EachFacetIgnoresItsOwnFilter() {
+        // Arrange
+        SearchRequest request = new SearchRequest();
+        request.setBusinessUnits(List.of("IT"));
+        request.setCountry("USA");
+
+        // Act
+        Map<FacetField, Map<String, Long>> result = memberCategoryIndex.countFacets(request,
+                EnumSet.of(FacetField.BUSINESS_UNIT, FacetField.COUNTRY), null, true).orElseThrow();
+
+        // Assert
+        assertEquals(Map.of("IT", 1L, "Sales", 1L), result.get(FacetField.BUSINESS_UNIT));
+        assertEquals(Map.of("USA", 1L), result.get(FacetField.COUNTRY));
+    }
+
+    @Test
+    void countFacets_WithNamesAndAllMembers_SplitsByEntitlement() {
+        // Arrange
+        SearchRequest request = new SearchRequest();
+        request.setCountry("USA");
+
+        // Act
+        Map<FacetField, Map<String, Long>> result = memberCategoryIndex.countFacets(request,
+                EnumSet.allOf(FacetField.class), RoaringBitmap.bitmapOf(1, 2, 3), false).orElseThrow();
+
+        // Assert
+        assertEquals(Map.of("true", 1L, "false", 1L), result.get(FacetField.ENTITLED));
+        assertEquals(Map.of("IT", 2L), result.get(FacetField.BUSINESS_UNIT));
+        assertEquals(Map.of("USA", 2L, "UK", 1L), result.get(FacetField.COUNTRY));
+    }
+
+    @Test
+    void findCandidates_BeforeRebuild_ReturnsEmpty() {
+        // Arrange
+        MemberCategoryIndex index = new MemberCategoryIndex();
+
+        // Act & Assert
+        assertTrue(index.findCandidates(new SearchRequest()).isEmpty());
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.membersearch.index;
+
+import com.example.membersearch.dto.NameMatch;
+import com.example.membersearch.dto.SearchRequest;
+import com.example.membersearch.event.MemberChangedEvent;
+import com.example.membersearch.model.Member;
+import com.example.membersearch.repository.MemberRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+
+@ExtendWith(MockitoExtension.class)
+class MemberFuzzyNameIndexTest {
+
+    @Mock
+    private MemberRepository memberRepository;
+
+    @InjectMocks
+    private MemberFuzzyNameIndex memberFuzzyNameIndex;
+
+    private final List<Member> members = List.of(
+            new Member(1L, "Catherine", "A", "Smith", "IT", "USA", "1001", true),
+            new Member(2L, "Katherine", null, "Smyth", "IT", "USA", "1002", true),
+            new Member(3L, "Kathryn", "B", "Schmidt", "HR", "UK", "1003", true),
+            new Member(4L, "Caroline", null, "Smith", "Sales", "USA", "1004", true),
+            new Member(5L, "Catherin", "A", "Jones", "IT", "USA", "1005", true));
+
+    @BeforeEach
+    void setUp() {
+        doAnswer(invocation -> {
+            Consumer<Member> action = invocation.getArgument(1);
+            members.forEach(action);
+            return null;
+        }).when(memberRepository).forEachMember(anyInt(), any());
+        memberFuzzyNameIndex.rebuild();
+    }
+
+    @Test
+    void findMatches_WithMisspelledFirstName_RanksExactBeforeMisspelledBeforeSoundAlike() {
+        // Arrange
+        SearchRequest request = fuzzy("catherine", null);
+
+        // Act
+        MemberFuzzyNameIndex.Matches matches = memberFuzzyNameIndex.findMatches(request).orElseThrow();
+
+        // Assert
+        assertEquals(RoaringBitmap.bitmapOf(1, 2, 3, 5), matches.ids());
+        assertEquals(List.of(1, 2, 5, 3), ranked(matches.scores()));
+        assertTrue(matches.complete());
+    }
+
+    @Test
+    void findMatches_WithMoreMatchesThanTheMaximum_KeepsTheBest() {
+        // Arrange
+        ReflectionTestUtils.setField(memberFuzzyNameIndex, "maxCandidates", 2);
+
+        // Act
+        MemberFuzzyNameIndex.Matches matches = memberFuzzyNameIndex.findMatches(fuzzy("catherine", null)).orElseThrow();
+
+        // Assert
+        assertEquals(RoaringBitmap.bitmapOf(1, 2), matches.ids());
+        assertEquals(List.of(1, 2), ranked(matches.scores()));
+        assertFalse(matches.complete());
+    }
+
+    @Test
+    void findMatches_WithFirstAndLastName_IntersectsAndSumsScores() {
+        // Arrange
+        SearchRequest request = fuzzy("Katherine", "Smith");
+
+        // Act
+        MemberFuzzyNameIndex.Matches matches = memberFuzzyNameIndex.findMatches(request).orElseThrow();
+
+        // Assert
+        assertEquals(RoaringBitmap.bitmapOf(1, 2, 3), matches.ids());
+        assertTrue(matches.scores().get(1) < matches.scores().get(3));
+        assertTrue(matches.scores().get(2) < matches.scores().get(3));
+    }
+
+    @Test
+    void findMatches_WithMiddleName_FiltersBySubstring() {
+        // Arrange
+        SearchRequest request = fuzzy("Catherine", null);
+        request.setMiddleName("a");
+
+        // Act
+        MemberFuzzyNameIndex.Matches matches = memberFuzzyNameIndex.findMatches(request).orElseThrow();
+
+        // Assert
+        assertEquals(RoaringBitmap.bitmapOf(1, 5), matches.ids());
+    }
+
+    @Test
+    void findMatches_AfterUpdate_FollowsRenamedMember() {
+        // Arrange
+        Member previous = members.get(3);
+        Member current = new Member(4L, "Catharine", null, "Smith", "Sales", "USA", "1004", true);
+
+        // Act
+        memberFuzzyNameIndex.onMemberChanged(new MemberChangedEvent(previous, current));
+
+        // Assert
+        assertTrue(memberFuzzyNameIndex.findMatches(fuzzy("Catherine", null)).orElseThrow().ids().contains(4));
+        assertTrue(memberFuzzyNameIndex.findMatches(fuzzy("Caroline", null)).orElseThrow().ids().isEmpty());
+    }
+
+    @Test
+    void findMatches_WithoutFirstOrLastName_ReturnsEmpty() {
+        // Arrange
+        SearchRequest request = fuzzy(null, null);
+        request.setMiddleName("A");
+
+        // Act & Assert
+        assertTrue(memberFuzzyNameIndex.findMatches(request).isEmpty());
+    }
+
+    @Test
+    void distance_ComputesLevenshteinDistance() {
+        assertEquals(0, BkTree.distance("smith", "smith", Integer.MAX_VALUE));
+        assertEquals(1, BkTree.distance("smith", "smyth", Integer.MAX_VALUE));
+        assertEquals(3, BkTree.distance("kitten", "sitting", Integer.MAX_VALUE));
+        assertTrue(BkTree.distance("catherine", "jones", 2) > 2);
+    }
+
+    private static SearchRequest fuzzy(String firstName, String lastName) {
+        SearchRequest request = new SearchRequest();
+        request.setFirstName(firstName);
+        request.setLastName(lastName);
+        request.setNameMatch(NameMatch.FUZZY);
+        return request;
+    }
+
+    private static List<Integer> ranked(Map<Integer, Double> scores) {
+        List<Integer> ids = new ArrayList<>(scores.keySet());
+        ids.sort((a, b) -> {
+            int byScore = Double.compare(scores.get(a), scores.get(b));
+            return byScore != 0 ? byScore : Integer.compare(a, b);
+        });
+        return ids;
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.membersearch.index;
+
+import com.example.membersearch.dto.NameMatch;
+import com.example.membersearch.dto.SearchRequest;
+import com.example.membersearch.event.MemberChangedEvent;
+import com.example.membersearch.model.Member;
+import com.example.membersearch.repository.MemberRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+
+@ExtendWith(MockitoExtension.class)
+class MemberNameIndexTest {
+
+    @Mock
+    private MemberRepository memberRepository;
+
+    @InjectMocks
+    private MemberNameIndex memberNameIndex;
+
+    private final List<Member> members = List.of(
+            new Member(1L, "John", "D", "Doe", "IT", "USA", "1001", true),
+            new Member(2L, "Alice", "K", "Johnson", "IT", "USA", "1003", false),
+            new Member(3L, "Johnny", null, "Smith", "HR", "UK", "1004", true));
+
+    @BeforeEach
+    void setUp() {
+        doAnswer(invocation -> {
+            Consumer<Member> action = invocation.getArgument(1);
+            members.forEach(action);
+            return null;
+        }).when(memberRepository).forEachMember(anyInt(), any());
+        memberNameIndex.rebuild();
+    }
+
+    @Test
+    void findCandidates_WithPrefixMatch_ReturnsOnlyNamesStartingWithTerm() {
+        // Arrange
+        SearchRequest request = new SearchRequest();
+        request.setLastName(" JOHN ");
+        request.setNameMatch(NameMatch.PREFIX);
+
+        // Act
+        Optional<RoaringBitmap> result = memberNameIndex.findCandidates(request);
+
+        // Assert
+        assertTrue(result.isPresent());
+        assertEquals(RoaringBitmap.bitmapOf(2), result.get());
+    }
+
+    @Test
+    void findCandidates_WithSubstringTerm_ReturnsExactMatches() {
+        // Arrange
+        SearchRequest request = new SearchRequest();
+        request.setFirstName("OHN");
+
+        // Act
+        Optional<RoaringBitmap> result = memberNameIndex.findCandidates(request);
+
+        // Assert
+        assertTrue(result.isPresent());
+        assertEquals(RoaringBitmap.bitmapOf(1, 3), result.get());
+    }
+
+    @Test
+    void findCandidates_WithSeveralFields_IntersectsAndVerifies() {
+        // Arrange
+        SearchRequest request = new SearchRequest();
+        request.setFirstName("john");
+        request.setLastName("d");
+
+        // Act
+        Optional<RoaringBitmap> result = memberNameIndex.findCandidates(request);
+
+        // Assert
+        assertEquals(RoaringBitmap.bitmapOf(1), result.orElseThrow());
+    }
+
+    @Test
+    void findCandidates_WithOnlyShortTermsOrWildcards_DefersToDatabase() {
+        // Arrange
+        SearchRequest shortTerm = new SearchRequest();
+        shortTerm.setFirstName("jo");
+        SearchRequest wildcard = new SearchRequest();
+        wildcard.setFirstName("jo_n");
+
+        // Act & Assert
+        assertTrue(memberNameIndex.findCandidates(shortTerm).isEmpty());
+        assertTrue(memberNameIndex.findCandidates(wildcard).isEmpty());
+        assertTrue(memberNameIndex.findCandidates(new SearchRequest()).isEmpty());
+    }
+
+    @Test
+    void onMemberChanged_ReplacesIndexedNames() {
+        // Arrange
+        Member previous = members.get(0);
+        Member current = previous.copy();
+        current.setFirstName("Jane");
+        SearchRequest request = new SearchRequest();
+        request.setFirstName("jan");
+
+        // Act
+        memberNameIndex.onMemberChanged(new MemberChangedEvent(previous, current));
+
+        // Assert
+        assertEquals(RoaringBitmap.bitmapOf(1), memberNameIndex.findCandidates(request).orElseThrow());
+        request.setFirstName("john");
+        assertEquals(RoaringBitmap.bitmapOf(3), memberNameIndex.findCandidates(request).orElseThrow());
+    }
+}
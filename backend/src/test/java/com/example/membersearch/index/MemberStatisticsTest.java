@@ -0,0 +1,94 @@
+package com.example.membersearch.index;
+
+import com.example.membersearch.dto.SearchRequest;
+import com.example.membersearch.event.MemberChangedEvent;
+import com.example.membersearch.model.Member;
+import com.example.membersearch.repository.MemberRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+
+@ExtendWith(MockitoExtension.class)
+class MemberStatisticsTest {
+
+    @Mock
+    private MemberRepository memberRepository;
+
+    @InjectMocks
+    private MemberStatistics memberStatistics;
+
+    private final List<Member> members = List.of(
+            new Member(1L, "John", "D", "Doe", "IT", "USA", "1001", true),
+            new Member(2L, "Alice", "K", "Johnson", "IT", "USA", "1003", false),
+            new Member(3L, "Bob", null, "Smith", "HR", "USA", "1004", true),
+            new Member(4L, "Carol", null, "Jones", "IT", "UK", "1005", true));
+
+    @BeforeEach
+    void setUp() {
+        doAnswer(invocation -> {
+            Consumer<Member> action = invocation.getArgument(1);
+            members.forEach(action);
+            return null;
+        }).when(memberRepository).forEachMember(anyInt(), any());
+        memberStatistics.rebuild();
+    }
+
+    @Test
+    void estimate_WithCategoricalFilters_CountsEntitledMembersExactly() {
+        // Arrange
+        SearchRequest request = new SearchRequest();
+        request.setBusinessUnits(List.of("IT", "HR"));
+        request.setCountry("USA");
+
+        // Act
+        OptionalLong result = memberStatistics.estimate(request, OptionalLong.empty());
+
+        // Assert
+        assertEquals(2, result.getAsLong());
+        assertTrue(MemberStatistics.isExactFor(request));
+    }
+
+    @Test
+    void estimate_WithResolvedNameFilter_ScalesByNameSelectivity() {
+        // Arrange
+        SearchRequest request = new SearchRequest();
+        request.setFirstName("john");
+
+        // Act
+        OptionalLong result = memberStatistics.estimate(request, OptionalLong.of(2));
+
+        // Assert: 3 entitled members * 2 name matches / 4 members
+        assertEquals(2, result.getAsLong());
+        assertFalse(MemberStatistics.isExactFor(request));
+    }
+
+    @Test
+    void onMemberChanged_MovesCountBetweenValues() {
+        // Arrange
+        Member previous = members.get(3);
+        Member current = previous.copy();
+        current.setCountry("USA");
+        SearchRequest request = new SearchRequest();
+        request.setCountry("UK");
+
+        // Act
+        memberStatistics.onMemberChanged(new MemberChangedEvent(previous, current));
+
+        // Assert
+        assertEquals(0, memberStatistics.estimate(request, OptionalLong.empty()).getAsLong());
+        request.setCountry("USA");
+        assertEquals(3, memberStatistics.estimate(request, OptionalLong.empty()).getAsLong());
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.membersearch.index;
+
+import com.example.membersearch.dto.TypeaheadField;
+import com.example.membersearch.dto.TypeaheadSuggestion;
+import com.example.membersearch.event.MemberChangedEvent;
+import com.example.membersearch.model.Member;
+import com.example.membersearch.repository.MemberRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+
+@ExtendWith(MockitoExtension.class)
+class MemberTypeaheadIndexTest {
+
+    @Mock
+    private MemberRepository memberRepository;
+
+    @InjectMocks
+    private MemberTypeaheadIndex memberTypeaheadIndex;
+
+    private final List<Member> members = List.of(
+            new Member(1L, "John", "D", "Doe", "IT", "USA", "1001", true),
+            new Member(2L, "John", null, "Johnson", "IT", "USA", "1002", true),
+            new Member(3L, "Johnny", null, "Smith", "HR", "UK", "1003", true),
+            new Member(4L, "Jane", null, "Jones", "Sales", "USA", "1004", true),
+            new Member(5L, "Joanna", null, "Roe", "Sales", "USA", "1005", false));
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(memberTypeaheadIndex, "maxSuggestions", 2);
+        doAnswer(invocation -> {
+            Consumer<Member> action = invocation.getArgument(1);
+            members.forEach(action);
+            return null;
+        }).when(memberRepository).forEachMember(anyInt(), any());
+        memberTypeaheadIndex.rebuild();
+    }
+
+    @Test
+    void suggest_WithFirstNamePrefix_RanksByMemberCountAndSkipsUnentitled() {
+        // Act
+        List<TypeaheadSuggestion> result = memberTypeaheadIndex.suggest(TypeaheadField.FIRST_NAME, " JO", 2);
+
+        // Assert
+        assertEquals(List.of(new TypeaheadSuggestion("John", TypeaheadField.FIRST_NAME, 2),
+                new TypeaheadSuggestion("Johnny", TypeaheadField.FIRST_NAME, 1)), result);
+    }
+
+    @Test
+    void suggest_WithNamePrefix_MergesFirstAndLastNames() {
+        // Act
+        List<TypeaheadSuggestion> result = memberTypeaheadIndex.suggest(TypeaheadField.NAME, "jo", 10);
+
+        // Assert
+        assertEquals(List.of(new TypeaheadSuggestion("John", TypeaheadField.FIRST_NAME, 2),
+                new TypeaheadSuggestion("Johnny", TypeaheadField.FIRST_NAME, 1)), result);
+        assertEquals(List.of(new TypeaheadSuggestion("Johnson", TypeaheadField.LAST_NAME, 1),
+                new TypeaheadSuggestion("Jones", TypeaheadField.LAST_NAME, 1)),
+                memberTypeaheadIndex.suggest(TypeaheadField.LAST_NAME, "jo", 10));
+    }
+
+    @Test
+    void suggest_WithSourceMemberIdPrefix_ReturnsIdsInOrder() {
+        // Act
+        List<TypeaheadSuggestion> result = memberTypeaheadIndex.suggest(TypeaheadField.SOURCE_MEMBER_ID, "100", 2);
+
+        // Assert
+        assertEquals(List.of("1001", "1002"), result.stream().map(TypeaheadSuggestion::value).toList());
+    }
+
+    @Test
+    void suggest_AfterUpdate_ReflectsNewCounts() {
+        // Arrange
+        Member previous = members.get(2);
+        Member current = new Member(3L, "Joe", null, "Smith", "HR", "UK", "1003", true);
+
+        // Act
+        memberTypeaheadIndex.onMemberChanged(new MemberChangedEvent(previous, current));
+        memberTypeaheadIndex.onMemberChanged(new MemberChangedEvent(null,
+                new Member(6L, "Joe", null, "Black", "IT", "USA", "1006", true)));
+
+        // Assert
+        assertEquals(List.of(new TypeaheadSuggestion("Joe", TypeaheadField.FIRST_NAME, 2),
+                new TypeaheadSuggestion("John", TypeaheadField.FIRST_NAME, 2)),
+                memberTypeaheadIndex.suggest(TypeaheadField.FIRST_NAME, "jo", 2));
+        assertTrue(memberTypeaheadIndex.suggest(TypeaheadField.FIRST_NAME, "johnn", 2).isEmpty());
+    }
+
+    @Test
+    void suggest_OverManyValues_MatchesFullScan() {
+        // Arrange
+        List<Member> many = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            many.add(new Member((long) i, "N" + (i % 37) + "x" + (i % 11), null, "L", "IT", "USA",
+                    String.valueOf(i), true));
+        }
+        doAnswer(invocation -> {
+            Consumer<Member> action = invocation.getArgument(1);
+            many.forEach(action);
+            return null;
+        }).when(memberRepository).forEachMember(anyInt(), any());
+        memberTypeaheadIndex.rebuild();
+
+        // Act
+        List<TypeaheadSuggestion> result = memberTypeaheadIndex.suggest(TypeaheadField.FIRST_NAME, "n1", 2);
+
+        // Assert
+        List<String> expected = many.stream().map(Member::getFirstName).filter(name -> name.startsWith("N1"))
+                .distinct()
+                .sorted((a, b) -> {
+                    long countA = many.stream().filter(m -> m.getFirstName().equals(a)).count();
+                    long countB = many.stream().filter(m -> m.getFirstName().equals(b)).count();
+                    return countA != countB ? Long.compare(countB, countA) : a.toLowerCase().compareTo(b.toLowerCase());
+                })
+                .limit(2)
+                .toList();
+        assertEquals(expected, result.stream().map(TypeaheadSuggestion::value).toList());
+    }
+}
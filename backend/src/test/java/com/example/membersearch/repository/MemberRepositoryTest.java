@@ -0,0 +1,226 @@
+package com.example.membersearch.repository;
+
+import com.example.membersearch.dto.NameMatch;
+import com.example.membersearch.dto.SearchRequest;
+import com.example.membersearch.model.Member;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs against the schema built by the Flyway migrations, which Hibernate validates.
+ */
+@DataJpaTest
+class MemberRepositoryTest {
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        memberRepository.saveAllAndFlush(List.of(
+                new Member(null, " John ", "D", "Doe", "IT", "USA", "1001", true),
+                new Member(null, "Alice", "K", "Johnson", "IT", "USA", "1003", true),
+                new Member(null, "Bob", null, "Mcjohn", "HR", "UK", "1004", true)));
+    }
+
+    @Test
+    void save_StoresTrimmedLowercaseNameColumns() {
+        // Act
+        List<String> firstNames = jdbcTemplate.queryForList(
+                "select first_name_norm from member order by id", String.class);
+
+        // Assert
+        assertEquals(List.of("john", "alice", "bob"), firstNames);
+    }
+
+    @Test
+    void buildSpecification_WithContainsMatch_IgnoresCase() {
+        // Arrange
+        SearchRequest request = new SearchRequest();
+        request.setLastName("JOHN");
+
+        // Act
+        List<Member> result = memberRepository.findAll(memberRepository.buildSpecification(request));
+
+        // Assert
+        assertEquals(List.of("Johnson", "Mcjohn"), result.stream().map(Member::getLastName).sorted().toList());
+    }
+
+    @Test
+    void buildSpecification_WithPrefixMatch_ReturnsOnlyNamesStartingWithTerm() {
+        // Arrange
+        SearchRequest request = new SearchRequest();
+        request.setLastName(" john");
+        request.setNameMatch(NameMatch.PREFIX);
+
+        // Act
+        List<Member> result = memberRepository.findAll(memberRepository.buildSpecification(request));
+
+        // Assert
+        assertEquals(List.of("Johnson"), result.stream().map(Member::getLastName).toList());
+    }
+
+    @Test
+    void buildSpecification_WithPrefixMatch_UsesNameIndex() {
+        // Act
+        String plan = jdbcTemplate.queryForObject(
+                "explain select id from member where last_name_norm like 'john%'", String.class);
+
+        // Assert
+        assertTrue(plan.contains("IDX_MEMBER_LAST_NAME_NORM"), plan);
+    }
+
+    @Test
+    void save_WithDuplicateSourceMemberId_IsRejected() {
+        // Arrange
+        Member duplicate = new Member(null, "Jane", null, "Doe", "IT", "USA", "1001", true);
+
+        // Act & Assert
+        assertThrows(DataIntegrityViolationException.class, () -> memberRepository.saveAndFlush(duplicate));
+    }
+
+    @Test
+    void forEachNameKey_InSmallBatches_VisitsEveryMatchInIdOrder() {
+        // Arrange
+        SearchRequest request = new SearchRequest();
+        request.setLastName("john");
+        List<String> lastNames = new ArrayList<>();
+
+        // Act
+        long count = memberRepository.forEachNameKey(memberRepository.buildSpecification(request), 1,
+                (id, first, middle, last) -> lastNames.add(last));
+
+        // Assert
+        assertEquals(2, count);
+        assertEquals(List.of("johnson", "mcjohn"), lastNames);
+    }
+
+    @Test
+    void countByValue_GroupsMatchesInOneQuery() {
+        // Arrange
+        SearchRequest request = new SearchRequest();
+        request.setLastName("o");
+
+        // Act
+        Map<String, Long> result = memberRepository.countByValue(memberRepository.buildSpecification(request),
+                "businessUnit");
+
+        // Assert
+        assertEquals(Map.of("IT", 2L, "HR", 1L), result);
+    }
+
+    @Test
+    void updateReturningPrevious_AtCurrentVersion_WritesAndReturnsOldRow() {
+        // Arrange
+        Long id = idOf("1001");
+        Member update = new Member(id, "Johnny", null, " Doe ", "HR", "UK", "1001", false);
+        update.setVersion(0L);
+
+        // Act
+        Optional<Member> previous = memberRepository.updateReturningPrevious(update);
+
+        // Assert
+        assertEquals(" John ", previous.orElseThrow().getFirstName());
+        assertEquals(0L, previous.get().getVersion());
+        Map<String, Object> row = jdbcTemplate.queryForMap(
+                "select first_name_norm, last_name_norm, business_unit, entitled, version from member where id = ?",
+                id);
+        assertEquals("johnny", row.get("FIRST_NAME_NORM"));
+        assertEquals("doe", row.get("LAST_NAME_NORM"));
+        assertEquals("HR", row.get("BUSINESS_UNIT"));
+        assertEquals(true, row.get("ENTITLED"));
+        assertEquals(1L, row.get("VERSION"));
+    }
+
+    @Test
+    void updateReturningPrevious_AtStaleVersion_WritesNothing() {
+        // Arrange
+        Long id = idOf("1001");
+        jdbcTemplate.update("update member set version = 5 where id = ?", id);
+        Member update = new Member(id, "Johnny", null, "Doe", "HR", "UK", "1001", true);
+        update.setVersion(4L);
+
+        // Act
+        Optional<Member> previous = memberRepository.updateReturningPrevious(update);
+
+        // Assert
+        assertTrue(previous.isEmpty());
+        assertEquals("IT", jdbcTemplate.queryForObject("select business_unit from member where id = ?",
+                String.class, id));
+    }
+
+    @Test
+    void updateReturningPrevious_WithoutVersion_OverwritesWhateverTheVersion() {
+        // Arrange
+        Long id = idOf("1001");
+        jdbcTemplate.update("update member set version = 5 where id = ?", id);
+        Member update = new Member(id, "Johnny", null, "Doe", "HR", "UK", "1001", true);
+
+        // Act
+        Optional<Member> previous = memberRepository.updateReturningPrevious(update);
+
+        // Assert
+        assertEquals(5L, previous.orElseThrow().getVersion());
+        assertEquals(6L, jdbcTemplate.queryForObject("select version from member where id = ?", Long.class, id));
+    }
+
+    @Test
+    void updateReturningPrevious_WithUnknownId_ReturnsEmpty() {
+        // Arrange
+        Member update = new Member(-1L, "Johnny", null, "Doe", "HR", "UK", null, true);
+
+        // Act
+        Optional<Member> previous = memberRepository.updateReturningPrevious(update);
+
+        // Assert
+        assertTrue(previous.isEmpty());
+    }
+
+    @Test
+    void updateAllIfVersion_ReportsWhichRowsWereWritten() {
+        // Arrange
+        Member current = new Member(idOf("1001"), "John", "D", "Doe", "Sales", "USA", "1001", true);
+        current.setVersion(0L);
+        Member stale = new Member(idOf("1003"), "Alice", "K", "Johnson", "Sales", "USA", "1003", true);
+        stale.setVersion(7L);
+
+        // Act
+        boolean[] written = memberRepository.updateAllIfVersion(List.of(current, stale));
+
+        // Assert
+        assertArrayEquals(new boolean[] {true, false}, written);
+        assertEquals(List.of("Sales", "IT"), jdbcTemplate.queryForList(
+                "select business_unit from member where source_member_id in ('1001', '1003') order by id",
+                String.class));
+    }
+
+    @Test
+    void updateAllIfVersion_WithDuplicateSourceMemberId_ThrowsDataIntegrityViolation() {
+        // Arrange
+        Member duplicate = new Member(idOf("1003"), "Alice", "K", "Johnson", "IT", "USA", "1001", true);
+        duplicate.setVersion(0L);
+
+        // Act & Assert
+        assertThrows(DataIntegrityViolationException.class,
+                () -> memberRepository.updateAllIfVersion(List.of(duplicate)));
+    }
+
+    private Long idOf(String sourceMemberId) {
+        return jdbcTemplate.queryForObject("select id from member where source_member_id = ?", Long.class,
+                sourceMemberId);
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.membersearch.repository;
+
+import com.example.membersearch.config.SourceMemberIdCheck;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.FlywayException;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Upgrades a schema Hibernate created before the migrations existed, with the baseline
+ * settings of application.properties and the source member id check.
+ */
+class MemberSchemaMigrationTest {
+
+    @Test
+    void migrate_LegacySchemaWithDuplicateSourceIds_StopsBeforeV2UntilTheyAreResolved() {
+        // Arrange
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:legacy;DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("create table member (id bigint generated by default as identity primary key, "
+                + "first_name varchar(100), middle_name varchar(100), last_name varchar(100), "
+                + "business_unit varchar(100), country varchar(100), source_member_id varchar(50), "
+                + "entitled boolean not null)");
+        jdbcTemplate.execute("insert into member (first_name, last_name, source_member_id, entitled) values "
+                + "('John', 'Doe', 'S1', true), ('Jane', 'Doe', 'S1', true), ('Bob', 'Smith', 'S2', false)");
+        Flyway flyway = Flyway.configure()
+                .dataSource(dataSource)
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                .callbacks(new SourceMemberIdCheck())
+                .load();
+
+        // Act
+        FlywayException failure = assertThrows(FlywayException.class, flyway::migrate);
+        List<String> idsAfterFailure = jdbcTemplate.queryForList(
+                "select source_member_id from member order by id", String.class);
+        jdbcTemplate.update("update member set source_member_id = 'S3' where first_name = 'Jane'");
+        flyway.migrate();
+
+        // Assert
+        assertTrue(failure.getMessage().contains("S1 (2 members)"), failure.getMessage());
+        assertEquals(List.of("S1", "S1", "S2"), idsAfterFailure);
+        assertEquals(List.of("S1", "S3", "S2"), jdbcTemplate.queryForList(
+                "select source_member_id from member order by id", String.class));
+        assertEquals(List.of("john", "jane", "bob"), jdbcTemplate.queryForList(
+                "select first_name_norm from member order by id", String.class));
+        assertEquals(List.of("BASELINE", "SQL", "SQL", "SQL"), jdbcTemplate.queryForList(
+                "select \"type\" from \"flyway_schema_history\" where \"version\" is not null "
+                        + "and \"success\" order by \"installed_rank\"", String.class));
+        jdbcTemplate.execute("drop all objects");
+    }
+}
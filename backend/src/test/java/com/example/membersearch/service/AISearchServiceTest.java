@@ -0,0 +1,128 @@
+package com.example.membersearch.service;
+
+import com.example.membersearch.dto.ResultOrder;
+import com.example.membersearch.dto.SearchRequest;
+import com.example.membersearch.metrics.SearchMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AISearchServiceTest {
+
+    private AISearchService aiSearchService;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void setUp() {
+        aiSearchService = new AISearchService();
+        ReflectionTestUtils.setField(aiSearchService, "parsedQueryCache", new ParsedQueryCache(meterRegistry, true, 2));
+        ReflectionTestUtils.setField(aiSearchService, "resourceLoader", new DefaultResourceLoader());
+        ReflectionTestUtils.setField(aiSearchService, "dictionaryLocation", "classpath:dictionaries/");
+        ReflectionTestUtils.setField(aiSearchService, "searchMetrics", new SearchMetrics(meterRegistry));
+        aiSearchService.reloadDictionaries();
+    }
+
+    @Test
+    void parseQuery_WithNameAndBusinessUnit_ExtractsBoth() {
+        // Act
+        SearchRequest result = aiSearchService.parseQuery("Show me John in IT");
+
+        // Assert
+        assertEquals("John", result.getFirstName());
+        assertNull(result.getLastName());
+        assertEquals(List.of("IT"), result.getBusinessUnits());
+        assertNull(result.getCountry());
+        assertEquals(ResultOrder.RELEVANCE, result.getOrder());
+        assertEquals(0, result.getPage());
+        assertEquals(10, result.getSize());
+    }
+
+    @Test
+    void parseQuery_WithSeveralTerms_KeepsDictionaryOrder() {
+        // Act
+        SearchRequest result = aiSearchService.parseQuery("find sales, hr and it people in the uk or usa");
+
+        // Assert
+        assertEquals(List.of("IT", "HR", "Sales"), result.getBusinessUnits());
+        assertEquals("USA", result.getCountry());
+        assertNull(result.getFirstName());
+    }
+
+    @Test
+    void parseQuery_MatchesWholeWordsOnly() {
+        // Act
+        SearchRequest result = aiSearchService.parseQuery("Find Italians in Ukraine");
+
+        // Assert
+        assertNull(result.getBusinessUnits());
+        assertNull(result.getCountry());
+        assertEquals("Italians", result.getFirstName());
+        assertEquals("Ukraine", result.getLastName());
+    }
+
+    @Test
+    void parseQuery_WithLeadingWhitespace_DoesNotFail() {
+        // Act
+        SearchRequest result = aiSearchService.parseQuery("  Alice Johnson in HR");
+
+        // Assert
+        assertEquals("Alice", result.getFirstName());
+        assertEquals("Johnson", result.getLastName());
+        assertEquals(List.of("HR"), result.getBusinessUnits());
+    }
+
+    @Test
+    void dictionary_WithMultiWordEntries_MatchesWordSequences() {
+        // Arrange
+        QueryDictionary dictionary = QueryDictionary.of(List.of("Human Resources", "IT"),
+                List.of("New Zealand", "Zealand"), List.of());
+
+        // Act
+        QueryDictionary.Match match = dictionary.match("it staff in new   zealand from human-resources");
+
+        // Assert
+        assertEquals(List.of("Human Resources", "IT"), match.businessUnits());
+        assertEquals("New Zealand", match.country());
+    }
+
+    @Test
+    void parseQuery_RepeatedWithDifferentSpacing_IsServedFromCacheAsCopy() {
+        // Arrange
+        SearchRequest first = aiSearchService.parseQuery("Show me John in IT");
+        first.setPage(3);
+
+        // Act
+        SearchRequest second = aiSearchService.parseQuery("  Show me   John in IT ");
+
+        // Assert
+        assertNotSame(first, second);
+        assertEquals("John", second.getFirstName());
+        assertEquals(List.of("IT"), second.getBusinessUnits());
+        assertEquals(0, second.getPage());
+        assertEquals(1, aiSearchService.parseCacheStatistics().getHits());
+        assertEquals(1, meterRegistry.timer(SearchMetrics.AI_PARSE).count());
+        assertEquals(1, meterRegistry.counter(ParsedQueryCache.LOOKUPS, "result", "hit").count());
+    }
+
+    @Test
+    void parseQuery_AfterDictionaryReload_ParsesAgain() {
+        // Arrange
+        aiSearchService.parseQuery("Show me John in IT");
+
+        // Act
+        aiSearchService.reloadDictionaries();
+        aiSearchService.parseQuery("Show me John in IT");
+
+        // Assert
+        assertEquals(0, aiSearchService.parseCacheStatistics().getHits());
+        assertEquals(1, aiSearchService.parseCacheStatistics().getInvalidations());
+        assertEquals(2, meterRegistry.timer(SearchMetrics.AI_PARSE).count());
+    }
+}
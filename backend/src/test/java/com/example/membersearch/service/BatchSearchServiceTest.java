@@ -0,0 +1,153 @@
+package com.example.membersearch.service;
+
+import com.example.membersearch.dto.BatchSearchItem;
+import com.example.membersearch.dto.BatchSearchRequest;
+import com.example.membersearch.dto.BatchSearchResponse;
+import com.example.membersearch.dto.BatchSearchResult;
+import com.example.membersearch.dto.SearchRequest;
+import com.example.membersearch.exception.InvalidSearchRequestException;
+import com.example.membersearch.model.Member;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BatchSearchServiceTest {
+
+    @Mock
+    private MemberService memberService;
+
+    @Mock
+    private AISearchService aiSearchService;
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Spy
+    private ExecutorService batchSearchExecutor = Executors.newFixedThreadPool(4);
+
+    @InjectMocks
+    private BatchSearchService batchSearchService;
+
+    private final Member member = new Member(1L, "John", null, "Doe", "IT", "USA", "1001", true);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(batchSearchService, "maxItems", 3);
+        ReflectionTestUtils.setField(batchSearchService, "timeout", Duration.ofSeconds(5));
+    }
+
+    @AfterEach
+    void tearDown() {
+        batchSearchExecutor.shutdownNow();
+    }
+
+    @Test
+    void search_WithMixedItems_ReturnsResultsInOrderWithPerItemErrors() {
+        // Arrange
+        SearchRequest structured = new SearchRequest();
+        structured.setFirstName("John");
+        SearchRequest parsed = new SearchRequest();
+        parsed.setCountry("USA");
+        SearchRequest invalid = new SearchRequest();
+        invalid.setSize(500);
+        when(aiSearchService.parseQuery("people in USA")).thenReturn(parsed);
+        when(memberService.searchMembers(any(SearchRequest.class)))
+                .thenReturn(new PageImpl<>(List.of(member), PageRequest.of(0, 10), 1));
+
+        // Act
+        BatchSearchResponse response = batchSearchService.search(new BatchSearchRequest(List.of(
+                new BatchSearchItem(structured, null),
+                new BatchSearchItem(null, "people in USA"),
+                new BatchSearchItem(invalid, null))));
+
+        // Assert
+        List<BatchSearchResult> results = response.getResults();
+        assertEquals(List.of(0, 1, 2), results.stream().map(BatchSearchResult::getIndex).toList());
+        assertEquals(200, results.get(0).getStatus());
+        assertEquals(1, results.get(0).getResult().getTotalElements());
+        assertEquals(200, results.get(1).getStatus());
+        assertEquals(400, results.get(2).getStatus());
+        assertEquals(List.of("size: Page size must not exceed 100"), results.get(2).getDetails());
+        assertNull(results.get(2).getResult());
+        verify(memberService).searchMembers(parsed);
+        verify(memberService, never()).searchMembers(invalid);
+    }
+
+    @Test
+    void search_WithAmbiguousItemOrFailingSearch_ReportsErrorsWithoutFailingBatch() {
+        // Arrange
+        SearchRequest badCursor = new SearchRequest();
+        when(memberService.searchMembers(badCursor)).thenThrow(new InvalidSearchRequestException("Bad"));
+
+        // Act
+        BatchSearchResponse response = batchSearchService.search(new BatchSearchRequest(List.of(
+                new BatchSearchItem(new SearchRequest(), "and a query"),
+                new BatchSearchItem(badCursor, null))));
+
+        // Assert
+        assertEquals(400, response.getResults().get(0).getStatus());
+        assertEquals(400, response.getResults().get(1).getStatus());
+        assertEquals("Bad", response.getResults().get(1).getError());
+    }
+
+    @Test
+    void search_RunsItemsConcurrently() {
+        // Arrange: every search waits until all three are running at the same time
+        CountDownLatch running = new CountDownLatch(3);
+        List<SearchRequest> seen = Collections.synchronizedList(new ArrayList<>());
+        when(memberService.searchMembers(any(SearchRequest.class))).thenAnswer(invocation -> {
+            seen.add(invocation.getArgument(0));
+            running.countDown();
+            assertTrue(running.await(5, TimeUnit.SECONDS));
+            return new PageImpl<>(List.of(member));
+        });
+
+        // Act
+        BatchSearchResponse response = batchSearchService.search(new BatchSearchRequest(List.of(
+                new BatchSearchItem(new SearchRequest(), null),
+                new BatchSearchItem(new SearchRequest(), null),
+                new BatchSearchItem(new SearchRequest(), null))));
+
+        // Assert
+        assertEquals(3, seen.size());
+        assertTrue(response.getResults().stream().allMatch(result -> result.getStatus() == 200));
+    }
+
+    @Test
+    void search_WithTooManyItems_ThrowsException() {
+        // Arrange
+        List<BatchSearchItem> items = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            items.add(new BatchSearchItem(new SearchRequest(), null));
+        }
+
+        // Act & Assert
+        assertThrows(InvalidSearchRequestException.class,
+                () -> batchSearchService.search(new BatchSearchRequest(items)));
+        verify(memberService, never()).searchMembers(any(SearchRequest.class));
+    }
+}
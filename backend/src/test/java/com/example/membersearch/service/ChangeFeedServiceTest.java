@@ -0,0 +1,124 @@
+package com.example.membersearch.service;
+
+import com.example.membersearch.dto.ChangeFeedPage;
+import com.example.membersearch.event.MemberChangedEvent;
+import com.example.membersearch.exception.InvalidSearchRequestException;
+import com.example.membersearch.exception.ServiceBusyException;
+import com.example.membersearch.model.Member;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChangeFeedServiceTest {
+
+    private final MemberChangeLog changeLog = new MemberChangeLog(100, Runnable::run);
+
+    private final ChangeFeedService changeFeedService = new ChangeFeedService();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(changeFeedService, "memberChangeLog", changeLog);
+        ReflectionTestUtils.setField(changeFeedService, "maxSubscribers", 1);
+    }
+
+    @Test
+    void poll_WithPendingChanges_ReturnsImmediately() {
+        // Arrange
+        changeLog.onMemberChanged(update(1L));
+        changeLog.onMemberChanged(update(2L));
+
+        // Act
+        DeferredResult<ChangeFeedPage> result = changeFeedService.poll(changeLog.getEpoch(), 0L, 1, 30);
+
+        // Assert
+        assertTrue(result.hasResult());
+        ChangeFeedPage page = (ChangeFeedPage) result.getResult();
+        assertEquals(1, page.changes().size());
+        assertEquals(1, page.lastSequence());
+    }
+
+    @Test
+    void poll_WithoutChanges_CompletesOnTheNextChange() {
+        // Arrange
+        changeLog.onMemberChanged(update(1L));
+        DeferredResult<ChangeFeedPage> result = changeFeedService.poll(null, null, 10, 30);
+        assertFalse(result.hasResult());
+
+        // Act
+        changeLog.onMemberChanged(update(2L));
+
+        // Assert
+        ChangeFeedPage page = (ChangeFeedPage) result.getResult();
+        assertEquals(1, page.changes().size());
+        assertEquals(2L, page.changes().get(0).member().getId());
+        assertEquals(2, page.lastSequence());
+    }
+
+    @Test
+    void poll_WithPositionFromAnotherEpoch_RequiresResync() {
+        // Arrange
+        changeLog.onMemberChanged(update(1L));
+        changeLog.onMemberChanged(update(2L));
+
+        // Act
+        DeferredResult<ChangeFeedPage> result = changeFeedService.poll("earlier-run", 1L, 10, 30);
+
+        // Assert
+        ChangeFeedPage page = (ChangeFeedPage) result.getResult();
+        assertTrue(page.resyncRequired());
+        assertTrue(page.changes().isEmpty());
+        assertEquals(changeLog.getEpoch(), page.epoch());
+        assertEquals(2, page.lastSequence());
+    }
+
+    @Test
+    void poll_BeyondMaxSubscribers_IsRejected() {
+        // Arrange
+        changeFeedService.poll(null, null, 10, 30);
+
+        // Act & Assert
+        assertThrows(ServiceBusyException.class, () -> changeFeedService.poll(null, null, 10, 30));
+    }
+
+    @Test
+    void stream_SendsOnTheSenderRatherThanTheDispatchThread() {
+        // Arrange
+        List<Runnable> sends = new ArrayList<>();
+        ReflectionTestUtils.setField(changeFeedService, "sender", (Executor) sends::add);
+        changeFeedService.stream(null, null);
+        sends.remove(0).run();
+
+        // Act
+        changeLog.onMemberChanged(update(1L));
+        changeLog.onMemberChanged(update(2L));
+
+        // Assert
+        assertEquals(1, sends.size());
+        sends.remove(0).run();
+        changeLog.onMemberChanged(update(3L));
+        assertEquals(1, sends.size());
+    }
+
+    @Test
+    void poll_WithInvalidArguments_IsRejected() {
+        // Arrange
+        String epoch = changeLog.getEpoch();
+
+        // Act & Assert
+        assertThrows(InvalidSearchRequestException.class, () -> changeFeedService.poll(epoch, 0L, 0, 30));
+        assertThrows(InvalidSearchRequestException.class, () -> changeFeedService.poll(epoch, -1L, 10, 30));
+        assertThrows(InvalidSearchRequestException.class, () -> changeFeedService.resume("epoch:next"));
+    }
+
+    private static MemberChangedEvent update(Long id) {
+        return new MemberChangedEvent(new Member(id, "John", null, "Doe", "IT", "USA", null, true),
+                new Member(id, "Jon", null, "Doe", "IT", "USA", null, true));
+    }
+}
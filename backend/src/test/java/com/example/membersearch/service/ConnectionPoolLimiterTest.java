@@ -0,0 +1,70 @@
+package com.example.membersearch.service;
+
+import com.example.membersearch.exception.ServiceBusyException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConnectionPoolLimiterTest {
+
+    @Test
+    void call_WhenPermitsAreFree_RunsActionAndReleasesPermit() {
+        // Arrange
+        ConnectionPoolLimiter limiter = new ConnectionPoolLimiter(true, 2, 10, Duration.ofMillis(100), null);
+
+        // Act
+        String result = limiter.call(() -> "done");
+
+        // Assert
+        assertEquals("done", result);
+        assertEquals(2, limiter.getAvailablePermits());
+    }
+
+    @Test
+    void call_WhenAllPermitsAreHeld_TimesOutWithServiceBusy() throws Exception {
+        // Arrange
+        ConnectionPoolLimiter limiter = new ConnectionPoolLimiter(true, 1, 10, Duration.ofMillis(50), null);
+        CountDownLatch holding = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> holder = executor.submit(() -> limiter.run(() -> {
+                holding.countDown();
+                awaitQuietly(release);
+            }));
+            assertTrue(holding.await(5, TimeUnit.SECONDS));
+
+            // Act & Assert
+            assertThrows(ServiceBusyException.class, () -> limiter.call(() -> "never"));
+            release.countDown();
+            holder.get(5, TimeUnit.SECONDS);
+            assertEquals(1, limiter.getAvailablePermits());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void call_WhenDisabled_DoesNotTakePermits() {
+        // Arrange
+        ConnectionPoolLimiter limiter = new ConnectionPoolLimiter(false, 1, 10, Duration.ofMillis(50), null);
+
+        // Act & Assert
+        assertEquals("nested", limiter.call(() -> limiter.call(() -> "nested")));
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
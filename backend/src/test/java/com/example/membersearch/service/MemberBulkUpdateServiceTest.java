@@ -0,0 +1,172 @@
+package com.example.membersearch.service;
+
+import com.example.membersearch.dto.BulkUpdateRequest;
+import com.example.membersearch.dto.BulkUpdateResponse;
+import com.example.membersearch.dto.BulkUpdateResult;
+import com.example.membersearch.dto.MemberPatch;
+import com.example.membersearch.event.MemberChangedEvent;
+import com.example.membersearch.exception.InvalidUpdateRequestException;
+import com.example.membersearch.metrics.SearchMetrics;
+import com.example.membersearch.model.Member;
+import com.example.membersearch.repository.MemberRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MemberBulkUpdateServiceTest {
+
+    @Mock
+    private MemberRepository memberRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Spy
+    private jakarta.validation.Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Mock
+    private SearchResultCache searchResultCache;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private ConnectionPoolLimiter connectionPoolLimiter = new ConnectionPoolLimiter(true, 2, 10, Duration.ofSeconds(1), null);
+
+    @Spy
+    private SearchMetrics searchMetrics = new SearchMetrics(new SimpleMeterRegistry());
+
+    @InjectMocks
+    private MemberBulkUpdateService memberBulkUpdateService;
+
+    private final List<Member> stored = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        for (long id = 1; id <= 4; id++) {
+            Member member = new Member(id, "First" + id, null, "Last" + id, "IT", "USA", "M" + id, true);
+            member.setVersion(id);
+            stored.add(member);
+        }
+        lenient().when(memberRepository.findAllById(any())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            return stored.stream().filter(member -> ids.contains(member.getId())).map(Member::copy).toList();
+        });
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(
+                invocation -> ((TransactionCallback<?>) invocation.getArgument(0)).doInTransaction(null));
+    }
+
+    @Test
+    void update_WithMixedPatches_ReportsEachItem() {
+        // Arrange
+        when(memberRepository.updateAllIfVersion(anyList())).thenReturn(new boolean[] {true, true});
+        List<MemberPatch> items = List.of(
+                patch(1L, 1L, "Sales"),
+                patch(2L, null, "Sales"),
+                patch(3L, 2L, "Sales"),
+                patch(9L, null, "Sales"),
+                patch(1L, null, "HR"),
+                new MemberPatch(4L, null, " ", null, null, null, null, null));
+
+        // Act
+        BulkUpdateResponse response = memberBulkUpdateService.update(new BulkUpdateRequest(items));
+
+        // Assert
+        assertEquals(List.of(200, 200, 409, 404, 400, 400),
+                response.getResults().stream().map(BulkUpdateResult::getStatus).toList());
+        assertEquals(2L, response.getResults().get(0).getVersion());
+        assertEquals(3L, response.getResults().get(1).getVersion());
+        assertEquals(List.of("firstName: First name is required"), response.getResults().get(5).getDetails());
+        assertEquals(2, response.getUpdated());
+        assertEquals(4, response.getFailed());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Member>> written = ArgumentCaptor.forClass(List.class);
+        verify(memberRepository).updateAllIfVersion(written.capture());
+        assertEquals(List.of(1L, 2L), written.getValue().stream().map(Member::getId).toList());
+        assertEquals("First2", written.getValue().get(1).getFirstName());
+        verify(searchResultCache).clear();
+        ArgumentCaptor<MemberChangedEvent> events = ArgumentCaptor.forClass(MemberChangedEvent.class);
+        verify(eventPublisher, times(2)).publishEvent(events.capture());
+        assertEquals("IT", events.getAllValues().get(0).previous().getBusinessUnit());
+        assertEquals("Sales", events.getAllValues().get(0).current().getBusinessUnit());
+    }
+
+    @Test
+    void update_WhenRowChangedSinceRead_ReportsConflictWithoutEvents() {
+        // Arrange
+        when(memberRepository.updateAllIfVersion(anyList())).thenReturn(new boolean[] {false});
+
+        // Act
+        BulkUpdateResponse response = memberBulkUpdateService.update(
+                new BulkUpdateRequest(List.of(patch(1L, null, "Sales"))));
+
+        // Assert
+        assertEquals(409, response.getResults().get(0).getStatus());
+        verify(searchResultCache, never()).clear();
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void update_WhenABatchViolatesAConstraint_FailsOnlyTheOffendingPatch() {
+        // Arrange
+        ReflectionTestUtils.setField(memberBulkUpdateService, "batchSize", 2);
+        when(memberRepository.updateAllIfVersion(anyList()))
+                .thenThrow(new DataIntegrityViolationException("duplicate source member id"))
+                .thenThrow(new DataIntegrityViolationException("duplicate source member id"))
+                .thenReturn(new boolean[] {true})
+                .thenReturn(new boolean[] {true, true});
+
+        // Act
+        BulkUpdateResponse response = memberBulkUpdateService.update(new BulkUpdateRequest(List.of(
+                patch(1L, null, "Sales"), patch(2L, null, "Sales"), patch(3L, null, "Sales"),
+                patch(4L, null, "Sales"))));
+
+        // Assert
+        assertEquals(List.of(409, 200, 200, 200),
+                response.getResults().stream().map(BulkUpdateResult::getStatus).toList());
+        assertEquals("The patch conflicts with an existing member (duplicate source member id?)",
+                response.getResults().get(0).getError());
+        // The failed batch, then each of its rows, then the second batch
+        verify(memberRepository, times(4)).updateAllIfVersion(anyList());
+        verify(eventPublisher, times(3)).publishEvent(any(MemberChangedEvent.class));
+    }
+
+    @Test
+    void update_WithTooManyPatches_IsRejected() {
+        // Arrange
+        ReflectionTestUtils.setField(memberBulkUpdateService, "maxItems", 1);
+        BulkUpdateRequest request = new BulkUpdateRequest(List.of(patch(1L, null, "HR"), patch(2L, null, "HR")));
+
+        // Act & Assert
+        assertThrows(InvalidUpdateRequestException.class, () -> memberBulkUpdateService.update(request));
+        verifyNoInteractions(memberRepository);
+    }
+
+    private static MemberPatch patch(Long id, Long version, String businessUnit) {
+        return new MemberPatch(id, version, null, null, null, businessUnit, null, null);
+    }
+}
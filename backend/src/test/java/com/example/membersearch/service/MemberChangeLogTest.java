@@ -0,0 +1,118 @@
+package com.example.membersearch.service;
+
+import com.example.membersearch.dto.ChangeFeedPage;
+import com.example.membersearch.dto.MemberChange;
+import com.example.membersearch.event.MemberChangedEvent;
+import com.example.membersearch.model.Member;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MemberChangeLogTest {
+
+    // Dispatches on the appending thread, so notifications are synchronous
+    private final MemberChangeLog changeLog = new MemberChangeLog(4, Runnable::run);
+
+    private final String epoch = changeLog.getEpoch();
+
+    @Test
+    void read_AfterSequence_ReturnsLaterChangesInOrder() {
+        // Arrange
+        changeLog.onMemberChanged(new MemberChangedEvent(null, member(1L, "John")));
+        changeLog.onMemberChanged(new MemberChangedEvent(member(1L, "John"), member(1L, "Jon")));
+        changeLog.onMemberChanged(new MemberChangedEvent(member(2L, "Alice"), member(2L, "Alicia")));
+
+        // Act
+        ChangeFeedPage page = changeLog.read(epoch, 1, 10);
+
+        // Assert
+        assertFalse(page.resyncRequired());
+        assertEquals(3, page.lastSequence());
+        assertEquals(2, page.changes().size());
+        assertEquals(2, page.changes().get(0).sequence());
+        assertEquals(MemberChange.Type.UPDATED, page.changes().get(0).type());
+        assertEquals("Alicia", page.changes().get(1).member().getFirstName());
+        assertEquals(MemberChange.Type.INSERTED, changeLog.read(epoch, 0, 1).changes().get(0).type());
+    }
+
+    @Test
+    void read_WithLimit_ReturnsSequenceToContinueFrom() {
+        // Arrange
+        for (long id = 1; id <= 3; id++) {
+            changeLog.onMemberChanged(new MemberChangedEvent(null, member(id, "John")));
+        }
+
+        // Act
+        ChangeFeedPage first = changeLog.read(epoch, 0, 2);
+        ChangeFeedPage second = changeLog.read(epoch, first.lastSequence(), 2);
+        ChangeFeedPage caughtUp = changeLog.read(epoch, second.lastSequence(), 2);
+
+        // Assert
+        assertEquals(2, first.lastSequence());
+        assertEquals(1, second.changes().size());
+        assertEquals(3L, second.changes().get(0).member().getId());
+        assertTrue(caughtUp.changes().isEmpty());
+        assertEquals(3, caughtUp.lastSequence());
+    }
+
+    @Test
+    void read_AfterOverwrittenChanges_RequiresResync() {
+        // Arrange
+        for (long id = 1; id <= 6; id++) {
+            changeLog.onMemberChanged(new MemberChangedEvent(null, member(id, "John")));
+        }
+
+        // Act
+        ChangeFeedPage stale = changeLog.read(epoch, 1, 10);
+        ChangeFeedPage oldestHeld = changeLog.read(epoch, 2, 10);
+        ChangeFeedPage ahead = changeLog.read(epoch, 9, 10);
+
+        // Assert
+        assertTrue(stale.resyncRequired());
+        assertEquals(6, stale.lastSequence());
+        assertFalse(oldestHeld.resyncRequired());
+        assertEquals(4, oldestHeld.changes().size());
+        assertEquals(3, oldestHeld.changes().get(0).sequence());
+        assertTrue(ahead.resyncRequired());
+    }
+
+    @Test
+    void read_WithAnotherRunsEpoch_RequiresResync() throws InterruptedException {
+        // Arrange
+        Thread.sleep(2);
+        MemberChangeLog restarted = new MemberChangeLog(4, Runnable::run);
+        for (long id = 1; id <= 3; id++) {
+            restarted.onMemberChanged(new MemberChangedEvent(null, member(id, "John")));
+        }
+
+        // Act
+        ChangeFeedPage page = restarted.read(epoch, 1, 10);
+
+        // Assert
+        assertNotEquals(epoch, restarted.getEpoch());
+        assertTrue(page.resyncRequired());
+        assertEquals(restarted.getEpoch(), page.epoch());
+        assertEquals(3, page.lastSequence());
+    }
+
+    @Test
+    void subscribe_IsNotifiedUntilUnsubscribed() {
+        // Arrange
+        AtomicInteger notified = new AtomicInteger();
+        Runnable unsubscribe = changeLog.subscribe(notified::incrementAndGet);
+
+        // Act
+        changeLog.onMemberChanged(new MemberChangedEvent(null, member(1L, "John")));
+        unsubscribe.run();
+        changeLog.onMemberChanged(new MemberChangedEvent(null, member(2L, "Alice")));
+
+        // Assert
+        assertEquals(1, notified.get());
+    }
+
+    private static Member member(Long id, String firstName) {
+        return new Member(id, firstName, null, "Doe", "IT", "USA", null, true);
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.membersearch.service;
+
+import com.example.membersearch.dto.SearchRequest;
+import com.example.membersearch.exception.InvalidSearchRequestException;
+import com.example.membersearch.model.Member;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.lenient;
+
+@ExtendWith(MockitoExtension.class)
+class MemberExportServiceTest {
+
+    @Mock
+    private MemberService memberService;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @Spy
+    private ConnectionPoolLimiter connectionPoolLimiter = new ConnectionPoolLimiter(true, 2, 10, Duration.ofSeconds(1), null);
+
+    @InjectMocks
+    private MemberExportService memberExportService;
+
+    private final SearchRequest request = new SearchRequest();
+
+    @BeforeEach
+    void setUp() {
+        List<Member> members = List.of(
+                new Member(1L, "John", null, "Doe", "IT", "USA", "M001", true),
+                new Member(2L, "Ann, B", null, "O\"Neil", "HR", "UK", null, false));
+        lenient().when(memberService.streamMembers(any(SearchRequest.class), anyInt(), any())).thenAnswer(invocation -> {
+            Consumer<Member> action = invocation.getArgument(2);
+            members.forEach(action);
+            return (long) members.size();
+        });
+    }
+
+    @Test
+    void export_AsNdjson_WritesOneObjectPerLine() throws Exception {
+        // Arrange
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        long count = memberExportService.export(request, MemberExportService.Format.NDJSON, out);
+
+        // Assert
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, count);
+        assertEquals(2, lines.length);
+        assertEquals("Doe", objectMapper.readValue(lines[0], Member.class).getLastName());
+        assertEquals("Ann, B", objectMapper.readValue(lines[1], Member.class).getFirstName());
+    }
+
+    @Test
+    void export_AsCsv_WritesHeaderAndQuotesSpecialCharacters() throws Exception {
+        // Arrange
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        memberExportService.export(request, MemberExportService.Format.CSV, out);
+
+        // Assert
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals("id,firstName,middleName,lastName,businessUnit,country,sourceMemberId,entitled", lines[0]);
+        assertEquals("1,John,,Doe,IT,USA,M001,true", lines[1]);
+        assertEquals("2,\"Ann, B\",,\"O\"\"Neil\",HR,UK,,false", lines[2]);
+        assertEquals(List.of("2", "Ann, B", "", "O\"Neil", "HR", "UK", "", "false"),
+                MemberIngestService.parseCsvLine(lines[2]));
+    }
+
+    @Test
+    void formatFromParameter_IgnoresCaseAndRejectsUnknownFormats() {
+        assertEquals(MemberExportService.Format.CSV, MemberExportService.Format.fromParameter("CSV"));
+        assertEquals(MemberExportService.Format.NDJSON, MemberExportService.Format.fromParameter("ndjson"));
+        assertThrows(InvalidSearchRequestException.class, () -> MemberExportService.Format.fromParameter("xml"));
+    }
+}
@@ -0,0 +1,200 @@
+package com.example.membersearch.service;
+
+import com.example.membersearch.dto.IngestProgress;
+import com.example.membersearch.event.MemberChangedEvent;
+import com.example.membersearch.exception.InvalidIngestRequestException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MemberIngestServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Spy
+    private jakarta.validation.Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @Mock
+    private SearchResultCache searchResultCache;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private ConnectionPoolLimiter connectionPoolLimiter = new ConnectionPoolLimiter(true, 2, 10, Duration.ofSeconds(1), null);
+
+    @InjectMocks
+    private MemberIngestService memberIngestService;
+
+    private final List<IngestProgress> progress = new ArrayList<>();
+    private final List<Integer> batchSizes = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        AtomicLong ids = new AtomicLong();
+        lenient().doAnswer(invocation -> {
+            Consumer<TransactionStatus> action = invocation.getArgument(0);
+            action.accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        lenient().when(jdbcTemplate.batchUpdate(any(PreparedStatementCreator.class),
+                any(BatchPreparedStatementSetter.class), any(KeyHolder.class))).thenAnswer(invocation -> {
+                    BatchPreparedStatementSetter setter = invocation.getArgument(1);
+                    KeyHolder keyHolder = invocation.getArgument(2);
+                    batchSizes.add(setter.getBatchSize());
+                    for (int i = 0; i < setter.getBatchSize(); i++) {
+                        keyHolder.getKeyList().add(Map.of("ID", ids.incrementAndGet()));
+                    }
+                    return new int[setter.getBatchSize()];
+                });
+    }
+
+    @Test
+    void ingest_WithNdjson_InsertsValidRowsInBatchesAndRejectsInvalidOnes() throws Exception {
+        // Arrange
+        String input = """
+                {"firstName":"Jane","lastName":"Smith","businessUnit":"HR","entitled":true}
+                {"firstName":"Bob"}
+                not json
+                {"firstName":"Carl","lastName":"Jones"}
+
+                {"firstName":"Dana","lastName":"Brown"}
+                """;
+
+        // Act
+        IngestProgress summary = memberIngestService.ingest(stream(input), MemberIngestService.Format.NDJSON, 2,
+                progress::add);
+
+        // Assert
+        assertEquals(3, summary.getTotalAccepted());
+        assertEquals(2, summary.getTotalRejected());
+        assertEquals(List.of(2, 1), batchSizes);
+        assertEquals(List.of(2L, 3L), progress.stream()
+                .filter(p -> p.getType() == IngestProgress.Type.REJECTED).map(IngestProgress::getLine).toList());
+        verify(eventPublisher, times(3)).publishEvent(any(MemberChangedEvent.class));
+    }
+
+    @Test
+    void ingest_WhenABatchHasADuplicateSourceMemberId_RejectsOnlyThatRow() throws Exception {
+        // Arrange
+        Set<String> stored = new HashSet<>(Set.of("S1"));
+        when(jdbcTemplate.batchUpdate(any(PreparedStatementCreator.class),
+                any(BatchPreparedStatementSetter.class), any(KeyHolder.class))).thenAnswer(invocation -> {
+                    BatchPreparedStatementSetter setter = invocation.getArgument(1);
+                    List<String> sourceIds = new ArrayList<>();
+                    PreparedStatement ps = mock(PreparedStatement.class);
+                    lenient().doAnswer(set -> sourceIds.add(set.getArgument(1))).when(ps).setString(eq(6), anyString());
+                    for (int i = 0; i < setter.getBatchSize(); i++) {
+                        setter.setValues(ps, i);
+                    }
+                    if (sourceIds.stream().anyMatch(stored::contains)) {
+                        throw new DuplicateKeyException("Unique index or primary key violation");
+                    }
+                    stored.addAll(sourceIds);
+                    KeyHolder keyHolder = invocation.getArgument(2);
+                    for (int i = 0; i < setter.getBatchSize(); i++) {
+                        keyHolder.getKeyList().add(Map.of("ID", (long) stored.size() + i));
+                    }
+                    return new int[setter.getBatchSize()];
+                });
+        String input = """
+                {"firstName":"Jane","lastName":"Smith","sourceMemberId":"S9"}
+                {"firstName":"Carl","lastName":"Jones","sourceMemberId":"S1"}
+                {"firstName":"Dana","lastName":"Brown","sourceMemberId":"S10"}
+                """;
+
+        // Act
+        IngestProgress summary = memberIngestService.ingest(stream(input), MemberIngestService.Format.NDJSON, 10,
+                progress::add);
+
+        // Assert
+        assertEquals(2, summary.getTotalAccepted());
+        assertEquals(1, summary.getTotalRejected());
+        IngestProgress rejected = progress.stream()
+                .filter(p -> p.getType() == IngestProgress.Type.REJECTED).findFirst().orElseThrow();
+        assertEquals(2L, rejected.getLine());
+        assertEquals(List.of("sourceMemberId: duplicate source member id 'S1'"), rejected.getErrors());
+        assertEquals(Set.of("S1", "S9", "S10"), stored);
+        verify(eventPublisher, times(2)).publishEvent(any(MemberChangedEvent.class));
+    }
+
+    @Test
+    void ingest_WithCsv_MapsColumnsByHeader() throws Exception {
+        // Arrange
+        String input = """
+                lastName,firstName,entitled,businessUnit
+                Smith,"Jane, Jr.",true,HR
+                Jones,Carl,false,
+                """;
+
+        // Act
+        IngestProgress summary = memberIngestService.ingest(stream(input), MemberIngestService.Format.CSV, null,
+                progress::add);
+
+        // Assert
+        assertEquals(2, summary.getTotalAccepted());
+        assertEquals(0, summary.getTotalRejected());
+        assertEquals(List.of(2), batchSizes);
+    }
+
+    @Test
+    void ingest_WithUnknownCsvColumn_ThrowsException() {
+        // Arrange
+        String input = "firstName,surname\nJane,Smith\n";
+
+        // Act & Assert
+        assertThrows(InvalidIngestRequestException.class, () -> memberIngestService.ingest(stream(input),
+                MemberIngestService.Format.CSV, null, progress::add));
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void parseCsvLine_HandlesQuotedFieldsAndEscapes() {
+        assertEquals(List.of("a", "b, c", "say \"hi\"", ""),
+                MemberIngestService.parseCsvLine("a,\"b, c\",\"say \"\"hi\"\"\","));
+    }
+
+    private static ByteArrayInputStream stream(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -1,23 +1,59 @@
 package com.example.membersearch.service;
 
+import com.example.membersearch.dto.CountMode;
+import com.example.membersearch.dto.CursorPage;
+import com.example.membersearch.dto.FacetField;
+import com.example.membersearch.dto.MemberField;
+import com.example.membersearch.dto.MemberView;
+import com.example.membersearch.dto.NameMatch;
+import com.example.membersearch.dto.ResultOrder;
+import com.example.membersearch.dto.SearchPage;
 import com.example.membersearch.dto.SearchRequest;
+import com.example.membersearch.dto.SlimPage;
+import com.example.membersearch.dto.TypeaheadField;
+import com.example.membersearch.event.MemberChangedEvent;
+import com.example.membersearch.exception.InvalidSearchRequestException;
 import com.example.membersearch.exception.MemberNotFoundException;
+import com.example.membersearch.exception.MemberVersionConflictException;
+import com.example.membersearch.exception.ServiceBusyException;
+import com.example.membersearch.index.MemberCategoryIndex;
+import com.example.membersearch.index.MemberFuzzyNameIndex;
+import com.example.membersearch.index.MemberNameIndex;
+import com.example.membersearch.index.MemberStatistics;
+import com.example.membersearch.index.MemberTypeaheadIndex;
+import com.example.membersearch.metrics.SearchMetrics;
 import com.example.membersearch.model.Member;
 import com.example.membersearch.repository.MemberRepository;
+import com.example.membersearch.repository.MemberRepositoryCustom;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.domain.Specification;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -29,6 +65,38 @@ class MemberServiceTest {
     @Mock
     private MemberRepository memberRepository;
 
+    @Mock
+    private MemberNameIndex memberNameIndex;
+
+    @Mock
+    private MemberCategoryIndex memberCategoryIndex;
+
+    @Mock
+    private MemberFuzzyNameIndex memberFuzzyNameIndex;
+
+    @Mock
+    private MemberStatistics memberStatistics;
+
+    @Mock
+    private MemberTypeaheadIndex memberTypeaheadIndex;
+
+    @Mock
+    private SearchResultCache searchResultCache;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private ConnectionPoolLimiter connectionPoolLimiter = new ConnectionPoolLimiter(true, 2, 10, Duration.ofSeconds(1), null);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private SearchMetrics searchMetrics = new SearchMetrics(meterRegistry);
+
+    @Spy
+    private SearchCoalescer searchCoalescer = new SearchCoalescer(meterRegistry, true);
+
     @InjectMocks
     private MemberService memberService;
 
@@ -52,10 +120,9 @@ class MemberServiceTest {
         request.setSize(10);
 
         List<Member> members = Arrays.asList(testMember);
-        Page<Member> page = new PageImpl<>(members, PageRequest.of(0, 10), 1);
 
-        when(memberRepository.findAll(nullable(Specification.class), any(PageRequest.class)))
-                .thenReturn(page);
+        when(memberRepository.findSlice(anySpec(), eq(0L), eq(10)))
+                .thenReturn(members);
 
         // Act
         Page<Member> result = memberService.searchMembers(request);
@@ -64,7 +131,7 @@ class MemberServiceTest {
         assertNotNull(result);
         assertEquals(1, result.getTotalElements());
         assertEquals("John", result.getContent().get(0).getFirstName());
-        verify(memberRepository).findAll(nullable(Specification.class), any(PageRequest.class));
+        verify(memberRepository).findSlice(anySpec(), eq(0L), eq(10));
     }
 
     @Test
@@ -76,11 +143,9 @@ class MemberServiceTest {
         request.setSize(10);
 
         List<Member> members = Arrays.asList(testMember);
-        Page<Member> page = new PageImpl<>(members, PageRequest.of(0, 10), 1);
 
-        when(memberRepository.findAll(nullable(Specification.class),
-                any(PageRequest.class)))
-                .thenReturn(page);
+        when(memberRepository.findSlice(anySpec(), eq(0L), eq(10)))
+                .thenReturn(members);
 
         // Act
         Page<Member> result = memberService.searchMembers(request);
@@ -88,7 +153,50 @@ class MemberServiceTest {
         // Assert
         assertNotNull(result);
         assertEquals(1, result.getTotalElements());
-        verify(memberRepository).findAll(nullable(Specification.class), any(PageRequest.class));
+        verify(memberRepository).findSlice(anySpec(), eq(0L), eq(10));
+    }
+
+    @Test
+    void searchMembers_WithShortPage_SkipsCountAndRecordsTimersTaggedByFilters() {
+        // Arrange
+        SearchRequest request = new SearchRequest();
+        request.setFirstName("John");
+        request.setCountry("USA");
+        when(memberRepository.findSlice(anySpec(), eq(0L), eq(10)))
+                .thenReturn(List.of(testMember));
+
+        // Act
+        memberService.searchMembers(request);
+
+        // Assert
+        verify(memberRepository, never()).count(anySpec());
+        assertEquals(1, meterRegistry.get(SearchMetrics.QUERY)
+                .tags("filters", "name+country", "operation", "page").timer().count());
+        assertTrue(meterRegistry.find(SearchMetrics.COUNT).timers().isEmpty());
+    }
+
+    @Test
+    void searchMembers_TimesSpecificationWhenItsPredicateIsBuilt(@Mock Specification<Member> spec,
+            @Captor ArgumentCaptor<Specification<Member>> queried) {
+        // Arrange
+        SearchRequest request = new SearchRequest();
+        request.setFirstName("John");
+        request.setCountry("USA");
+        when(memberRepository.buildSpecification(request)).thenReturn(spec);
+        when(memberRepository.findSlice(anySpec(), eq(0L), eq(10)))
+                .thenReturn(List.of(testMember));
+
+        // Act
+        memberService.searchMembers(request);
+        verify(memberRepository).findSlice(queried.capture(), eq(0L), eq(10));
+        boolean timedBeforeQuery = !meterRegistry.find(SearchMetrics.SPEC_BUILD).timers().isEmpty();
+        queried.getValue().toPredicate(null, null, null);
+
+        // Assert
+        assertFalse(timedBeforeQuery);
+        verify(spec).toPredicate(null, null, null);
+        assertEquals(1, meterRegistry.get(SearchMetrics.SPEC_BUILD)
+                .tags("filters", "name+country", "operation", "page").timer().count());
     }
 
     @Test
@@ -99,17 +207,23 @@ class MemberServiceTest {
         updatedData.setFirstName("Jane");
         updatedData.setLastName("Smith");
         updatedData.setBusinessUnit("HR");
+        testMember.setEntitled(true);
+        testMember.setVersion(3L);
 
-        when(memberRepository.findById(memberId)).thenReturn(Optional.of(testMember));
-        when(memberRepository.save(any(Member.class))).thenReturn(testMember);
+        when(memberRepository.updateReturningPrevious(any(Member.class))).thenReturn(Optional.of(testMember));
 
         // Act
         Member result = memberService.updateMember(memberId, updatedData);
 
         // Assert
-        assertNotNull(result);
-        verify(memberRepository).findById(memberId);
-        verify(memberRepository).save(testMember);
+        assertEquals(memberId, result.getId());
+        assertEquals("Jane", result.getFirstName());
+        assertEquals(4L, result.getVersion());
+        assertTrue(result.isEntitled());
+        verify(memberRepository, never()).findById(anyLong());
+        verify(memberRepository, never()).save(any(Member.class));
+        verify(eventPublisher).publishEvent(argThat((MemberChangedEvent event) ->
+                event.previous() == testMember && "Jane".equals(event.current().getFirstName())));
     }
 
     @Test
@@ -118,15 +232,28 @@ class MemberServiceTest {
         Long memberId = 999L;
         Member updatedData = new Member();
 
-        when(memberRepository.findById(memberId)).thenReturn(Optional.empty());
+        when(memberRepository.updateReturningPrevious(any(Member.class))).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThrows(MemberNotFoundException.class, () -> {
             memberService.updateMember(memberId, updatedData);
         });
 
-        verify(memberRepository).findById(memberId);
-        verify(memberRepository, never()).save(any(Member.class));
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void updateMember_WithStaleVersion_ThrowsConflict() {
+        // Arrange
+        Member updatedData = new Member(null, "Jane", null, "Smith", "HR", "USA", null, true);
+        updatedData.setVersion(2L);
+
+        when(memberRepository.updateReturningPrevious(any(Member.class))).thenReturn(Optional.empty());
+        when(memberRepository.existsById(1L)).thenReturn(true);
+
+        // Act & Assert
+        assertThrows(MemberVersionConflictException.class, () -> memberService.updateMember(1L, updatedData));
+        verify(eventPublisher, never()).publishEvent(any());
     }
 
     @Test
@@ -136,12 +263,11 @@ class MemberServiceTest {
         request.setPage(1);
         request.setSize(5);
 
-        List<Member> members = Arrays.asList(testMember);
-        Page<Member> page = new PageImpl<>(members, PageRequest.of(1, 5), 10);
+        List<Member> members = Arrays.asList(testMember, testMember, testMember, testMember, testMember);
 
-        when(memberRepository.findAll(nullable(Specification.class),
-                any(PageRequest.class)))
-                .thenReturn(page);
+        when(memberRepository.findSlice(anySpec(), eq(5L), eq(5)))
+                .thenReturn(members);
+        when(memberRepository.count(anySpec())).thenReturn(10L);
 
         // Act
         Page<Member> result = memberService.searchMembers(request);
@@ -150,6 +276,481 @@ class MemberServiceTest {
         assertNotNull(result);
         assertEquals(1, result.getNumber());
         assertEquals(5, result.getSize());
-        verify(memberRepository).findAll(nullable(Specification.class), any(PageRequest.class));
+        assertEquals(10, result.getTotalElements());
+        verify(memberRepository).findSlice(anySpec(), eq(5L), eq(5));
+    }
+
+    @Test
+    void searchMembers_WhenNameIndexMatchesNothing_SkipsDatabase() {
+        // Arrange
+        SearchRequest request = new SearchRequest();
+        request.setFirstName("Zzz");
+        when(memberNameIndex.findCandidates(request)).thenReturn(Optional.of(new RoaringBitmap()));
+
+        // Act
+        Page<Member> result = memberService.searchMembers(request);
+
+        // Assert
+        assertEquals(0, result.getTotalElements());
+        verify(memberRepository, never()).findSlice(anySpec(), anyLong(), anyInt());
+    }
+
+    @Test
+    void searchMembers_WhenNameIndexResolvesCandidates_UsesIdLookup() {
+        // Arrange
+        SearchRequest request = new SearchRequest();
+        request.setFirstName("John");
+        when(memberNameIndex.findCandidates(request)).thenReturn(Optional.of(RoaringBitmap.bitmapOf(1)));
+        when(memberRepository.findSlice(anySpec(), eq(0L), eq(10)))
+                .thenReturn(List.of(testMember));
+
+        // Act
+        Page<Member> result = memberService.searchMembers(request);
+
+        // Assert
+        assertEquals(1, result.getTotalElements());
+        verify(memberRepository).buildSpecification(request, List.of(1L));
+    }
+
+    @Test
+    void searchMembers_WhenCategoryIndexMatchesNothing_SkipsDatabase() {
+        // Arrange
+        SearchRequest request = new SearchRequest();
+        request.setCountry("Atlantis");
+        when(memberCategoryIndex.findCandidates(request)).thenReturn(Optional.of(new RoaringBitmap()));
+
+        // Act
+        Page<Member> result = memberService.searchMembers(request);
+
+        // Assert
+        assertEquals(0, result.getTotalElements());
+        verify(memberRepository, never()).findSlice(anySpec(), anyLong(), anyInt());
+    }
+
+    @Test
+    void searchMembers_WhenCategoryIndexResolvesCandidates_TakesTotalFromBitmap() {
+        // Arrange
+        SearchRequest request = new SearchRequest();
+        request.setSize(1);
+        request.setBusinessUnits(List.of("IT"));
+        when(memberCategoryIndex.findCandidates(request)).thenReturn(Optional.of(RoaringBitmap.bitmapOf(1, 4, 9)));
+        when(memberCategoryIndex.getMaxCandidates()).thenReturn(1000);
+        when(memberCategoryIndex.isReady()).thenReturn(true);
+        when(memberRepository.findSlice(anySpec(), eq(0L), eq(1)))
+                .thenReturn(List.of(testMember));
+
+        // Act
+        Page<Member> result = memberService.searchMembers(request);
+
+        // Assert
+        assertEquals(3, result.getTotalElements());
+        verify(memberRepository).buildSpecification(request, List.of(1L, 4L, 9L));
+        verify(memberRepository, never()).count(anySpec());
+    }
+
+    @Test
+    void searchMembers_WithUnresolvedNameFilter_DoesNotReplaceNamesWithCategoryCandidates() {
+        // Arrange
+        SearchRequest request = new SearchRequest();
+        request.setFirstName("Jo");
+        request.setCountry("USA");
+        when(memberNameIndex.findCandidates(request)).thenReturn(Optional.empty());
+        when(memberCategoryIndex.findCandidates(request)).thenReturn(Optional.of(RoaringBitmap.bitmapOf(1, 2)));
+        when(memberRepository.findSlice(anySpec(), eq(0L), eq(10)))
+                .thenReturn(List.of(testMember));
+
+        // Act
+        memberService.searchMembers(request);
+
+        // Assert
+        verify(memberRepository).buildSpecification(request);
+        verify(memberRepository, never()).buildSpecification(eq(request), anyCollection());
+    }
+
+    @Test
+    void searchMembers_WithFuzzyNames_RanksByMatchScore() {
+        // Arrange
+        SearchRequest request = new SearchRequest();
+        request.setFirstName("Jon");
+        request.setNameMatch(NameMatch.FUZZY);
+        request.setSize(2);
+        Member exact = new Member(3L, "Jon", null, "Doe", "IT", "USA", "1003", true);
+        Member close = new Member(7L, "John", null, "Doe", "IT", "USA", "1007", true);
+        Member alike = new Member(9L, "Joan", null, "Doe", "IT", "USA", "1009", true);
+        stubFuzzyIndexReady();
+        when(memberFuzzyNameIndex.findMatches(request)).thenReturn(Optional.of(new MemberFuzzyNameIndex.Matches(
+                RoaringBitmap.bitmapOf(3, 7, 9), Map.of(3, -0.5, 7, 0.5, 9, 0.5), true)));
+        when(memberCategoryIndex.findCandidates(request)).thenReturn(Optional.empty());
+        when(memberRepository.findAll(anySpec())).thenReturn(List.of(alike, close, exact));
+
+        // Act
+        SearchPage<Member> result = (SearchPage<Member>) memberService.searchMembers(request);
+
+        // Assert
+        assertEquals(List.of(exact, close), result.getContent());
+        assertEquals(3, result.getTotalElements());
+        assertTrue(result.isTotalExact());
+        verify(memberRepository).buildSpecification(request, List.of(3L, 7L, 9L));
+        verify(memberNameIndex, never()).findCandidates(any());
+    }
+
+    @Test
+    void searchMembers_WhenFuzzyIndexKeptOnlyTheBestMatches_ReportsTotalAsInexact() {
+        // Arrange
+        SearchRequest request = new SearchRequest();
+        request.setFirstName("Jon");
+        request.setNameMatch(NameMatch.FUZZY);
+        Member exact = new Member(3L, "Jon", null, "Doe", "IT", "USA", "1003", true);
+        stubFuzzyIndexReady();
+        when(memberFuzzyNameIndex.findMatches(request)).thenReturn(Optional.of(new MemberFuzzyNameIndex.Matches(
+                RoaringBitmap.bitmapOf(3), Map.of(3, -0.5), false)));
+        when(memberCategoryIndex.findCandidates(request)).thenReturn(Optional.empty());
+        when(memberRepository.findAll(anySpec())).thenReturn(List.of(exact));
+
+        // Act
+        SearchPage<Member> result = (SearchPage<Member>) memberService.searchMembers(request);
+
+        // Assert
+        assertEquals(List.of(exact), result.getContent());
+        assertFalse(result.isTotalExact());
+    }
+
+    @Test
+    void searchMembers_WhenFuzzyIndexIsNotReady_ThrowsServiceBusyException() {
+        // Arrange
+        SearchRequest request = new SearchRequest();
+        request.setFirstName("Jo");
+        request.setNameMatch(NameMatch.FUZZY);
+        when(memberFuzzyNameIndex.isEnabled()).thenReturn(true);
+        when(memberFuzzyNameIndex.isReady()).thenReturn(false);
+
+        // Act & Assert
+        assertThrows(ServiceBusyException.class, () -> memberService.searchMembers(request));
+        verify(memberNameIndex, never()).findCandidates(any());
+        verify(memberRepository, never()).buildSpecification(any(SearchRequest.class));
+    }
+
+    @Test
+    void searchMembers_WhenFuzzyIndexIsDisabled_ThrowsInvalidSearchRequestException() {
+        // Arrange
+        SearchRequest request = new SearchRequest();
+        request.setLastName("Smyth");
+        request.setNameMatch(NameMatch.FUZZY);
+        when(memberFuzzyNameIndex.isEnabled()).thenReturn(false);
+
+        // Act & Assert
+        assertThrows(InvalidSearchRequestException.class, () -> memberService.searchMembers(request));
+        verify(memberRepository, never()).buildSpecification(any(SearchRequest.class));
+    }
+
+    @Test
+    void searchMembers_WithFuzzyNamesAndFacets_QueriesIndexOnceForPageAndFacets() {
+        // Arrange
+        SearchRequest request = new SearchRequest();
+        request.setFirstName("Jo");
+        request.setNameMatch(NameMatch.FUZZY);
+        request.setFacets(EnumSet.of(FacetField.COUNTRY));
+        RoaringBitmap names = RoaringBitmap.bitmapOf(1);
+        stubFuzzyIndexReady();
+        when(memberFuzzyNameIndex.findMatches(request)).thenReturn(Optional.of(new MemberFuzzyNameIndex.Matches(
+                names, Map.of(1, 0.0), true)));
+        when(memberCategoryIndex.findCandidates(request)).thenReturn(Optional.empty());
+        when(memberRepository.findAll(anySpec())).thenReturn(List.of(testMember));
+        when(memberCategoryIndex.countFacets(request, request.getFacets(), names, true))
+                .thenReturn(Optional.of(Map.of(FacetField.COUNTRY, Map.of("USA", 1L))));
+
+        // Act
+        SearchPage<Member> result = (SearchPage<Member>) memberService.searchMembers(request);
+
+        // Assert
+        assertEquals(Map.of("USA", 1L), result.getFacets().get(FacetField.COUNTRY));
+        verify(memberFuzzyNameIndex, times(1)).findMatches(request);
+    }
+
+    @Test
+    void searchMembers_WithRelevanceOrder_ReturnsBestNameMatchesFirst() {
+        // Arrange
+        SearchRequest request = new SearchRequest();
+        request.setFirstName("John");
+        request.setOrder(ResultOrder.RELEVANCE);
+        request.setSize(2);
+        Member exact = new Member(8L, "John", null, "Doe", "IT", "USA", "1008", true);
+        Member prefix = new Member(2L, "Johnny", null, "Doe", "IT", "USA", "1002", true);
+        when(memberNameIndex.findCandidates(request)).thenReturn(Optional.empty());
+        when(memberRepository.forEachNameKey(anySpec(), anyInt(), any())).thenAnswer(invocation -> {
+            MemberRepositoryCustom.NameKeyConsumer action = invocation.getArgument(2);
+            action.accept(1L, "bjohn", null, "doe");
+            action.accept(2L, "johnny", null, "doe");
+            action.accept(5L, "johnson", null, "doe");
+            action.accept(8L, "john", null, "doe");
+            return 4L;
+        });
+        when(memberRepository.findAll(anySpec())).thenReturn(List.of(prefix, exact));
+
+        // Act
+        Page<Member> result = memberService.searchMembers(request);
+
+        // Assert
+        assertEquals(List.of(exact, prefix), result.getContent());
+        assertEquals(4, result.getTotalElements());
+        verify(memberRepository, never()).findSlice(anySpec(), anyLong(), anyInt());
+    }
+
+    @Test
+    void searchMembers_WithRelevanceOrder_LeavesOutMembersNoLongerMatching() {
+        // Arrange
+        SearchRequest request = new SearchRequest();
+        request.setFirstName("John");
+        request.setOrder(ResultOrder.RELEVANCE);
+        request.setSize(2);
+        Member exact = new Member(8L, "John", null, "Doe", "IT", "USA", "1008", true);
+        when(memberNameIndex.findCandidates(request)).thenReturn(Optional.empty());
+        when(memberRepository.forEachNameKey(anySpec(), anyInt(), any())).thenAnswer(invocation -> {
+            MemberRepositoryCustom.NameKeyConsumer action = invocation.getArgument(2);
+            action.accept(2L, "johnny", null, "doe");
+            action.accept(8L, "john", null, "doe");
+            return 2L;
+        });
+        // Member 2 lost its entitlement after the scan, so the filtered load skips it
+        when(memberRepository.findAll(anySpec())).thenReturn(List.of(exact));
+
+        // Act
+        Page<Member> result = memberService.searchMembers(request);
+
+        // Assert
+        assertEquals(List.of(exact), result.getContent());
+        verify(memberRepository, never()).findAllById(any());
+    }
+
+    @Test
+    void searchMembers_WithRelevanceOrderBeyondMaxOffset_ThrowsInvalidSearchRequest() {
+        // Arrange
+        SearchRequest request = new SearchRequest();
+        request.setFirstName("John");
+        request.setOrder(ResultOrder.RELEVANCE);
+        request.setPage(100_000_000);
+
+        // Act & Assert
+        assertThrows(InvalidSearchRequestException.class, () -> memberService.searchMembers(request));
+        verify(memberRepository, never()).forEachNameKey(anySpec(), anyInt(), any());
+    }
+
+    @Test
+    void searchMembers_WithFacets_CountsFromCategoryIndexInValueOrder() {
+        // Arrange
+        SearchRequest request = new SearchRequest();
+        request.setCountry("USA");
+        request.setFacets(EnumSet.of(FacetField.BUSINESS_UNIT));
+        when(memberCategoryIndex.findCandidates(request)).thenReturn(Optional.empty());
+        when(memberRepository.findSlice(anySpec(), eq(0L), eq(10)))
+                .thenReturn(List.of(testMember));
+        when(memberCategoryIndex.countFacets(request, request.getFacets(), null, true)).thenReturn(Optional.of(
+                Map.of(FacetField.BUSINESS_UNIT, Map.of("HR", 3L, "IT", 7L, "Sales", 3L))));
+
+        // Act
+        SearchPage<Member> result = (SearchPage<Member>) memberService.searchMembers(request);
+
+        // Assert
+        assertEquals(List.of("IT", "HR", "Sales"),
+                List.copyOf(result.getFacets().get(FacetField.BUSINESS_UNIT).keySet()));
+        verify(memberRepository, never()).countByValue(any(), any());
+    }
+
+    @Test
+    void searchMembers_WithEntitledFacet_ThrowsInvalidSearchRequest() {
+        // Arrange
+        SearchRequest request = new SearchRequest();
+        request.setFacets(EnumSet.of(FacetField.ENTITLED));
+
+        // Act & Assert
+        assertThrows(InvalidSearchRequestException.class, () -> memberService.searchMembers(request));
+    }
+
+    @Test
+    void suggest_WithLimitAboveCachedSuggestions_ThrowsInvalidSearchRequest() {
+        // Arrange
+        when(memberTypeaheadIndex.getMaxSuggestions()).thenReturn(10);
+
+        // Act & Assert
+        assertThrows(InvalidSearchRequestException.class,
+                () -> memberService.suggest("jo", TypeaheadField.NAME, 11));
+        verify(memberTypeaheadIndex, never()).suggest(any(), any(), anyInt());
+    }
+
+    @Test
+    void searchMemberViews_WithFullPage_SelectsFieldsAndCountsExactly() {
+        // Arrange
+        SearchRequest request = new SearchRequest();
+        request.setSize(1);
+        Set<MemberField> fields = MemberField.parse("firstName");
+        when(memberNameIndex.findCandidates(request)).thenReturn(Optional.empty());
+        when(memberRepository.findViews(anySpec(), eq(fields), eq(0L), eq(2)))
+                .thenReturn(List.of(new MemberView(1L, "John", null, null, null, null, null, null),
+                        new MemberView(2L, "Jane", null, null, null, null, null, null)));
+        when(memberRepository.count(anySpec())).thenReturn(7L);
+
+        // Act
+        SlimPage<MemberView> result = memberService.searchMemberViews(request, fields);
+
+        // Assert
+        assertEquals(1, result.getContent().size());
+        assertEquals("John", result.getContent().get(0).firstName());
+        assertEquals(7, result.getTotalElements());
+        assertTrue(result.isTotalExact());
+        assertTrue(result.isHasNext());
+        verify(memberRepository, never()).findSlice(anySpec(), anyLong(), anyInt());
+    }
+
+    @Test
+    void streamMembers_PassesMatchingMembersToAction() {
+        // Arrange
+        SearchRequest request = new SearchRequest();
+        request.setBusinessUnits(List.of("IT"));
+        when(memberNameIndex.findCandidates(request)).thenReturn(Optional.empty());
+        when(memberRepository.streamAll(anySpec(), eq(500), any())).thenAnswer(invocation -> {
+            Consumer<Member> action = invocation.getArgument(2);
+            action.accept(testMember);
+            return 1L;
+        });
+        List<Member> streamed = new ArrayList<>();
+
+        // Act
+        long count = memberService.streamMembers(request, 500, streamed::add);
+
+        // Assert
+        assertEquals(1, count);
+        assertEquals(List.of(testMember), streamed);
+        verify(memberRepository).buildSpecification(request);
+    }
+
+    @Test
+    void streamMembers_WhenNameIndexMatchesNothing_SkipsDatabase() {
+        // Arrange
+        SearchRequest request = new SearchRequest();
+        request.setLastName("Zzz");
+        when(memberNameIndex.findCandidates(request)).thenReturn(Optional.of(new RoaringBitmap()));
+
+        // Act
+        long count = memberService.streamMembers(request, 500, member -> fail("No member expected"));
+
+        // Assert
+        assertEquals(0, count);
+        verify(memberRepository, never()).streamAll(any(), anyInt(), any());
+    }
+
+    @Test
+    void searchMembersAfter_WithFullSlice_ReturnsNextCursor() {
+        // Arrange
+        SearchRequest request = new SearchRequest();
+        request.setSize(1);
+        request.setAfter(SearchCursorCodec.encode(ScrollPosition.forward(Map.of("id", 0L))));
+        Window<Member> window = Window.from(List.of(testMember),
+                index -> ScrollPosition.forward(Map.of("id", 1L)), true);
+
+        when(memberRepository.findBy(anySpec(), any())).thenReturn(window);
+
+        // Act
+        CursorPage<Member> result = memberService.searchMembersAfter(request);
+
+        // Assert
+        assertEquals(1, result.getContent().size());
+        assertTrue(result.isHasNext());
+        assertEquals(1L, SearchCursorCodec.decode(result.getNextCursor()).getKeys().get("id"));
+        verify(memberRepository, never()).findSlice(anySpec(), anyLong(), anyInt());
+    }
+
+    @Test
+    void searchMembersAfter_WithMalformedCursor_ThrowsException() {
+        // Arrange
+        SearchRequest request = new SearchRequest();
+        request.setAfter("%%%");
+
+        // Act & Assert
+        assertThrows(InvalidSearchRequestException.class, () -> memberService.searchMembersAfter(request));
+        verify(memberRepository, never()).findBy(anySpec(), any());
+    }
+
+    @Test
+    void searchMembers_WithCappedCount_ReportsCapAsLowerBound() {
+        // Arrange
+        SearchRequest request = new SearchRequest();
+        request.setSize(1);
+        request.setCountMode(CountMode.CAPPED);
+        request.setCountCap(100);
+        when(memberRepository.findSlice(anySpec(), eq(0L), eq(2)))
+                .thenReturn(List.of(testMember, new Member()));
+        when(memberRepository.countUpTo(anySpec(), eq(100L))).thenReturn(101L);
+
+        // Act
+        SearchPage<Member> result = (SearchPage<Member>) memberService.searchMembers(request);
+
+        // Assert
+        assertEquals(1, result.getContent().size());
+        assertEquals(100, result.getTotalElements());
+        assertFalse(result.isTotalExact());
+        assertTrue(result.hasNext());
+        verify(memberRepository, never()).count(anySpec());
+    }
+
+    @Test
+    void searchMembers_WithoutCountOnShortPage_ReturnsExactTotalWithoutCounting() {
+        // Arrange
+        SearchRequest request = new SearchRequest();
+        request.setCountMode(CountMode.NONE);
+        when(memberRepository.findSlice(anySpec(), eq(0L), eq(11)))
+                .thenReturn(List.of(testMember));
+
+        // Act
+        SearchPage<Member> result = (SearchPage<Member>) memberService.searchMembers(request);
+
+        // Assert
+        assertEquals(1, result.getTotalElements());
+        assertTrue(result.isTotalExact());
+        verify(memberRepository, never()).countUpTo(anySpec(), anyLong());
+    }
+
+    @Test
+    void searchMembers_WithEstimatedCount_UsesStatistics() {
+        // Arrange
+        SearchRequest request = new SearchRequest();
+        request.setSize(1);
+        request.setCountry("USA");
+        request.setCountMode(CountMode.ESTIMATED);
+        when(memberRepository.findSlice(anySpec(), eq(0L), eq(2)))
+                .thenReturn(List.of(testMember, new Member()));
+        when(memberStatistics.estimate(request, OptionalLong.empty())).thenReturn(OptionalLong.of(800));
+
+        // Act
+        SearchPage<Member> result = (SearchPage<Member>) memberService.searchMembers(request);
+
+        // Assert
+        assertEquals(800, result.getTotalElements());
+        assertTrue(result.isTotalExact());
+        verify(memberRepository, never()).countUpTo(anySpec(), anyLong());
+    }
+
+    @Test
+    void searchMembers_WhenCached_SkipsDatabase() {
+        // Arrange
+        SearchRequest request = new SearchRequest();
+        request.setBusinessUnits(Arrays.asList("IT", "HR"));
+        Page<Member> page = new PageImpl<>(List.of(testMember), PageRequest.of(0, 10), 1);
+        when(searchResultCache.get(SearchCacheKey.of(request))).thenReturn(page);
+
+        // Act
+        Page<Member> result = memberService.searchMembers(request);
+
+        // Assert
+        assertSame(page, result);
+        verify(memberRepository, never()).findSlice(anySpec(), anyLong(), anyInt());
+    }
+
+    private void stubFuzzyIndexReady() {
+        when(memberFuzzyNameIndex.isEnabled()).thenReturn(true);
+        when(memberFuzzyNameIndex.isReady()).thenReturn(true);
+    }
+
+    private static Specification<Member> anySpec() {
+        return any();
     }
 }
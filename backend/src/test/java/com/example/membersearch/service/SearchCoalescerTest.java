@@ -0,0 +1,123 @@
+package com.example.membersearch.service;
+
+import com.example.membersearch.dto.SearchRequest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SearchCoalescerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SearchCoalescer coalescer = new SearchCoalescer(meterRegistry, true);
+    private final SearchCacheKey key = SearchCacheKey.of(new SearchRequest());
+    private final ExecutorService executor = Executors.newFixedThreadPool(8);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void execute_ConcurrentIdenticalSearches_RunOnceAndShareResult() throws Exception {
+        // Arrange
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<String> leader = executor.submit(() -> coalescer.execute(key, 0, () -> {
+            executions.incrementAndGet();
+            started.countDown();
+            await(release);
+            return "page";
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        // Act
+        List<Future<String>> followers = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            followers.add(executor.submit(() -> coalescer.execute(key, 0, () -> {
+                executions.incrementAndGet();
+                return "other";
+            })));
+        }
+        while (meterRegistry.counter(SearchCoalescer.COLLAPSED).count() < 5) {
+            Thread.sleep(1);
+        }
+        release.countDown();
+
+        // Assert
+        assertEquals("page", leader.get(5, TimeUnit.SECONDS));
+        for (Future<String> follower : followers) {
+            assertEquals("page", follower.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, executions.get());
+        assertEquals(1, meterRegistry.counter(SearchCoalescer.EXECUTED).count());
+    }
+
+    @Test
+    void execute_WhenLeaderFails_RethrowsToWaiters() throws Exception {
+        // Arrange
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<String> leader = executor.submit(() -> coalescer.execute(key, 0, () -> {
+            started.countDown();
+            await(release);
+            throw new IllegalStateException("database down");
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        // Act
+        Future<String> follower = executor.submit(() -> coalescer.execute(key, 0, () -> "other"));
+        while (meterRegistry.counter(SearchCoalescer.COLLAPSED).count() < 1) {
+            Thread.sleep(1);
+        }
+        release.countDown();
+
+        // Assert
+        Exception leaderError = assertThrows(Exception.class, () -> leader.get(5, TimeUnit.SECONDS));
+        Exception followerError = assertThrows(Exception.class, () -> follower.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, leaderError.getCause());
+        assertInstanceOf(IllegalStateException.class, followerError.getCause());
+    }
+
+    @Test
+    void execute_AfterGenerationChange_DoesNotJoinEarlierFlight() throws Exception {
+        // Arrange
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<String> before = executor.submit(() -> coalescer.execute(key, 0, () -> {
+            started.countDown();
+            await(release);
+            return "before";
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        // Act
+        String after = coalescer.execute(key, 1, () -> "after");
+        release.countDown();
+
+        // Assert
+        assertEquals("after", after);
+        assertEquals("before", before.get(5, TimeUnit.SECONDS));
+        assertEquals(0, meterRegistry.counter(SearchCoalescer.COLLAPSED).count());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
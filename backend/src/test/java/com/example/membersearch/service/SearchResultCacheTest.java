@@ -0,0 +1,158 @@
+package com.example.membersearch.service;
+
+import com.example.membersearch.dto.FacetField;
+import com.example.membersearch.dto.NameMatch;
+import com.example.membersearch.dto.SearchRequest;
+import com.example.membersearch.event.MemberChangedEvent;
+import com.example.membersearch.model.Member;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SearchResultCacheTest {
+
+    private SearchResultCache cache;
+    private Member john;
+    private Page<Member> page;
+
+    @BeforeEach
+    void setUp() {
+        cache = new SearchResultCache(true, 2, Duration.ofMinutes(1));
+        john = new Member(1L, "John", "D", "Doe", "IT", "USA", "1001", true);
+        page = new PageImpl<>(List.of(john), PageRequest.of(0, 10), 1);
+    }
+
+    @Test
+    void key_IgnoresBusinessUnitOrderAndNameCase() {
+        // Arrange
+        SearchRequest first = new SearchRequest();
+        first.setFirstName("John");
+        first.setBusinessUnits(Arrays.asList("IT", "HR"));
+        SearchRequest second = new SearchRequest();
+        second.setFirstName("jOHN");
+        second.setBusinessUnits(Arrays.asList("HR", "IT", "HR"));
+
+        // Act & Assert
+        assertEquals(SearchCacheKey.of(first), SearchCacheKey.of(second));
+    }
+
+    @Test
+    void key_WithPrefixMatch_MatchesOnlyNamesStartingWithTerm() {
+        // Arrange
+        SearchRequest request = new SearchRequest();
+        request.setLastName("OE");
+        SearchCacheKey contains = SearchCacheKey.of(request);
+        request.setNameMatch(NameMatch.PREFIX);
+        SearchCacheKey prefix = SearchCacheKey.of(request);
+
+        // Act & Assert
+        assertNotEquals(contains, prefix);
+        assertTrue(contains.matches(john));
+        assertFalse(prefix.matches(john));
+    }
+
+    @Test
+    void key_WithBusinessUnitFacet_MatchesMembersOutsideTheUnitFilter() {
+        // Arrange
+        SearchRequest request = new SearchRequest();
+        request.setBusinessUnits(List.of("Sales"));
+        SearchCacheKey plain = SearchCacheKey.of(request);
+        request.setFacets(EnumSet.of(FacetField.BUSINESS_UNIT));
+        SearchCacheKey faceted = SearchCacheKey.of(request);
+
+        // Act & Assert
+        assertNotEquals(plain, faceted);
+        assertFalse(plain.matches(john));
+        assertTrue(faceted.matches(john));
+    }
+
+    @Test
+    void get_AfterPut_CountsHitsAndMisses() {
+        // Arrange
+        SearchCacheKey key = SearchCacheKey.of(new SearchRequest());
+
+        // Act
+        Page<Member> miss = cache.get(key);
+        cache.put(key, page, cache.generation());
+        Page<Member> hit = cache.get(key);
+
+        // Assert
+        assertNull(miss);
+        assertSame(page, hit);
+        assertEquals(1, cache.statistics().getHits());
+        assertEquals(1, cache.statistics().getMisses());
+    }
+
+    @Test
+    void put_BeyondMaxSize_EvictsLeastRecentlyUsed() {
+        // Arrange
+        SearchRequest request = new SearchRequest();
+        SearchCacheKey[] keys = new SearchCacheKey[3];
+        for (int i = 0; i < keys.length; i++) {
+            request.setPage(i);
+            keys[i] = SearchCacheKey.of(request);
+        }
+
+        // Act
+        cache.put(keys[0], page, cache.generation());
+        cache.put(keys[1], page, cache.generation());
+        cache.get(keys[0]);
+        cache.put(keys[2], page, cache.generation());
+
+        // Assert
+        assertNotNull(cache.get(keys[0]));
+        assertNull(cache.get(keys[1]));
+        assertEquals(1, cache.statistics().getEvictions());
+    }
+
+    @Test
+    void onMemberChanged_InvalidatesOnlyAffectedEntries() {
+        // Arrange
+        SearchRequest itRequest = new SearchRequest();
+        itRequest.setBusinessUnits(List.of("IT"));
+        SearchRequest hrRequest = new SearchRequest();
+        hrRequest.setBusinessUnits(List.of("HR"));
+        SearchRequest ukRequest = new SearchRequest();
+        ukRequest.setCountry("UK");
+        Page<Member> empty = Page.empty();
+        cache = new SearchResultCache(true, 10, Duration.ofMinutes(1));
+        cache.put(SearchCacheKey.of(itRequest), page, cache.generation());
+        cache.put(SearchCacheKey.of(hrRequest), empty, cache.generation());
+        cache.put(SearchCacheKey.of(ukRequest), empty, cache.generation());
+
+        Member moved = john.copy();
+        moved.setBusinessUnit("HR");
+
+        // Act
+        cache.onMemberChanged(new MemberChangedEvent(john, moved));
+
+        // Assert
+        assertNull(cache.get(SearchCacheKey.of(itRequest)));
+        assertNull(cache.get(SearchCacheKey.of(hrRequest)));
+        assertNotNull(cache.get(SearchCacheKey.of(ukRequest)));
+        assertEquals(2, cache.statistics().getInvalidations());
+    }
+
+    @Test
+    void put_WithStaleGeneration_IsIgnored() {
+        // Arrange
+        SearchCacheKey key = SearchCacheKey.of(new SearchRequest());
+        long generation = cache.generation();
+        cache.onMemberChanged(new MemberChangedEvent(null, john));
+
+        // Act
+        cache.put(key, page, generation);
+
+        // Assert
+        assertNull(cache.get(key));
+    }
+}
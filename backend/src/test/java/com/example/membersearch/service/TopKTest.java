@@ -0,0 +1,63 @@
+package com.example.membersearch.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TopKTest {
+
+    @Test
+    void drain_KeepsHighestScoresWithLowestIdsOnTies() {
+        // Arrange
+        TopK topK = new TopK(3);
+
+        // Act
+        topK.offer(1, 2);
+        topK.offer(2, 5);
+        topK.offer(3, 2);
+        topK.offer(4, 1);
+        topK.offer(5, 5);
+        topK.offer(6, 2);
+
+        // Assert
+        assertArrayEquals(new long[] {2, 5, 1}, topK.drain());
+        assertEquals(0, topK.size());
+    }
+
+    @Test
+    void drain_OverRandomScores_MatchesFullSort() {
+        // Arrange
+        Random random = new Random(42);
+        int[] scores = IntStream.range(0, 10_000).map(i -> random.nextInt(20)).toArray();
+        TopK topK = new TopK(25);
+
+        // Act
+        for (int id = 0; id < scores.length; id++) {
+            topK.offer(id, scores[id]);
+        }
+
+        // Assert
+        long[] expected = IntStream.range(0, scores.length).boxed()
+                .sorted(Comparator.comparingInt((Integer id) -> -scores[id]).thenComparingInt(id -> id))
+                .limit(25)
+                .mapToLong(Integer::longValue)
+                .toArray();
+        assertArrayEquals(expected, topK.drain());
+    }
+
+    @Test
+    void drain_WithFewerOffersThanK_ReturnsAllBestFirst() {
+        // Arrange
+        TopK topK = new TopK(10);
+        topK.offer(7, 1);
+        topK.offer(3, 4);
+
+        // Act & Assert
+        assertEquals("[3, 7]", Arrays.toString(topK.drain()));
+    }
+}
@@ -148,7 +148,9 @@ export class MemberEditDialogComponent implements OnInit {
             businessUnit: ['', Validators.required],
             country: ['', Validators.required],
             sourceMemberId: ['', Validators.required],
-            entitled: [false]
+            entitled: [false],
+            // Sent back so the save fails instead of overwriting someone else's edit
+            version: [null]
         });
     }
 
@@ -95,7 +95,9 @@ export class SearchResultsComponent implements OnChanges {
       },
       error: (err) => {
         console.error('Update failed:', err);
-        alert('Failed to update member.');
+        alert(err.status === 409
+          ? 'This member was changed by someone else. Reload and try again.'
+          : 'Failed to update member.');
       }
     });
   }
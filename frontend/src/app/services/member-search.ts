@@ -21,6 +21,7 @@ export interface Member {
   businessUnit: string;
   country: string;
   sourceMemberId: string;
+  version?: number;
 }
 
 export interface SearchResponse {